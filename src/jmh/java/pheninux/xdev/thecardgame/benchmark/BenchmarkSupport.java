@@ -0,0 +1,84 @@
+package pheninux.xdev.thecardgame.benchmark;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import pheninux.xdev.thecardgame.cluster.GameOwnership;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.eventlog.GameEventLog;
+import pheninux.xdev.thecardgame.metrics.GameMetrics;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.repository.GameRepository;
+import pheninux.xdev.thecardgame.service.GameArchive;
+import pheninux.xdev.thecardgame.service.GamePersistenceWriter;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+/**
+ * Assemble un GameService sans Spring ni base de données pour les benchmarks
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    public record Engine(GameService gameService, GameStore gameStore) {
+    }
+
+    public static Engine newEngine() {
+        GameProperties properties = new GameProperties();
+        properties.getPersistence().setMode(GameProperties.DurabilityMode.WRITE_THROUGH);
+
+        GameRepository repository = InMemoryGameRepository.create();
+        GamePersistenceWriter writer = new GamePersistenceWriter(
+                repository, InMemoryGameRepository.commands(), new TransactionTemplate(new NoOpTransactionManager()), properties);
+        GameStore store = new GameStore(writer, GameOwnership.SINGLE_NODE);
+
+        return new Engine(new GameService(store, writer, event -> {
+        }, GameMetrics.disabled(), GameEventLog.disabled(), GameArchive.none()), store);
+    }
+
+    /**
+     * Crée et démarre une partie à "players" joueurs (p0 est le créateur) ; la graine
+     * dérivée du gameId rend chaque benchmark reproductible
+     */
+    public static Game startGame(GameService gameService, String gameId, int players) {
+        GameDTO request = new GameDTO();
+        request.setId(gameId);
+        request.setCreatorId(gameId + "-p0");
+        request.setCreatorName("Joueur 0");
+        gameService.createGame(request, gameId.hashCode());
+
+        for (int i = 1; i < players; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setId(gameId + "-p" + i);
+            player.setName("Joueur " + i);
+            gameService.addPlayerAndGetGame(gameId, player);
+        }
+
+        return gameService.startGameAndGetGame(gameId, gameId + "-p0");
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
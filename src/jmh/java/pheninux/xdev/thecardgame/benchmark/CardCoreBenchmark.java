@@ -0,0 +1,117 @@
+package pheninux.xdev.thecardgame.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pheninux.xdev.thecardgame.engine.CardCodec;
+import pheninux.xdev.thecardgame.model.Card;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare les cartes Card/List (celles de GameService) à leur encodage CardCodec
+ * pour la légalité d'un coup et la création d'un paquet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CardCoreBenchmark {
+
+    private static final int HAND_SIZE = 7;
+    private static final int CENTER_SIZE = 4;
+
+    private final Random random = new Random(42);
+
+    private List<Card> hand;
+    private List<Card> center;
+    private byte[] handBytes;
+    private int centerFaces;
+    private byte[] deckBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        deckBytes = new byte[CardCodec.DECK_SIZE];
+        for (int i = 0; i < deckBytes.length; i++) {
+            deckBytes[i] = (byte) i;
+        }
+        shuffle(deckBytes);
+
+        hand = new ArrayList<>();
+        handBytes = new byte[HAND_SIZE];
+        for (int i = 0; i < HAND_SIZE; i++) {
+            handBytes[i] = deckBytes[i];
+            hand.add(CardCodec.toCard(deckBytes[i]));
+        }
+        center = new ArrayList<>();
+        for (int i = HAND_SIZE; i < HAND_SIZE + CENTER_SIZE; i++) {
+            center.add(CardCodec.toCard(deckBytes[i]));
+            centerFaces |= 1 << CardCodec.faceOf(deckBytes[i]);
+        }
+    }
+
+    @Benchmark
+    public int legalityCardList() {
+        int playable = 0;
+        for (Card card : hand) {
+            for (Card centerCard : center) {
+                if (card.getColor().equals(centerCard.getColor()) ||
+                        card.getSymbol().equals(centerCard.getSymbol())) {
+                    playable++;
+                    break;
+                }
+            }
+        }
+        return playable;
+    }
+
+    @Benchmark
+    public int legalityCodec() {
+        int playable = 0;
+        for (byte card : handBytes) {
+            if (CardCodec.matches(card, centerFaces)) {
+                playable++;
+            }
+        }
+        return playable;
+    }
+
+    @Benchmark
+    public List<Card> createDeckCardList() {
+        List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            for (String color : CardCodec.COLORS) {
+                for (String symbol : CardCodec.SYMBOLS) {
+                    Card card = new Card();
+                    card.setColor(color);
+                    card.setSymbol(symbol);
+                    deck.add(card);
+                }
+            }
+        }
+        Collections.shuffle(deck, random);
+        return deck;
+    }
+
+    @Benchmark
+    public byte[] createDeckCodec() {
+        shuffle(deckBytes);
+        return deckBytes;
+    }
+
+    /**
+     * Fisher-Yates sur le tableau d'octets
+     */
+    private void shuffle(byte[] deck) {
+        for (int i = deck.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte card = deck[i];
+            deck[i] = deck[j];
+            deck[j] = card;
+        }
+    }
+}
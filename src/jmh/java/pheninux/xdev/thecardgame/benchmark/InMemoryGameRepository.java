@@ -0,0 +1,74 @@
+package pheninux.xdev.thecardgame.benchmark;
+
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.repository.GameCommandRepository;
+import pheninux.xdev.thecardgame.repository.GameRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GameRepository en mémoire pour que les mesures ne dépendent pas de H2.
+ * Seules les méthodes utilisées par le moteur de jeu sont implémentées.
+ */
+public final class InMemoryGameRepository {
+
+    private InMemoryGameRepository() {
+    }
+
+    public static GameRepository create() {
+        Map<String, Game> games = new ConcurrentHashMap<>();
+
+        return (GameRepository) Proxy.newProxyInstance(
+                GameRepository.class.getClassLoader(),
+                new Class<?>[]{GameRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(games.get((String) args[0]));
+                    case "existsById" -> games.containsKey((String) args[0]);
+                    case "save", "saveAndFlush" -> {
+                        Game game = (Game) args[0];
+                        games.put(game.getId(), game);
+                        yield game;
+                    }
+                    case "saveAll" -> {
+                        List<Game> saved = new ArrayList<>();
+                        for (Object game : (Iterable<?>) args[0]) {
+                            games.put(((Game) game).getId(), (Game) game);
+                            saved.add((Game) game);
+                        }
+                        yield saved;
+                    }
+                    case "deleteById" -> games.remove((String) args[0]);
+                    case "findAll" -> new ArrayList<>(games.values());
+                    case "count" -> (long) games.size();
+                    case "flush" -> null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryGameRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Historique des commandes ignoré : seul le moteur de jeu est mesuré
+     */
+    public static GameCommandRepository commands() {
+        return (GameCommandRepository) Proxy.newProxyInstance(
+                GameCommandRepository.class.getClassLoader(),
+                new Class<?>[]{GameCommandRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "saveAll" -> List.of();
+                    case "countByGameId" -> 0L;
+                    case "findByGameIdOrderByPosition" -> List.of();
+                    case "deleteByGameId" -> null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryGameRepository.commands";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
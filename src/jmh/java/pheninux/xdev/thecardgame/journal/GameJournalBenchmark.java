@@ -0,0 +1,74 @@
+package pheninux.xdev.thecardgame.journal;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+import pheninux.xdev.thecardgame.benchmark.BenchmarkSupport;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.model.Game;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'écriture du journal : ajout d'une commande et instantané complet
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameJournalBenchmark {
+
+    private static final GameChanges NO_CHANGES = new GameChanges(List.of(), List.of(), false, 0);
+
+    private Path directory;
+    private GameJournal journal;
+    private Game game;
+    private GameCommandDTO command;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        GameProperties.Journal settings = new GameProperties.Journal();
+        directory = Files.createTempDirectory("journal-benchmark");
+        settings.setDirectory(directory.toString());
+        settings.setSegmentSize(DataSize.ofMegabytes(64));
+        journal = new GameJournal(settings, (replayed, replayedCommand) -> {
+        });
+
+        game = BenchmarkSupport.startGame(BenchmarkSupport.newEngine().gameService(), "journal", 4);
+        journal.gameCreated(game);
+        command = new GameCommandDTO(game.getId(), GameCommandType.PLAY_CARD, game.getPlayers().get(0).getId(), null, 0, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void appendCommand() {
+        journal.gameChanged(game, command, NO_CHANGES);
+    }
+
+    @Benchmark
+    public void writeSnapshot() {
+        journal.persistNow(game);
+    }
+
+    @Benchmark
+    public byte[] encodeSnapshot() {
+        return GameSnapshotCodec.encode(game);
+    }
+}
@@ -0,0 +1,239 @@
+package pheninux.xdev.thecardgame.load;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import pheninux.xdev.thecardgame.TheCardGameApplication;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test de charge : latence d'une action (envoi STOMP -> première trame reçue en retour)
+ * avec des tables jouées en parallèle, en mode PLATFORM puis VIRTUAL.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec \
+ *     -Djmh.main="pheninux.xdev.thecardgame.load.ActionLatencyLoadTest 200 20 WRITE_THROUGH"
+ * </pre>
+ * Arguments : nombre de tables, durée par mode en secondes, mode de sauvegarde.
+ * Les coups sont choisis en lisant l'état du serveur (même JVM) ; seule la
+ * latence réseau + traitement est mesurée.
+ */
+public final class ActionLatencyLoadTest {
+
+    private static final Duration FRAME_TIMEOUT = Duration.ofSeconds(10);
+
+    private ActionLatencyLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int tables = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        String persistence = args.length > 2 ? args[2] : "WRITE_THROUGH";
+        // devtools relancerait main() dans son propre class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        List<String> report = new ArrayList<>();
+        for (GameProperties.ThreadMode mode : GameProperties.ThreadMode.values()) {
+            report.add(run(mode, tables, seconds, persistence));
+        }
+
+        System.out.printf("%n%d tables, %d s par mode, sauvegarde %s%n", tables, seconds, persistence);
+        System.out.printf("%-9s %9s %9s %9s %9s %9s %7s%n", "mode", "actions", "act/s", "p50 ms", "p99 ms", "max ms", "erreurs");
+        report.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static String run(GameProperties.ThreadMode mode, int tables, int seconds, String persistence) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TheCardGameApplication.class).run(
+                "--server.port=0",
+                "--spring.jmx.enabled=false",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                "--game.execution.mode=" + mode,
+                "--game.persistence.mode=" + persistence);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+            stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+            HttpClient httpClient = HttpClient.newHttpClient();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            List<long[]> latencies = new ArrayList<>();
+            AtomicInteger errors = new AtomicInteger();
+
+            try (ExecutorService drivers = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<java.util.concurrent.Future<long[]>> results = new ArrayList<>();
+                for (int table = 0; table < tables; table++) {
+                    Table driver = new Table(context, stompClient, httpClient, port, mode + "-" + table, errors);
+                    results.add(drivers.submit(() -> driver.play(deadline)));
+                }
+                for (var result : results) {
+                    latencies.add(result.get());
+                }
+            }
+            return summarize(mode, latencies, seconds, errors.get());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static String summarize(GameProperties.ThreadMode mode, List<long[]> perTable, int seconds, int errors) {
+        long[] all = perTable.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        if (all.length == 0) {
+            return String.format("%-9s aucune action mesurée", mode);
+        }
+        return String.format("%-9s %9d %9.0f %9.2f %9.2f %9.2f %7d", mode, all.length, (double) all.length / seconds,
+                percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6, all[all.length - 1] / 1e6, errors);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    /**
+     * Une table : deux joueurs sur une même session STOMP, une action en vol à la fois
+     */
+    private static final class Table {
+
+        private final GameService gameService;
+        private final GameStore gameStore;
+        private final WebSocketStompClient stompClient;
+        private final HttpClient httpClient;
+        private final int port;
+        private final String name;
+        private final AtomicInteger errors;
+        private final BlockingQueue<Long> frames = new LinkedBlockingQueue<>();
+        private final long[] buffer = new long[1 << 16];
+        private int count;
+        private int round;
+
+        Table(ConfigurableApplicationContext context, WebSocketStompClient stompClient, HttpClient httpClient,
+              int port, String name, AtomicInteger errors) {
+            this.gameService = context.getBean(GameService.class);
+            this.gameStore = context.getBean(GameStore.class);
+            this.stompClient = stompClient;
+            this.httpClient = httpClient;
+            this.port = port;
+            this.name = name;
+            this.errors = errors;
+        }
+
+        long[] play(long deadline) throws Exception {
+            StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws-palettes-symboles/websocket",
+                    new StompSessionHandlerAdapter() {
+                    }).get(10, TimeUnit.SECONDS);
+            try {
+                while (System.nanoTime() < deadline && count < buffer.length) {
+                    playGame(session, deadline);
+                }
+            } finally {
+                session.disconnect();
+            }
+            return Arrays.copyOf(buffer, count);
+        }
+
+        private void playGame(StompSession session, long deadline) throws Exception {
+            String gameId = name + "-" + round++;
+            String creator = gameId + "-a";
+            String guest = gameId + "-b";
+
+            HttpRequest create = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/games"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"id\":\"" + gameId + "\",\"creatorId\":\"" + creator + "\",\"creatorName\":\"A\"}"))
+                    .build();
+            httpClient.send(create, HttpResponse.BodyHandlers.discarding());
+
+            // Topics personnels d'abord : la session est assise avant les topics en direct
+            for (String destination : List.of("/topic/game/" + gameId + "/player/" + creator + "/error",
+                    "/topic/game/" + gameId + "/player/" + guest + "/error",
+                    "/topic/game/" + gameId, "/topic/game/" + gameId + "/events")) {
+                session.subscribe(destination, new StompFrameHandler() {
+                    @Override
+                    public Type getPayloadType(StompHeaders headers) {
+                        return Object.class;
+                    }
+
+                    @Override
+                    public void handleFrame(StompHeaders headers, Object payload) {
+                        if (destination.endsWith("/error")) {
+                            errors.incrementAndGet();
+                        }
+                        frames.add(System.nanoTime());
+                    }
+                });
+            }
+            // Laisser le broker enregistrer les abonnements avant la première commande
+            Thread.sleep(50);
+
+            measure(session, "/app/game/" + gameId + "/join", Map.of("id", guest, "name", "B"));
+            measure(session, "/app/game/" + gameId + "/start", Map.of("playerId", creator));
+
+            Game game = gameStore.peek(gameId).orElse(null);
+            while (game != null && System.nanoTime() < deadline && count < buffer.length) {
+                String destination;
+                Map<String, Object> action;
+                synchronized (game) {
+                    if (game.isGameFinished()) {
+                        break;
+                    }
+                    Player current = game.getCurrentPlayer();
+                    int playable = -1;
+                    for (int index = 0; index < current.getCards().size(); index++) {
+                        if (gameService.isPlayable(game, current.getCards().get(index))) {
+                            playable = index;
+                            break;
+                        }
+                    }
+                    if (playable < 0 && game.getDeck().isEmpty() && game.getCenterCards().size() <= 1) {
+                        break;
+                    }
+                    destination = "/app/game/" + gameId + (playable >= 0 ? "/play-card" : "/draw-card");
+                    action = Map.of("playerId", current.getId(), "cardIndex", Math.max(playable, 0));
+                }
+                measure(session, destination, action);
+            }
+        }
+
+        private void measure(StompSession session, String destination, Object payload) throws InterruptedException {
+            frames.clear();
+            long start = System.nanoTime();
+            session.send(destination, payload);
+            Long received = frames.poll(FRAME_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            if (received == null) {
+                errors.incrementAndGet();
+                return;
+            }
+            buffer[count++] = received - start;
+            // Les autres trames de la même action (état public + mains) ne comptent pas
+            Thread.sleep(1);
+        }
+    }
+}
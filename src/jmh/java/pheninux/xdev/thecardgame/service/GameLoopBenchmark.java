@@ -0,0 +1,70 @@
+package pheninux.xdev.thecardgame.service;
+
+import org.openjdk.jmh.annotations.*;
+import pheninux.xdev.thecardgame.benchmark.BenchmarkSupport;
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partie complète simulée via l'API publique de GameService : création, arrivée
+ * des joueurs, démarrage puis coups (première carte jouable, sinon pioche)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameLoopBenchmark {
+
+    private static final int MAX_ACTIONS = 500;
+
+    @Param({"2", "4"})
+    public int players;
+
+    private GameService gameService;
+    private GameStore gameStore;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkSupport.Engine engine = BenchmarkSupport.newEngine();
+        gameService = engine.gameService();
+        gameStore = engine.gameStore();
+    }
+
+    @Benchmark
+    public int fullGame() {
+        String gameId = "loop-" + sequence++;
+        Game game = BenchmarkSupport.startGame(gameService, gameId, players);
+
+        int actions = 0;
+        try {
+            while (!game.isGameFinished() && actions < MAX_ACTIONS) {
+                Player current = game.getCurrentPlayer();
+                int playable = -1;
+                for (int c = 0; c < current.getCards().size(); c++) {
+                    Card card = current.getCards().get(c);
+                    if (gameService.isPlayable(game, card)) {
+                        playable = c;
+                        break;
+                    }
+                }
+                if (playable >= 0) {
+                    gameService.playCardAndGetGame(gameId, current.getId(), playable);
+                } else {
+                    gameService.drawCardAndGetGame(gameId, current.getId());
+                }
+                actions++;
+            }
+        } catch (IllegalStateException e) {
+            // "La pioche est vide" : la partie s'arrête là
+        } finally {
+            gameStore.evict(gameId);
+        }
+        return actions;
+    }
+}
@@ -0,0 +1,98 @@
+package pheninux.xdev.thecardgame.service;
+
+import org.openjdk.jmh.annotations.*;
+import pheninux.xdev.thecardgame.benchmark.BenchmarkSupport;
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Règles de GameService : création du paquet, distribution, légalité d'un coup
+ * et effets des cartes spéciales
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameRulesBenchmark {
+
+    private GameService gameService;
+    private Game game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameService = BenchmarkSupport.newEngine().gameService();
+        game = BenchmarkSupport.startGame(gameService, "rules", 4);
+    }
+
+    @State(Scope.Thread)
+    public static class SpecialCard {
+
+        @Param({"★", "✦", "◉", "⬠"})
+        public String symbol;
+
+        Card card;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            card = new Card();
+            card.setColor("cardRed");
+            card.setSymbol(symbol);
+        }
+    }
+
+    @Benchmark
+    public List<Card> createDeckAndShuffle() {
+        List<Card> deck = gameService.createDeck();
+        Collections.shuffle(deck);
+        return deck;
+    }
+
+    @Benchmark
+    public Game initializeGame() {
+        gameService.initializeGame(game);
+        return game;
+    }
+
+    @Benchmark
+    public int canCardBePlayed() {
+        int playable = 0;
+        for (Card card : game.getCurrentPlayer().getCards()) {
+            if (gameService.canCardBePlayed(game, card)) {
+                playable++;
+            }
+        }
+        return playable;
+    }
+
+    /**
+     * L'état est restauré après chaque appel (cartes piochées remises dans le paquet,
+     * joueur et sens d'origine) ; ce coût fixe est inclus dans la mesure.
+     */
+    @Benchmark
+    public int handleSpecialCard(SpecialCard special) {
+        int player = game.getCurrentPlayerIndex();
+        int direction = game.getGameDirection();
+        int deckSize = game.getDeck().size();
+
+        gameService.handleSpecialCard(game, special.card);
+
+        int drawn = deckSize - game.getDeck().size();
+        if (drawn > 0) {
+            Player victim = game.getPlayers().get((player + direction + game.getPlayers().size()) % game.getPlayers().size());
+            List<Card> hand = victim.getCards();
+            for (int i = 0; i < drawn; i++) {
+                game.getDeck().add(0, hand.remove(hand.size() - 1));
+            }
+        }
+        game.setCurrentPlayerIndex(player);
+        game.setGameDirection(direction);
+        return drawn;
+    }
+}
@@ -0,0 +1,91 @@
+package pheninux.xdev.thecardgame.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pheninux.xdev.thecardgame.benchmark.BenchmarkSupport;
+import pheninux.xdev.thecardgame.dto.GameStateDTO;
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion Game -> GameStateDTO et sérialisation Jackson, telles qu'effectuées
+ * pour chaque joueur après chaque action
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameStateSerializationBenchmark {
+
+    @Param({"2", "4"})
+    public int players;
+
+    private GameService gameService;
+    private Game game;
+    private String playerId;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameService = BenchmarkSupport.newEngine().gameService();
+        game = BenchmarkSupport.startGame(gameService, "serialization", players);
+        playerId = game.getPlayers().get(0).getId();
+
+        // Avancer la partie pour obtenir un état de milieu de partie
+        for (int i = 0; i < 12 && !game.isGameFinished(); i++) {
+            Player current = game.getCurrentPlayer();
+            int playable = -1;
+            for (int c = 0; c < current.getCards().size(); c++) {
+                Card card = current.getCards().get(c);
+                if (gameService.isPlayable(game, card)) {
+                    playable = c;
+                    break;
+                }
+            }
+            if (playable >= 0) {
+                gameService.playCardAndGetGame(game.getId(), current.getId(), playable);
+            } else {
+                gameService.drawCardAndGetGame(game.getId(), current.getId());
+            }
+        }
+    }
+
+    @Benchmark
+    public GameStateDTO convertToGameStateDTO() {
+        return gameService.convertToGameStateDTO(game, playerId);
+    }
+
+    @Benchmark
+    public byte[] convertAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(gameService.convertToGameStateDTO(game, playerId));
+    }
+
+    /**
+     * Travail complet de sendGameStateToAllPlayers (mode FULL) : N documents complets
+     */
+    @Benchmark
+    public void convertAndSerializeForAllPlayers(Blackhole blackhole) throws JsonProcessingException {
+        for (Player player : game.getPlayers()) {
+            GameStateDTO state = gameService.convertToGameStateDTO(game, player.getId());
+            blackhole.consume(objectMapper.writeValueAsBytes(state));
+        }
+    }
+
+    /**
+     * Mode SHARED : un document public pour tous, puis N petites mains privées
+     */
+    @Benchmark
+    public void sharedStateForAllPlayers(Blackhole blackhole) throws JsonProcessingException {
+        blackhole.consume(objectMapper.writeValueAsBytes(gameService.convertToPublicGameStateDTO(game)));
+        for (Player player : game.getPlayers()) {
+            blackhole.consume(objectMapper.writeValueAsBytes(gameService.convertToPlayerHandDTO(game, player)));
+        }
+    }
+}
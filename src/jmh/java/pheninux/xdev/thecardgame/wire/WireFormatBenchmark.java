@@ -0,0 +1,76 @@
+package pheninux.xdev.thecardgame.wire;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import pheninux.xdev.thecardgame.benchmark.BenchmarkSupport;
+import pheninux.xdev.thecardgame.dto.GameStateDTO;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.service.GameService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodage d'un état de milieu de partie en JSON, en CBOR compact direct, et en
+ * CBOR obtenu à partir du JSON publié (chemin de WireFormatInterceptor).
+ * Les tailles sont affichées au démarrage de chaque essai.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+
+    @Param({"2", "4"})
+    public int players;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GameStateDTO state;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        GameService gameService = BenchmarkSupport.newEngine().gameService();
+        Game game = BenchmarkSupport.startGame(gameService, "wire", players);
+
+        // Milieu de partie : mains garnies par quelques pioches, centre plein
+        for (int i = 0; i < 16 && !game.isGameFinished(); i++) {
+            Player current = game.getCurrentPlayer();
+            int playable = -1;
+            for (int c = 0; c < current.getCards().size() && i % 3 != 0; c++) {
+                if (gameService.isPlayable(game, current.getCards().get(c))) {
+                    playable = c;
+                    break;
+                }
+            }
+            if (playable >= 0) {
+                gameService.playCardAndGetGame(game.getId(), current.getId(), playable);
+            } else {
+                gameService.drawCardAndGetGame(game.getId(), current.getId());
+            }
+        }
+
+        state = gameService.convertToGameStateDTO(game, game.getPlayers().get(0).getId());
+        json = objectMapper.writeValueAsBytes(state);
+        System.out.printf("%n%d joueurs : JSON %d octets, CBOR compact %d octets%n",
+                players, json.length, CompactCborCodec.encode(state).length);
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(state);
+    }
+
+    @Benchmark
+    public byte[] compactCbor() {
+        return CompactCborCodec.encode(state);
+    }
+
+    @Benchmark
+    public byte[] transcodeFromJson() {
+        return CompactCborCodec.transcode(json);
+    }
+}
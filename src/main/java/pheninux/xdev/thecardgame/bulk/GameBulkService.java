@@ -0,0 +1,96 @@
+package pheninux.xdev.thecardgame.bulk;
+
+import org.springframework.stereotype.Service;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.CommandResultDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameTableDTO;
+import pheninux.xdev.thecardgame.dto.TableResultDTO;
+import pheninux.xdev.thecardgame.service.GameCommandDispatcher;
+import pheninux.xdev.thecardgame.service.GameService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Appels groupés pour les clients automatisés (bots, générateurs de charge) : création de
+ * nombreuses tables en un appel, et lots de commandes appliqués en une requête.
+ * <p>
+ * Les commandes d'un lot passent par la file de leur partie, dans l'ordre du lot : l'ordre
+ * est garanti pour une même partie, et des parties différentes avancent en parallèle.
+ * Une commande refusée n'arrête pas les suivantes.
+ */
+@Service
+public class GameBulkService {
+
+    private final GameService gameService;
+    private final GameCommandDispatcher commandDispatcher;
+    private final GameProperties.Bulk settings;
+
+    public GameBulkService(GameService gameService,
+                           GameCommandDispatcher commandDispatcher,
+                           GameProperties gameProperties) {
+        this.gameService = gameService;
+        this.commandDispatcher = commandDispatcher;
+        this.settings = gameProperties.getBulk();
+    }
+
+    /**
+     * Crée les tables, joueurs déjà assis, en une seule sauvegarde groupée ; un résultat
+     * par table, une table refusée n'arrête pas les suivantes
+     */
+    public List<TableResultDTO> createGames(List<GameTableDTO> tables) {
+        if (tables == null || tables.isEmpty()) {
+            return List.of();
+        }
+        if (tables.size() > settings.getMaxGames()) {
+            throw new IllegalArgumentException("Au plus " + settings.getMaxGames() + " parties par appel");
+        }
+        return gameService.createTables(tables, null);
+    }
+
+    /**
+     * Soumet toutes les commandes puis attend leurs résultats, dans l'ordre du lot
+     */
+    public CompletableFuture<List<CommandResultDTO>> execute(List<GameCommandDTO> commands) {
+        if (commands == null || commands.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        if (commands.size() > settings.getMaxCommands()) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Au plus " + settings.getMaxCommands() + " commandes par lot"));
+        }
+
+        List<CompletableFuture<CommandResultDTO>> results = new ArrayList<>(commands.size());
+        for (GameCommandDTO command : commands) {
+            results.add(submit(command));
+        }
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(done -> results.stream().map(CompletableFuture::join).toList());
+    }
+
+    private CompletableFuture<CommandResultDTO> submit(GameCommandDTO command) {
+        CompletableFuture<?> dispatched;
+        try {
+            dispatched = command.getGameId() != null && command.getType() != null
+                    ? commandDispatcher.dispatch(command)
+                    : CompletableFuture.failedFuture(new IllegalArgumentException("Commande incomplète : gameId et type requis"));
+        } catch (RuntimeException e) {
+            dispatched = CompletableFuture.failedFuture(e);
+        }
+
+        return dispatched.handle((game, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                return result(command, CommandResultDTO.Status.REJECTED, cause.getMessage());
+            }
+            return result(command, game != null ? CommandResultDTO.Status.APPLIED : CommandResultDTO.Status.FORWARDED, null);
+        });
+    }
+
+    private static CommandResultDTO result(GameCommandDTO command, CommandResultDTO.Status status, String message) {
+        return new CommandResultDTO(command.getGameId(), command.getPlayerId(), command.getType(), status, message);
+    }
+}
@@ -0,0 +1,254 @@
+package pheninux.xdev.thecardgame.cache;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.GameStateDTO;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+import pheninux.xdev.thecardgame.spectator.SpectatorService;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache des vues REST des parties : GameDTO et état vu par chaque joueur, avec le
+ * numéro d'événement auquel elles ont été calculées (ETag des réponses).
+ * <p>
+ * Une consultation en cache ne charge pas la partie et ne refait pas la conversion.
+ * Les vues d'une partie sont retirées à chaque GameUpdatedEvent ; une vue calculée
+ * pendant une action n'est gardée que si la partie n'a pas changé entre-temps.
+ * Les parties sont réparties en segments LRU bornés ; seules les parties de ce
+ * nœud sont mises en cache (les autres ne publient pas d'événements ici).
+ * <p>
+ * Avec game.spectator.delay, un non-joueur reçoit la dernière trame spectateur
+ * (retardée) et non l'état courant.
+ */
+@Component
+public class GameViewCache {
+
+    private static final int SEGMENTS = 16;
+    // Clé des états vus par un non-joueur (spectateur) : tous identiques
+    private static final String SPECTATOR = "";
+
+    /**
+     * Vue et numéro du dernier événement qu'elle reflète
+     */
+    public record View<T>(T body, long sequence) {
+    }
+
+    private static final class GameViews {
+        final long sequence;
+        // Joueurs de la partie à ce numéro : les autres identifiants partagent la vue spectateur
+        final Set<String> playerIds;
+        volatile GameDTO game;
+        final Map<String, GameStateDTO> states = new ConcurrentHashMap<>();
+
+        GameViews(long sequence, Set<String> playerIds) {
+            this.sequence = sequence;
+            this.playerIds = playerIds;
+        }
+
+        String keyOf(String playerId) {
+            return playerIds.contains(playerId) ? playerId : SPECTATOR;
+        }
+    }
+
+    private final GameService gameService;
+    private final GameStore gameStore;
+    private final SpectatorService spectatorService;
+    private final boolean delayed;
+    private final Map<String, GameViews>[] segments;
+
+    @SuppressWarnings("unchecked")
+    public GameViewCache(GameService gameService, GameStore gameStore, SpectatorService spectatorService,
+                         GameProperties properties) {
+        this.gameService = gameService;
+        this.gameStore = gameStore;
+        this.spectatorService = spectatorService;
+        this.delayed = properties.getSpectator().getDelay().isPositive();
+        int perSegment = Math.max(1, properties.getViewCache().getMaxGames() / SEGMENTS);
+        this.segments = new Map[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, GameViews> eldest) {
+                    return size() > perSegment;
+                }
+            });
+        }
+    }
+
+    /**
+     * Détails d'une partie (lecture à travers le cache)
+     */
+    public View<GameDTO> game(String gameId) {
+        GameViews cached = segment(gameId).get(gameId);
+        if (cached != null && cached.game != null) {
+            return new View<>(cached.game, cached.sequence);
+        }
+
+        Game game = gameService.getLiveGame(gameId);
+        GameDTO dto;
+        long sequence;
+        Set<String> playerIds;
+        synchronized (game) {
+            dto = gameService.convertToDTO(game);
+            sequence = game.getEventSequence();
+            playerIds = playerIds(game);
+        }
+        if (gameStore.isLocal(gameId)) {
+            GameViews views = viewsAt(gameId, sequence, playerIds);
+            views.game = dto;
+            dropIfChanged(game, gameId, views);
+        }
+        return new View<>(dto, sequence);
+    }
+
+    /**
+     * État vu par un joueur ; tous les non-joueurs partagent la même vue
+     */
+    public View<GameStateDTO> state(String gameId, String playerId) {
+        GameViews cached = segment(gameId).get(gameId);
+        if (cached != null) {
+            String key = cached.keyOf(playerId);
+            if (delayed && key.equals(SPECTATOR)) {
+                return delayedState(gameId);
+            }
+            GameStateDTO state = cached.states.get(key);
+            if (state != null) {
+                return new View<>(withTimer(gameId, state), cached.sequence);
+            }
+        }
+
+        Game game = gameService.getLiveGame(gameId);
+        GameStateDTO dto;
+        long sequence;
+        Set<String> playerIds;
+        synchronized (game) {
+            playerIds = playerIds(game);
+            if (delayed && !playerIds.contains(playerId)) {
+                dto = null;
+                sequence = -1;
+            } else {
+                dto = gameService.convertToGameStateDTO(game, playerId);
+                sequence = game.getEventSequence();
+            }
+        }
+        if (dto == null) {
+            return delayedState(gameId);
+        }
+        if (gameStore.isLocal(gameId)) {
+            GameViews views = viewsAt(gameId, sequence, playerIds);
+            views.states.put(views.keyOf(playerId), dto);
+            dropIfChanged(game, gameId, views);
+        }
+        return new View<>(dto, sequence);
+    }
+
+    /**
+     * Numéro d'événement des vues en cache, -1 si la partie n'y est pas
+     */
+    public long sequence(String gameId) {
+        GameViews cached = segment(gameId).get(gameId);
+        return cached != null ? cached.sequence : -1;
+    }
+
+    /**
+     * Oublie les vues d'une partie retirée
+     */
+    public void forget(String gameId) {
+        segment(gameId).remove(gameId);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, GameViews> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @EventListener
+    public void onGameUpdated(GameUpdatedEvent event) {
+        forget(event.game().getId());
+    }
+
+    /**
+     * Dernière trame spectateur, en retard sur la partie comme le flux /spectate
+     */
+    private View<GameStateDTO> delayedState(String gameId) {
+        GameStateDTO frame = spectatorService.currentFrame(gameId);
+        if (frame == null) {
+            throw new NoSuchElementException("Aucun état spectateur encore publié pour la partie: " + gameId);
+        }
+        return new View<>(frame, frame.getSequence());
+    }
+
+    private Map<String, GameViews> segment(String gameId) {
+        return segments[(gameId.hashCode() & 0x7fffffff) % SEGMENTS];
+    }
+
+    /**
+     * Vues de la partie au numéro "sequence" ; une entrée plus ancienne est remplacée,
+     * une plus récente gardée (la vue calculée est alors renvoyée sans être mise en cache)
+     */
+    private GameViews viewsAt(String gameId, long sequence, Set<String> playerIds) {
+        GameViews[] result = new GameViews[1];
+        segment(gameId).compute(gameId, (id, existing) -> {
+            if (existing != null && existing.sequence >= sequence) {
+                result[0] = existing.sequence == sequence ? existing : new GameViews(sequence, playerIds);
+                return existing;
+            }
+            result[0] = new GameViews(sequence, playerIds);
+            return result[0];
+        });
+        return result[0];
+    }
+
+    private static Set<String> playerIds(Game game) {
+        Set<String> ids = new HashSet<>();
+        for (Player player : game.getPlayers()) {
+            ids.add(player.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Le temps restant du tour change sans événement : recalculé sur une copie de la vue
+     */
+    private GameStateDTO withTimer(String gameId, GameStateDTO state) {
+        long remaining = gameStore.peek(gameId).map(GameService::turnTimeRemaining).orElse(-1L);
+        if (remaining < 0 && state.getTurnTimeRemaining() < 0) {
+            return state;
+        }
+        GameStateDTO copy = new GameStateDTO();
+        BeanUtils.copyProperties(state, copy);
+        copy.setTurnTimeRemaining(remaining);
+        return copy;
+    }
+
+    /**
+     * Une action a pu passer entre le calcul et la mise en cache, avant ou pendant
+     * l'invalidation : dans ce cas la vue ajoutée est retirée
+     */
+    private void dropIfChanged(Game game, String gameId, GameViews views) {
+        long current;
+        synchronized (game) {
+            current = game.getEventSequence();
+        }
+        if (current != views.sequence) {
+            segment(gameId).remove(gameId, views);
+        }
+    }
+}
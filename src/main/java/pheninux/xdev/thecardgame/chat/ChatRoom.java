@@ -0,0 +1,60 @@
+package pheninux.xdev.thecardgame.chat;
+
+import pheninux.xdev.thecardgame.model.ChatMessage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chat d'une partie : derniers messages (historique borné) et messages en attente
+ * de la prochaine trame
+ */
+final class ChatRoom {
+
+    private final int historySize;
+    private final ArrayDeque<ChatMessage> history;
+    private final ArrayDeque<ChatMessage> pending = new ArrayDeque<>();
+    private long nextSequence = 1;
+    private volatile long lastMessage;
+
+    ChatRoom(int historySize) {
+        this.historySize = historySize;
+        this.history = new ArrayDeque<>(historySize);
+    }
+
+    /**
+     * Numérote le message et l'ajoute ; retourne true s'il ouvre une nouvelle fenêtre d'envoi
+     */
+    synchronized boolean append(ChatMessage message, long now) {
+        message.setSequence(nextSequence++);
+        lastMessage = now;
+
+        if (history.size() == historySize) {
+            history.removeFirst();
+        }
+        history.addLast(message);
+
+        boolean opened = pending.isEmpty();
+        // Au-delà de l'historique, les plus anciens messages en attente ne sont plus envoyés
+        if (pending.size() == historySize) {
+            pending.removeFirst();
+        }
+        pending.addLast(message);
+        return opened;
+    }
+
+    synchronized List<ChatMessage> drainPending() {
+        List<ChatMessage> batch = new ArrayList<>(pending);
+        pending.clear();
+        return batch;
+    }
+
+    synchronized List<ChatMessage> history() {
+        return new ArrayList<>(history);
+    }
+
+    long lastMessage() {
+        return lastMessage;
+    }
+}
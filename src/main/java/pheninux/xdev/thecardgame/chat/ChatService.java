@@ -0,0 +1,149 @@
+package pheninux.xdev.thecardgame.chat;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.ChatBatchDTO;
+import pheninux.xdev.thecardgame.model.ChatMessage;
+import pheninux.xdev.thecardgame.service.GameBroadcaster;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat des parties. Chaque message est limité par un seau à jetons par session,
+ * horodaté et numéroté par le serveur, gardé dans un historique borné (envoyé aux
+ * nouveaux abonnés) puis diffusé par trames regroupant les messages d'une fenêtre.
+ * <p>
+ * Le chat ne passe ni par les files des parties ni par leurs threads : une rafale
+ * de messages coûte au plus une trame par fenêtre et par partie sur le broker.
+ */
+@Service
+@Slf4j
+public class ChatService {
+
+    public enum Outcome {
+        SENT,
+        RATE_LIMITED,
+        INVALID
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final GameBroadcaster gameBroadcaster;
+    private final GameProperties.Chat settings;
+
+    private final Map<String, ChatRoom> rooms = new ConcurrentHashMap<>();
+    // Session STOMP (ou expéditeur hors session) -> seau à jetons
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-chat-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChatService(SimpMessagingTemplate messagingTemplate,
+                       GameBroadcaster gameBroadcaster,
+                       GameProperties properties) {
+        this.messagingTemplate = messagingTemplate;
+        this.gameBroadcaster = gameBroadcaster;
+        this.settings = properties.getChat();
+        flusher.scheduleWithFixedDelay(this::cleanUp, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Accepte ou refuse un message. "senderKey" identifie l'expéditeur pour la
+     * limitation de débit (identifiant de session de préférence).
+     */
+    public Outcome post(String gameId, String senderKey, ChatMessage message) {
+        String content = message.getContent();
+        if (content == null || content.isBlank() || content.length() > settings.getMaxLength()
+                || message.getSenderId() == null) {
+            return Outcome.INVALID;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(senderKey,
+                key -> new TokenBucket(settings.getBurst(), settings.getRatePerSecond(), now));
+        if (!bucket.tryAcquire(now)) {
+            // Un seul avertissement par rafale refusée : pas d'amplification du flood
+            if (bucket.rejectedInARow() == 1) {
+                gameBroadcaster.sendError(gameId, message.getSenderId(), "Trop de messages, patientez un instant");
+            }
+            return Outcome.RATE_LIMITED;
+        }
+
+        ChatMessage accepted = new ChatMessage();
+        accepted.setSenderId(message.getSenderId());
+        accepted.setSenderName(message.getSenderName());
+        accepted.setContent(content);
+        // Les messages système ne viennent que du serveur, jamais d'un client
+        accepted.setSystem(false);
+        accepted.setTimestamp(Instant.now().toString());
+
+        ChatRoom room = rooms.computeIfAbsent(gameId, id -> new ChatRoom(settings.getHistorySize()));
+        if (room.append(accepted, System.currentTimeMillis())) {
+            if (settings.getBatchWindow().isPositive()) {
+                flusher.schedule(() -> flush(gameId, room), settings.getBatchWindow().toNanos(), TimeUnit.NANOSECONDS);
+            } else {
+                flush(gameId, room);
+            }
+        }
+        return Outcome.SENT;
+    }
+
+    /**
+     * Derniers messages d'une partie, du plus ancien au plus récent
+     */
+    public List<ChatMessage> history(String gameId) {
+        ChatRoom room = rooms.get(gameId);
+        return room != null ? room.history() : List.of();
+    }
+
+    /**
+     * Oublie l'historique d'une partie retirée
+     */
+    public void forget(String gameId) {
+        rooms.remove(gameId);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        buckets.remove(event.getSessionId());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    private void flush(String gameId, ChatRoom room) {
+        List<ChatMessage> batch = room.drainPending();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSend("/topic/chat/" + gameId, new ChatBatchDTO(gameId, batch));
+        } catch (RuntimeException e) {
+            log.error("Échec de l'envoi du chat de la partie {}", gameId, e);
+        }
+    }
+
+    /**
+     * Oublie les historiques inactifs et les seaux pleins (expéditeurs silencieux)
+     */
+    private void cleanUp() {
+        long expired = System.currentTimeMillis() - settings.getRoomTtl().toMillis();
+        rooms.values().removeIf(room -> room.lastMessage() < expired);
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+}
@@ -0,0 +1,54 @@
+package pheninux.xdev.thecardgame.chat;
+
+/**
+ * Seau à jetons : "capacity" messages d'affilée, puis "ratePerSecond" en moyenne
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+    private int rejectedInARow;
+
+    TokenBucket(int capacity, double ratePerSecond, long nanoTime) {
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = nanoTime;
+    }
+
+    /**
+     * Consomme un jeton s'il y en a un ; sinon compte un refus de plus
+     */
+    synchronized boolean tryAcquire(long nanoTime) {
+        refill(nanoTime);
+        if (tokens >= 1) {
+            tokens--;
+            rejectedInARow = 0;
+            return true;
+        }
+        rejectedInARow++;
+        return false;
+    }
+
+    /**
+     * Refus consécutifs depuis le dernier message accepté
+     */
+    synchronized int rejectedInARow() {
+        return rejectedInARow;
+    }
+
+    /**
+     * Seau plein : il peut être oublié sans rien changer pour l'expéditeur
+     */
+    synchronized boolean isFull(long nanoTime) {
+        refill(nanoTime);
+        return tokens >= capacity;
+    }
+
+    private void refill(long nanoTime) {
+        tokens = Math.min(capacity, tokens + (nanoTime - lastRefill) * tokensPerNano);
+        lastRefill = nanoTime;
+    }
+}
@@ -0,0 +1,13 @@
+package pheninux.xdev.thecardgame.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal de messages entre les nœuds (transfert des commandes, diffusion des topics)
+ */
+public interface ClusterBroker {
+
+    void publish(String channel, byte[] payload);
+
+    void subscribe(String channel, Consumer<byte[]> listener);
+}
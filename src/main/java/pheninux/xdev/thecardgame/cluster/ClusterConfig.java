@@ -0,0 +1,38 @@
+package pheninux.xdev.thecardgame.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import pheninux.xdev.thecardgame.config.GameProperties;
+
+/**
+ * Beans du mode cluster (game.cluster.enabled=true)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "game.cluster", name = "enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "game.cluster", name = "broker", havingValue = "RELAY", matchIfMissing = true)
+    public ClusterBroker stompClusterBroker(GameProperties properties) {
+        return new StompClusterBroker(properties.getCluster().getRelay());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "game.cluster", name = "broker", havingValue = "IN_MEMORY")
+    public ClusterBroker inMemoryClusterBroker() {
+        return new InMemoryClusterBroker();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "game.cluster", name = "broker", havingValue = "IN_MEMORY")
+    public ClusterTopicRelay clusterTopicRelay(GameProperties properties,
+                                               ClusterBroker clusterBroker,
+                                               ObjectMapper objectMapper,
+                                               ObjectProvider<SimpMessagingTemplate> messagingTemplate) {
+        return new ClusterTopicRelay(properties.getCluster().getNodeId(), clusterBroker, objectMapper, messagingTemplate);
+    }
+}
@@ -0,0 +1,88 @@
+package pheninux.xdev.thecardgame.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+
+/**
+ * Diffusion des topics entre nœuds quand le broker STOMP est local à chaque nœud
+ * (mode IN_MEMORY) : un message publié sur /topic par ce nœud est republié sur le
+ * canal "topics" du cluster, et les messages des autres nœuds sont réinjectés
+ * dans le broker local. Avec le relais STOMP, le broker externe s'en charge.
+ */
+@Slf4j
+public class ClusterTopicRelay implements ChannelInterceptor {
+
+    static final String ORIGIN_HEADER = "clusterOrigin";
+    private static final String CHANNEL = "topics";
+
+    private final String nodeId;
+    private final ClusterBroker clusterBroker;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+
+    public ClusterTopicRelay(String nodeId,
+                             ClusterBroker clusterBroker,
+                             ObjectMapper objectMapper,
+                             ObjectProvider<SimpMessagingTemplate> messagingTemplate) {
+        this.nodeId = nodeId;
+        this.clusterBroker = clusterBroker;
+        this.objectMapper = objectMapper;
+        this.messagingTemplate = messagingTemplate;
+        clusterBroker.subscribe(CHANNEL, this::receive);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        String destination = accessor.getDestination();
+
+        if (accessor.getMessageType() == SimpMessageType.MESSAGE
+                && destination != null && destination.startsWith("/topic/")
+                && message.getHeaders().get(ORIGIN_HEADER) == null
+                && message.getPayload() instanceof byte[] payload) {
+            MimeType contentType = accessor.getContentType();
+            TopicMessage topicMessage = new TopicMessage(nodeId, destination,
+                    contentType != null ? contentType.toString() : null, payload);
+            try {
+                clusterBroker.publish(CHANNEL, objectMapper.writeValueAsBytes(topicMessage));
+            } catch (IOException e) {
+                log.error("Diffusion impossible vers le cluster pour {}", destination, e);
+            }
+        }
+        return message;
+    }
+
+    private void receive(byte[] raw) {
+        try {
+            TopicMessage topicMessage = objectMapper.readValue(raw, TopicMessage.class);
+            if (nodeId.equals(topicMessage.origin())) {
+                return;
+            }
+
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+            if (topicMessage.contentType() != null) {
+                headers.setContentType(MimeType.valueOf(topicMessage.contentType()));
+            }
+            headers.setHeader(ORIGIN_HEADER, topicMessage.origin());
+            headers.setLeaveMutable(true);
+            messagingTemplate.getObject().send(topicMessage.destination(),
+                    MessageBuilder.createMessage(topicMessage.payload(), headers.getMessageHeaders()));
+        } catch (IOException e) {
+            log.error("Message de cluster illisible", e);
+        }
+    }
+
+    record TopicMessage(String origin, String destination, String contentType, byte[] payload) {
+    }
+}
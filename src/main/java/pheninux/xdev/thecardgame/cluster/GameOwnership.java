@@ -0,0 +1,12 @@
+package pheninux.xdev.thecardgame.cluster;
+
+/**
+ * Indique si une partie est gérée par ce nœud
+ */
+@FunctionalInterface
+public interface GameOwnership {
+
+    GameOwnership SINGLE_NODE = gameId -> true;
+
+    boolean isLocal(String gameId);
+}
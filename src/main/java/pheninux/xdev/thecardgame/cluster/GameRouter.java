@@ -0,0 +1,95 @@
+package pheninux.xdev.thecardgame.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Répartit les parties entre les nœuds par hachage cohérent du gameId. Chaque
+ * partie a un seul nœud propriétaire qui détient son état et sa file de
+ * commandes ; les autres nœuds lui transfèrent les commandes reçues.
+ * Sans cluster, toutes les parties sont locales.
+ */
+@Slf4j
+@Component
+public class GameRouter implements GameOwnership {
+
+    private final GameProperties.Cluster settings;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ClusterBroker> clusterBroker;
+    private final ConsistentHashRing ring;
+
+    public GameRouter(GameProperties properties,
+                      ObjectMapper objectMapper,
+                      ObjectProvider<ClusterBroker> clusterBroker) {
+        this.settings = properties.getCluster();
+        this.objectMapper = objectMapper;
+        this.clusterBroker = clusterBroker;
+
+        List<String> nodes = settings.getNodes().isEmpty() ? List.of(settings.getNodeId()) : settings.getNodes();
+        if (!nodes.contains(settings.getNodeId())) {
+            throw new IllegalStateException("Le nœud " + settings.getNodeId() + " ne fait pas partie du cluster " + nodes);
+        }
+        this.ring = new ConsistentHashRing(nodes, settings.getVirtualNodes());
+    }
+
+    @Override
+    public boolean isLocal(String gameId) {
+        return !settings.isEnabled() || settings.getNodeId().equals(ownerOf(gameId));
+    }
+
+    /**
+     * Nœud propriétaire d'une partie
+     */
+    public String ownerOf(String gameId) {
+        return settings.isEnabled() ? ring.nodeFor(gameId) : settings.getNodeId();
+    }
+
+    public String nodeId() {
+        return settings.getNodeId();
+    }
+
+    /**
+     * Transfère une commande au nœud propriétaire de la partie
+     */
+    public void forward(GameCommandDTO command) {
+        String owner = ownerOf(command.getGameId());
+        try {
+            broker().publish(nodeChannel(owner), objectMapper.writeValueAsBytes(command));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Transfert impossible de la commande vers " + owner, e);
+        }
+    }
+
+    /**
+     * Enregistre le traitement des commandes transférées à ce nœud
+     */
+    public void onForwardedCommand(Consumer<GameCommandDTO> handler) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        broker().subscribe(nodeChannel(settings.getNodeId()), payload -> {
+            try {
+                handler.accept(objectMapper.readValue(payload, GameCommandDTO.class));
+            } catch (IOException e) {
+                log.error("Commande transférée illisible", e);
+            }
+        });
+    }
+
+    private ClusterBroker broker() {
+        return clusterBroker.getObject();
+    }
+
+    private static String nodeChannel(String nodeId) {
+        return "node." + nodeId;
+    }
+}
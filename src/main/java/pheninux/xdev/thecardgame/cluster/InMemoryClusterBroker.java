@@ -0,0 +1,54 @@
+package pheninux.xdev.thecardgame.cluster;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Substitut de broker externe pour plusieurs nœuds dans un même JVM (tests) :
+ * les abonnements sont partagés par tous les contextes Spring, chaque instance
+ * représentant la connexion d'un nœud. Les messages sont livrés de façon
+ * asynchrone, dans l'ordre de publication, comme le ferait un vrai broker.
+ */
+public final class InMemoryClusterBroker implements ClusterBroker, AutoCloseable {
+
+    private static final Map<String, List<Consumer<byte[]>>> SUBSCRIPTIONS = new ConcurrentHashMap<>();
+    private static final ExecutorService DELIVERY = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "in-memory-cluster-broker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, List<Consumer<byte[]>>> ownSubscriptions = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String channel, byte[] payload) {
+        for (Consumer<byte[]> subscriber : SUBSCRIPTIONS.getOrDefault(channel, List.of())) {
+            DELIVERY.execute(() -> subscriber.accept(payload));
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<byte[]> listener) {
+        SUBSCRIPTIONS.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+        ownSubscriptions.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Retire les abonnements de ce nœud à l'arrêt de son contexte
+     */
+    @Override
+    public void close() {
+        ownSubscriptions.forEach((channel, listeners) -> {
+            List<Consumer<byte[]>> subscribers = SUBSCRIPTIONS.get(channel);
+            if (subscribers != null) {
+                subscribers.removeAll(listeners);
+            }
+        });
+        ownSubscriptions.clear();
+    }
+}
@@ -0,0 +1,80 @@
+package pheninux.xdev.thecardgame.cluster;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import pheninux.xdev.thecardgame.config.GameProperties;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Canal inter-nœuds porté par le broker STOMP externe (celui du relais) :
+ * chaque canal correspond à la destination /topic/cluster.{canal}
+ */
+@Slf4j
+public class StompClusterBroker implements ClusterBroker {
+
+    private static final String PREFIX = "/topic/cluster.";
+
+    private final ReactorNettyTcpStompClient client;
+    private final CompletableFuture<StompSession> session;
+    private final Map<String, List<Consumer<byte[]>>> listeners = new ConcurrentHashMap<>();
+
+    public StompClusterBroker(GameProperties.Relay relay) {
+        this.client = new ReactorNettyTcpStompClient(relay.getHost(), relay.getPort());
+        this.client.setMessageConverter(new ByteArrayMessageConverter());
+
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.setLogin(relay.getLogin());
+        connectHeaders.setPasscode(relay.getPasscode());
+
+        this.session = client.connectAsync(connectHeaders, new StompSessionHandlerAdapter() {
+            @Override
+            public void handleTransportError(StompSession session, Throwable exception) {
+                log.error("Connexion au broker du cluster perdue", exception);
+            }
+        });
+    }
+
+    @Override
+    public void publish(String channel, byte[] payload) {
+        session.thenAccept(stompSession -> stompSession.send(PREFIX + channel, payload));
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<byte[]> listener) {
+        List<Consumer<byte[]>> channelListeners = listeners.computeIfAbsent(channel, key -> {
+            List<Consumer<byte[]>> created = new CopyOnWriteArrayList<>();
+            session.thenAccept(stompSession -> stompSession.subscribe(PREFIX + channel, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return byte[].class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    created.forEach(subscriber -> subscriber.accept((byte[]) payload));
+                }
+            }));
+            return created;
+        });
+        channelListeners.add(listener);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        session.thenAccept(StompSession::disconnect);
+        client.shutdown();
+    }
+}
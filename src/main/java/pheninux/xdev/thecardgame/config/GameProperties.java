@@ -0,0 +1,260 @@
+package pheninux.xdev.thecardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paramètres du moteur de jeu (préfixe "game" dans application.properties)
+ */
+@Data
+@ConfigurationProperties(prefix = "game")
+public class GameProperties {
+
+    private final Persistence persistence = new Persistence();
+    private final Actor actor = new Actor();
+    private final Broadcast broadcast = new Broadcast();
+    private final Cluster cluster = new Cluster();
+    private final Execution execution = new Execution();
+    private final EventLog eventLog = new EventLog();
+    private final Lobby lobby = new Lobby();
+    private final Lifecycle lifecycle = new Lifecycle();
+    private final Turn turn = new Turn();
+    private final Presence presence = new Presence();
+    private final Chat chat = new Chat();
+    private final ViewCache viewCache = new ViewCache();
+    private final Spectator spectator = new Spectator();
+    private final Bulk bulk = new Bulk();
+
+    @Data
+    public static class Persistence {
+        // JPA : tables relationnelles ; JOURNAL : instantanés + journal binaire d'actions
+        private PersistenceEngine engine = PersistenceEngine.JPA;
+
+        // WRITE_THROUGH : chaque action est sauvegardée immédiatement
+        // WRITE_BEHIND : les parties modifiées sont sauvegardées par lots
+        private DurabilityMode mode = DurabilityMode.WRITE_BEHIND;
+
+        // Intervalle entre deux sauvegardes par lots
+        private Duration flushInterval = Duration.ofMillis(500);
+
+        // Sauvegarde anticipée tous les N tours
+        private int flushEveryTurns = 10;
+
+        // Nombre maximum de parties sauvegardées par transaction
+        private int batchSize = 50;
+
+        private final Journal journal = new Journal();
+    }
+
+    @Data
+    public static class Journal {
+        // Répertoire des segments du journal
+        private String directory = "data/journal";
+
+        // Taille de chaque fichier segment projeté en mémoire
+        private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+        // Nouvel instantané toutes les N actions d'une partie (borne la durée du rejeu)
+        private int snapshotEvery = 64;
+
+        // Compactage à partir de N segments, et du double des segments restés après le
+        // compactage précédent (0 : jamais)
+        private int compactSegments = 8;
+
+        // Fréquence de la vérification du compactage
+        private Duration compactInterval = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Actor {
+        // Nombre de threads partagés entre toutes les parties
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        // Commandes traitées d'affilée pour une partie avant de céder le thread
+        private int maxCommandsPerRun = 32;
+    }
+
+    @Data
+    public static class Broadcast {
+        // FULL : un état complet par joueur après chaque action
+        // SHARED : état public sérialisé une fois pour tous + main de chaque joueur
+        // DELTA : événements typés numérotés ; les changements structurels sont
+        //         diffusés comme en mode SHARED
+        private BroadcastMode mode = BroadcastMode.DELTA;
+
+        // Fenêtre de regroupement des diffusions d'une partie (0 : envoi immédiat)
+        private Duration coalesceWindow = Duration.ofMillis(10);
+    }
+
+    @Data
+    public static class Execution {
+        // PLATFORM : pools de threads classiques
+        // VIRTUAL : threads virtuels pour les canaux STOMP entrant/sortant, les requêtes
+        //           REST et les commandes de jeu (une seule commande à la fois par partie)
+        private ThreadMode mode = ThreadMode.PLATFORM;
+    }
+
+    @Data
+    public static class EventLog {
+        // Entrées conservées en mémoire (arrondi à la puissance de 2 supérieure)
+        private int capacity = 65536;
+
+        // Part des parties journalisées ; les refus (WARN) et les parties en mode
+        // débogage le sont toujours
+        private double sampleRate = 0.05;
+
+        // Recopie asynchrone vers le logger pheninux.xdev.thecardgame.events
+        private boolean output = true;
+
+        private Duration flushInterval = Duration.ofMillis(200);
+    }
+
+    @Data
+    public static class Lobby {
+        // Intervalle de diffusion des tables modifiées sur /topic/lobby
+        private Duration publishInterval = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class Lifecycle {
+        // Intervalle entre deux balayages des parties en mémoire
+        private Duration sweepInterval = Duration.ofSeconds(30);
+
+        // Parties terminées : archivées après ce délai (résultat et rejeu consultables jusque-là)
+        private Duration finishedTtl = Duration.ofMinutes(5);
+
+        // Sans action pendant ce délai : tables non démarrées supprimées,
+        // parties en cours déchargées de la mémoire (rechargées à la commande suivante)
+        private Duration idleTtl = Duration.ofMinutes(15);
+
+        // Parties déchargées sans nouvelle action : archivées comme abandonnées
+        private Duration abandonedTtl = Duration.ofHours(24);
+
+        // Au-delà, les parties les moins récemment actives sont déchargées
+        private int maxLiveGames = 10_000;
+    }
+
+    @Data
+    public static class Turn {
+        // Temps accordé pour jouer un tour ; à l'expiration, pioche automatique puis
+        // joueur suivant (0 : pas de minuteur)
+        private Duration timeout = Duration.ofSeconds(30);
+
+        // Précision des échéances : durée d'une case de la roue temporelle
+        private Duration tick = Duration.ofMillis(100);
+
+        // Nombre de cases de la roue (arrondi à la puissance de 2 supérieure)
+        private int wheelSize = 512;
+    }
+
+    @Data
+    public static class Presence {
+        // Derniers événements publics gardés par partie pour les reprises après
+        // reconnexion ; au-delà, le joueur reçoit un état complet
+        private int resumeBufferSize = 128;
+    }
+
+    @Data
+    public static class Chat {
+        // Messages récents gardés par partie, envoyés à chaque arrivée dans le chat
+        private int historySize = 50;
+
+        // Longueur maximale d'un message (au-delà, il est refusé)
+        private int maxLength = 500;
+
+        // Seau à jetons par session : rafale autorisée puis débit moyen
+        private int burst = 5;
+        private double ratePerSecond = 1.0;
+
+        // Fenêtre de regroupement des messages d'une partie (une trame par fenêtre)
+        private Duration batchWindow = Duration.ofMillis(50);
+
+        // Historique d'une partie sans message depuis ce délai : supprimé
+        private Duration roomTtl = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class ViewCache {
+        // Parties dont les vues REST (GameDTO, états par joueur) sont gardées ; au-delà,
+        // les moins récemment consultées sont retirées
+        private int maxGames = 10_000;
+    }
+
+    @Data
+    public static class Spectator {
+        // Au plus une trame spectateur par partie et par intervalle (dernier état seulement)
+        private Duration frameInterval = Duration.ofMillis(100);
+
+        // Retard des trames spectateurs sur la partie réelle (0 : direct). Non nul, les topics
+        // publics en direct sont réservés aux joueurs assis (SpectatorTopicGuard)
+        private Duration delay = Duration.ZERO;
+    }
+
+    @Data
+    public static class Bulk {
+        // Tables au plus par appel de création groupée
+        private int maxGames = 1_000;
+
+        // Commandes au plus par lot (bots, générateurs de charge)
+        private int maxCommands = 10_000;
+    }
+
+    @Data
+    public static class Cluster {
+        // Désactivé : un seul nœud, broker simple en mémoire
+        private boolean enabled = false;
+
+        // Identifiant de ce nœud ; doit figurer dans "nodes"
+        private String nodeId = "node-1";
+
+        // Ensemble des nœuds se partageant les parties (hachage cohérent sur le gameId)
+        private List<String> nodes = new ArrayList<>();
+
+        // Points virtuels par nœud sur l'anneau de hachage
+        private int virtualNodes = 128;
+
+        // RELAY : broker STOMP externe ; IN_MEMORY : substitut local (tests, un seul JVM)
+        private ClusterBrokerMode broker = ClusterBrokerMode.RELAY;
+
+        private final Relay relay = new Relay();
+    }
+
+    @Data
+    public static class Relay {
+        private String host = "localhost";
+        private int port = 61613;
+        private String login = "guest";
+        private String passcode = "guest";
+    }
+
+    public enum ThreadMode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    public enum PersistenceEngine {
+        JPA,
+        JOURNAL
+    }
+
+    public enum ClusterBrokerMode {
+        RELAY,
+        IN_MEMORY
+    }
+
+    public enum BroadcastMode {
+        FULL,
+        SHARED,
+        DELTA
+    }
+
+    public enum DurabilityMode {
+        WRITE_THROUGH,
+        WRITE_BEHIND
+    }
+}
@@ -0,0 +1,21 @@
+package pheninux.xdev.thecardgame.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Requêtes HTTP (REST et transport SockJS) traitées sur des threads virtuels
+ * lorsque game.execution.mode=VIRTUAL ; les canaux STOMP sont configurés dans WebSocketConfig
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "game.execution", name = "mode", havingValue = "VIRTUAL")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+        return protocolHandler -> protocolHandler.setExecutor(new VirtualThreadTaskExecutor("http-"));
+    }
+}
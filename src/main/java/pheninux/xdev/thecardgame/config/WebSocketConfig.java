@@ -1,19 +1,70 @@
 package pheninux.xdev.thecardgame.config;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import pheninux.xdev.thecardgame.cluster.ClusterTopicRelay;
+import pheninux.xdev.thecardgame.metrics.StompMetricsInterceptor;
+import pheninux.xdev.thecardgame.spectator.SpectatorTopicGuard;
+import pheninux.xdev.thecardgame.wire.WireFormatInterceptor;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final GameProperties properties;
+    private final ObjectProvider<ClusterTopicRelay> clusterTopicRelay;
+    private final WireFormatInterceptor wireFormatInterceptor;
+    private final StompMetricsInterceptor stompMetricsInterceptor;
+    private final SpectatorTopicGuard spectatorTopicGuard;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic"); // Pour les messages diffusés
+        GameProperties.Cluster cluster = properties.getCluster();
+        if (cluster.isEnabled() && cluster.getBroker() == GameProperties.ClusterBrokerMode.RELAY) {
+            // Broker externe partagé : un message publié par n'importe quel nœud atteint tous les abonnés
+            GameProperties.Relay relay = cluster.getRelay();
+            config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relay.getHost())
+                    .setRelayPort(relay.getPort())
+                    .setClientLogin(relay.getLogin())
+                    .setClientPasscode(relay.getPasscode())
+                    .setSystemLogin(relay.getLogin())
+                    .setSystemPasscode(relay.getPasscode());
+        } else {
+            config.enableSimpleBroker("/topic"); // Pour les messages diffusés
+        }
         config.setApplicationDestinationPrefixes("/app"); // Pour les messages envoyés par les clients
+        config.setPreservePublishOrder(true); // Les événements doivent arriver dans l'ordre de leur séquence
+
+        // Broker local à chaque nœud : les topics sont recopiés vers les autres nœuds
+        clusterTopicRelay.ifAvailable(relay -> config.configureBrokerChannel().interceptors(relay));
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Négociation du format et suivi des sessions : les SEND des clients ne sont ni convertis ni mesurés.
+        // Le filtre des topics en direct passe en premier : un abonnement refusé n'est pas compté.
+        registration.interceptors(spectatorTopicGuard, wireFormatInterceptor.inbound(), stompMetricsInterceptor.inbound());
+        if (isVirtual()) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Après la conversion éventuelle en CBOR : taille réelle des trames
+        registration.interceptors(wireFormatInterceptor.outbound(), stompMetricsInterceptor.outbound());
+        if (isVirtual()) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-outbound-"));
+        }
     }
 
     @Override
@@ -21,7 +72,15 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws-palettes-symboles")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
+        // WebSocket native : seule à pouvoir porter des trames binaires (wire-format: cbor)
+        registry.addEndpoint("/ws-palettes-symboles-binary")
+                .setAllowedOriginPatterns("*")
+                .addInterceptors(WireFormatInterceptor.BINARY_TRANSPORT);
+        // Les commandes d'une session sont transmises dans l'ordre d'envoi, quel que soit l'exécuteur
+        registry.setPreserveReceiveOrder(true);
     }
 
-
+    private boolean isVirtual() {
+        return properties.getExecution().getMode() == GameProperties.ThreadMode.VIRTUAL;
+    }
 }
@@ -1,17 +1,37 @@
 package pheninux.xdev.thecardgame.controller;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
+import pheninux.xdev.thecardgame.chat.ChatService;
 import pheninux.xdev.thecardgame.model.ChatMessage;
 
+import java.util.List;
+
 @Controller
+@RequiredArgsConstructor
 public class ChatController {
 
+    private final ChatService chatService;
+
+    /**
+     * Message d'un joueur, diffusé par lots sur /topic/chat/{gameId}
+     */
     @MessageMapping("/chat/{gameId}")
-    @SendTo("/topic/chat/{gameId}")
-    public ChatMessage sendMessage(@DestinationVariable String gameId, ChatMessage message) {
-        return message;
+    public void sendMessage(@DestinationVariable String gameId, ChatMessage message,
+                            SimpMessageHeaderAccessor headers) {
+        String sessionId = headers.getSessionId();
+        chatService.post(gameId, sessionId != null ? sessionId : message.getSenderId(), message);
+    }
+
+    /**
+     * Historique récent, renvoyé directement à l'abonné de /app/chat/{gameId}/history
+     */
+    @SubscribeMapping("/chat/{gameId}/history")
+    public List<ChatMessage> history(@DestinationVariable String gameId) {
+        return chatService.history(gameId);
     }
-}
\ No newline at end of file
+}
@@ -3,31 +3,123 @@ package pheninux.xdev.thecardgame.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import pheninux.xdev.thecardgame.bulk.GameBulkService;
+import pheninux.xdev.thecardgame.cache.GameViewCache;
+import pheninux.xdev.thecardgame.dto.CommandResultDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
 import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.GameLifecycleDTO;
 import pheninux.xdev.thecardgame.dto.GameStateDTO;
+import pheninux.xdev.thecardgame.dto.GameTableDTO;
+import pheninux.xdev.thecardgame.dto.PresenceDTO;
+import pheninux.xdev.thecardgame.dto.TableResultDTO;
+import pheninux.xdev.thecardgame.eventlog.GameEventLog;
+import pheninux.xdev.thecardgame.eventlog.GameLogEntry;
+import pheninux.xdev.thecardgame.lifecycle.GameLifecycleManager;
+import pheninux.xdev.thecardgame.model.ArchivedGame;
+import pheninux.xdev.thecardgame.presence.PresenceTracker;
 import pheninux.xdev.thecardgame.service.GameService;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/games")
 public class GameController {
     @Autowired
     private GameService gameService;
 
+    @Autowired
+    private GameEventLog gameEventLog;
+
+    @Autowired
+    private GameLifecycleManager lifecycleManager;
+
+    @Autowired
+    private PresenceTracker presenceTracker;
+
+    @Autowired
+    private GameViewCache viewCache;
+
+    @Autowired
+    private GameBulkService bulkService;
+
     // Créer une nouvelle partie
     @PostMapping
     public ResponseEntity<GameDTO> createGame(@RequestBody GameDTO gameDTO) {
         return ResponseEntity.ok(gameService.createGame(gameDTO));
     }
 
-    // Obtenir les détails d'une partie
+    // Créer plusieurs parties, joueurs déjà assis, en un appel, un résultat par table
+    @PostMapping("/batch")
+    public ResponseEntity<List<TableResultDTO>> createGames(@RequestBody List<GameTableDTO> tables) {
+        return ResponseEntity.ok(bulkService.createGames(tables));
+    }
+
+    // Appliquer un lot de commandes (dans l'ordre pour une même partie), un résultat par commande
+    @PostMapping("/commands")
+    public CompletableFuture<List<CommandResultDTO>> executeCommands(@RequestBody List<GameCommandDTO> commands) {
+        return bulkService.execute(commands);
+    }
+
+    // Parties en mémoire, inactives, déchargées et archivées
+    @GetMapping("/lifecycle")
+    public ResponseEntity<GameLifecycleDTO> getLifecycle() {
+        return ResponseEntity.ok(lifecycleManager.stats());
+    }
+
+    // Résumé d'une partie archivée
+    @GetMapping("/archive/{gameId}")
+    public ResponseEntity<ArchivedGame> getArchivedGame(@PathVariable String gameId) {
+        return ResponseEntity.of(lifecycleManager.findArchived(gameId));
+    }
+
+    // Obtenir les détails d'une partie (vue en cache ; 304 si l'ETag envoyé est à jour)
     @GetMapping("/{gameId}")
     public ResponseEntity<GameDTO> getGame(@PathVariable String gameId) {
-        return ResponseEntity.ok(gameService.getGame(gameId));
+        GameViewCache.View<GameDTO> view = viewCache.game(gameId);
+        return ResponseEntity.ok().eTag(eTag(view)).body(view.body());
     }
+
+    // État vu par un joueur (ou par un spectateur), même ETag que la partie
     @GetMapping("/{gameId}/player/{playerId}")
     public ResponseEntity<GameStateDTO> getGameStateForPlayer(
             @PathVariable String gameId,
             @PathVariable String playerId) {
-        return ResponseEntity.ok(gameService.getGameStateForPlayer(gameId, playerId));
+        GameViewCache.View<GameStateDTO> view = viewCache.state(gameId, playerId);
+        return ResponseEntity.ok().eTag(eTag(view)).body(view.body());
+    }
+
+    // Rejouer une partie terminée jusqu'au début d'un tour
+    @GetMapping("/{gameId}/replay")
+    public ResponseEntity<GameStateDTO> replayGame(
+            @PathVariable String gameId,
+            @RequestParam int turn,
+            @RequestParam String playerId) {
+        return ResponseEntity.ok(gameService.replayGame(gameId, turn, playerId));
+    }
+
+    // Joueurs connectés à une partie (sessions de ce nœud)
+    @GetMapping("/{gameId}/presence")
+    public ResponseEntity<PresenceDTO> getPresence(@PathVariable String gameId) {
+        return ResponseEntity.ok(presenceTracker.presence(gameId));
+    }
+
+    // Journal d'événements d'une partie (entrées encore en mémoire)
+    @GetMapping("/{gameId}/log")
+    public ResponseEntity<List<GameLogEntry>> getGameLog(@PathVariable String gameId) {
+        return ResponseEntity.ok(gameEventLog.entries(gameId));
+    }
+
+    // Active ou désactive la journalisation complète d'une partie (dépannage)
+    @PutMapping("/{gameId}/log/debug")
+    public ResponseEntity<Void> setGameLogDebug(@PathVariable String gameId, @RequestParam boolean enabled) {
+        gameEventLog.setDebug(gameId, enabled);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Numéro du dernier événement de la partie : change à chaque action
+    private static String eTag(GameViewCache.View<?> view) {
+        return "\"" + view.sequence() + "\"";
     }
 }
@@ -0,0 +1,30 @@
+package pheninux.xdev.thecardgame.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import pheninux.xdev.thecardgame.dto.LobbyTableDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.dto.QuickJoinDTO;
+import pheninux.xdev.thecardgame.lobby.LobbyService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/lobby")
+public class LobbyController {
+    @Autowired
+    private LobbyService lobbyService;
+
+    // Tables ouvertes, les plus remplies d'abord (mises à jour ensuite sur /topic/lobby)
+    @GetMapping
+    public List<LobbyTableDTO> getOpenTables(@RequestParam(defaultValue = "100") int limit) {
+        return lobbyService.openTables(limit);
+    }
+
+    // Entrée rapide : la table ouverte la plus remplie, ou une nouvelle table
+    @PostMapping("/quick-join")
+    public CompletableFuture<QuickJoinDTO> quickJoin(@RequestBody PlayerDTO player) {
+        return lobbyService.quickJoin(player);
+    }
+}
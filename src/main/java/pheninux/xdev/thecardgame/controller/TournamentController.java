@@ -0,0 +1,35 @@
+package pheninux.xdev.thecardgame.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pheninux.xdev.thecardgame.dto.TournamentDTO;
+import pheninux.xdev.thecardgame.dto.TournamentRequestDTO;
+import pheninux.xdev.thecardgame.tournament.TournamentService;
+
+@RestController
+@RequestMapping("/api/tournaments")
+public class TournamentController {
+    @Autowired
+    private TournamentService tournamentService;
+
+    // Créer un tournoi et lancer son premier tour
+    @PostMapping
+    public ResponseEntity<TournamentDTO> createTournament(@RequestBody TournamentRequestDTO request) {
+        return ResponseEntity.ok(tournamentService.create(request));
+    }
+
+    // Tables du tour en cours et classement (mis à jour ensuite sur /topic/tournament/{id})
+    @GetMapping("/{tournamentId}")
+    public ResponseEntity<TournamentDTO> getTournament(@PathVariable String tournamentId) {
+        return ResponseEntity.of(tournamentService.find(tournamentId));
+    }
+
+    // Arbitrage : désigner le vainqueur d'une table
+    @PostMapping("/{tournamentId}/tables/{gameId}/winner/{playerId}")
+    public ResponseEntity<TournamentDTO> decideTable(@PathVariable String tournamentId,
+                                                     @PathVariable String gameId,
+                                                     @PathVariable String playerId) {
+        return ResponseEntity.ok(tournamentService.decide(tournamentId, gameId, playerId));
+    }
+}
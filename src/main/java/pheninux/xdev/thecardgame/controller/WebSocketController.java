@@ -4,15 +4,20 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
-import pheninux.xdev.thecardgame.dto.ErrorResponseDTO;
+import pheninux.xdev.thecardgame.bulk.GameBulkService;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
 import pheninux.xdev.thecardgame.dto.GameStateDTO;
 import pheninux.xdev.thecardgame.dto.PlayerActionDTO;
 import pheninux.xdev.thecardgame.dto.PlayerDTO;
-import pheninux.xdev.thecardgame.model.Game;
-import pheninux.xdev.thecardgame.model.Player;
-import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.dto.ResumeRequestDTO;
+import pheninux.xdev.thecardgame.presence.GameResumeService;
+import pheninux.xdev.thecardgame.service.GameCommandDispatcher;
+import pheninux.xdev.thecardgame.spectator.SpectatorService;
+
+import java.util.List;
 
 
 @Controller
@@ -20,8 +25,10 @@ import pheninux.xdev.thecardgame.service.GameService;
 @Slf4j
 public class WebSocketController {
 
-    private final GameService gameService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final GameCommandDispatcher commandDispatcher;
+    private final GameResumeService resumeService;
+    private final SpectatorService spectatorService;
+    private final GameBulkService bulkService;
 
     /**
      * Rejoint une partie
@@ -29,13 +36,7 @@ public class WebSocketController {
     @MessageMapping("/game/{gameId}/join")
     public void joinGame(@DestinationVariable String gameId,
                          PlayerDTO player) {
-        log.info("WebSocket: Demande de rejoindre la partie {} pour le joueur {}", gameId, player.getId());
-        try {
-            Game game = gameService.addPlayerAndGetGame(gameId, player);
-            sendGameStateToAllPlayers(game);
-        } catch (Exception e) {
-            sendErrorToPlayer(gameId, player.getId(), e.getMessage());
-        }
+        commandDispatcher.dispatch(new GameCommandDTO(gameId, GameCommandType.JOIN, player.getId(), player.getName(), 0, null));
     }
 
     /**
@@ -44,12 +45,7 @@ public class WebSocketController {
     @MessageMapping("/game/{gameId}/start")
     public void startGame(@DestinationVariable String gameId,
                           PlayerActionDTO action) {
-        try {
-            Game game = gameService.startGameAndGetGame(gameId, action.getPlayerId());
-            sendGameStateToAllPlayers(game);
-        } catch (Exception e) {
-            sendErrorToPlayer(gameId, action.getPlayerId(), e.getMessage());
-        }
+        commandDispatcher.dispatch(command(gameId, GameCommandType.START, action));
     }
 
     /**
@@ -58,12 +54,7 @@ public class WebSocketController {
     @MessageMapping("/game/{gameId}/play-card")
     public void playCard(@DestinationVariable String gameId,
                          PlayerActionDTO action) {
-        try {
-            Game game = gameService.playCardAndGetGame(gameId, action.getPlayerId(), action.getCardIndex());
-            sendGameStateToAllPlayers(game);
-        } catch (Exception e) {
-            sendErrorToPlayer(gameId, action.getPlayerId(), e.getMessage());
-        }
+        commandDispatcher.dispatch(command(gameId, GameCommandType.PLAY_CARD, action));
     }
 
     /**
@@ -72,12 +63,7 @@ public class WebSocketController {
     @MessageMapping("/game/{gameId}/draw-card")
     public void drawCard(@DestinationVariable String gameId,
                          PlayerActionDTO action) {
-        try {
-            Game game = gameService.drawCardAndGetGame(gameId, action.getPlayerId());
-            sendGameStateToAllPlayers(game);
-        } catch (Exception e) {
-            sendErrorToPlayer(gameId, action.getPlayerId(), e.getMessage());
-        }
+        commandDispatcher.dispatch(command(gameId, GameCommandType.DRAW_CARD, action));
     }
 
     /**
@@ -86,34 +72,48 @@ public class WebSocketController {
     @MessageMapping("/game/{gameId}/choose-color")
     public void chooseColor(@DestinationVariable String gameId,
                             PlayerActionDTO action) {
-        try {
-            Game game = gameService.chooseColorAndGetGame(gameId, action.getPlayerId(), action.getColor());
-            sendGameStateToAllPlayers(game);
-        } catch (Exception e) {
-            sendErrorToPlayer(gameId, action.getPlayerId(), e.getMessage());
-        }
+        commandDispatcher.dispatch(command(gameId, GameCommandType.CHOOSE_COLOR, action));
+    }
+
+    /**
+     * Renvoie l'état complet à un joueur qui a détecté un trou dans la séquence d'événements
+     */
+    @MessageMapping("/game/{gameId}/sync")
+    public void syncGame(@DestinationVariable String gameId,
+                         PlayerActionDTO action) {
+        commandDispatcher.dispatch(command(gameId, GameCommandType.SYNC, action));
     }
 
     /**
-     * Envoie un état de jeu personnalisé à chaque joueur
+     * Lot de commandes (bots) : appliquées dans l'ordre pour une même partie, résultats
+     * diffusés comme pour des commandes isolées
      */
-    private void sendGameStateToAllPlayers(Game game) {
-        for (Player player : game.getPlayers()) {
-            if (player.getId() != null) {
-                GameStateDTO personalState = gameService.convertToGameStateDTO(game, player.getId());
-                messagingTemplate.convertAndSend("/topic/game/" + game.getId() + "/player/" + player.getId(), personalState);
-            }
-        }
+    @MessageMapping("/game/commands")
+    public void executeCommands(List<GameCommandDTO> commands) {
+        bulkService.execute(commands).exceptionally(error -> {
+            log.warn("Lot de commandes refusé : {}", error.getMessage());
+            return null;
+        });
     }
 
     /**
-     * Envoie un message d'erreur à un joueur spécifique
+     * Reprise après reconnexion : seulement les événements manqués depuis la séquence indiquée
      */
-    private void sendErrorToPlayer(String gameId, String playerId, String errorMessage) {
-        log.error("Erreur pour le joueur {} dans la partie {}: {}", playerId, gameId, errorMessage);
-        ErrorResponseDTO errorResponse = new ErrorResponseDTO();
-        errorResponse.setError(true);
-        errorResponse.setMessage(errorMessage);
-        messagingTemplate.convertAndSend("/topic/game/" + gameId + "/player/" + playerId + "/error", errorResponse);
+    @MessageMapping("/game/{gameId}/resume")
+    public void resumeGame(@DestinationVariable String gameId,
+                           ResumeRequestDTO request) {
+        resumeService.resume(gameId, request.getPlayerId(), request.getSequence());
+    }
+
+    /**
+     * État initial d'un spectateur, avant les trames de /topic/game/{gameId}/spectate
+     */
+    @SubscribeMapping("/game/{gameId}/spectate")
+    public GameStateDTO spectate(@DestinationVariable String gameId) {
+        return spectatorService.currentFrame(gameId);
+    }
+
+    private static GameCommandDTO command(String gameId, GameCommandType type, PlayerActionDTO action) {
+        return new GameCommandDTO(gameId, type, action.getPlayerId(), null, action.getCardIndex(), action.getColor());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pheninux.xdev.thecardgame.model.ChatMessage;
+
+import java.util.List;
+
+/**
+ * Messages d'une partie reçus pendant une fenêtre de regroupement, dans l'ordre de leur séquence
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatBatchDTO {
+    private String gameId;
+    private List<ChatMessage> messages;
+}
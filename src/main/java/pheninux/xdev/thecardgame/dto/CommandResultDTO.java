@@ -0,0 +1,29 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Résultat d'une commande d'un lot, à la même position que la commande envoyée
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommandResultDTO {
+
+    public enum Status {
+        // Appliquée par ce nœud
+        APPLIED,
+        // Transférée au nœud propriétaire de la partie (résultat diffusé par le broker)
+        FORWARDED,
+        // Refusée : voir "message"
+        REJECTED
+    }
+
+    private String gameId;
+    private String playerId;
+    private GameCommandType type;
+    private Status status;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Commande de jeu sous forme transportable (transfert entre nœuds, lots de commandes)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameCommandDTO {
+    private String gameId;
+    private GameCommandType type;
+    private String playerId;
+    private String playerName;
+    private int cardIndex;
+    private String color;
+}
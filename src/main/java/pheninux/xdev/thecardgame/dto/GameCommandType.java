@@ -0,0 +1,12 @@
+package pheninux.xdev.thecardgame.dto;
+
+public enum GameCommandType {
+    JOIN,
+    START,
+    PLAY_CARD,
+    DRAW_CARD,
+    CHOOSE_COLOR,
+    SYNC,
+    // Tour expiré (généré par le serveur) : pioche automatique puis joueur suivant
+    TIMEOUT
+}
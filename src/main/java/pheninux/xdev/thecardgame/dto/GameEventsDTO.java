@@ -0,0 +1,18 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pheninux.xdev.thecardgame.event.GameEvent;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameEventsDTO {
+    private String gameId;
+    private List<GameEvent> events;
+    // Temps restant (ms) pour le tour en cours à l'envoi, -1 sans minuteur
+    private long turnTimeRemaining;
+}
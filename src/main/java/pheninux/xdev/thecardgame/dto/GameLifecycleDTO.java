@@ -0,0 +1,22 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compteurs du cycle de vie des parties de ce nœud ("idle" est calculé au dernier balayage)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameLifecycleDTO {
+    // Parties en mémoire
+    private int live;
+    // Parties en mémoire sans action depuis au moins un intervalle de balayage
+    private int idle;
+    // Parties déchargées de la mémoire, toujours sauvegardées
+    private int unloaded;
+    // Parties archivées (toutes origines)
+    private long archived;
+}
@@ -0,0 +1,16 @@
+package pheninux.xdev.thecardgame.dto;
+
+import java.util.List;
+
+/**
+ * Historique complet d'une partie : paramètres de création, graine et commandes
+ * appliquées dans l'ordre. Suffit à reconstituer la partie à n'importe quel tour.
+ * "players" : joueurs assis dès la création, le créateur en premier (un seul pour une
+ * partie ouverte, toute la table pour GameService.createTables) ; les autres arrivent
+ * par les commandes JOIN.
+ */
+public record GameRecording(String gameId,
+                            long seed,
+                            List<PlayerDTO> players,
+                            List<GameCommandDTO> commands) {
+}
@@ -18,4 +18,7 @@ public class GameStateDTO {
     private List<PlayerDTO> players;
     private List<Card> centerCards;
     private int deckSize;
+    private long sequence;
+    // Temps restant (ms) pour jouer le tour en cours, -1 sans minuteur
+    private long turnTimeRemaining;
 }
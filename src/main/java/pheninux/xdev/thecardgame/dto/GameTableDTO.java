@@ -0,0 +1,21 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Table à créer avec ses joueurs déjà assis ; le premier joueur est le créateur
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameTableDTO {
+    // Identifiant imposé (facultatif)
+    private String id;
+    private List<PlayerDTO> players;
+    // Graine des mélanges (facultative)
+    private Long seed;
+}
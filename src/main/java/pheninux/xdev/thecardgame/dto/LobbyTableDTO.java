@@ -0,0 +1,17 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Table du salon : "open" passe à false quand la table est pleine, démarrée ou supprimée
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyTableDTO {
+    private String gameId;
+    private int players;
+    private boolean open;
+}
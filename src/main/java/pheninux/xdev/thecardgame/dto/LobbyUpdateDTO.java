@@ -0,0 +1,17 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Tables modifiées depuis la dernière diffusion sur /topic/lobby
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyUpdateDTO {
+    private List<LobbyTableDTO> tables;
+}
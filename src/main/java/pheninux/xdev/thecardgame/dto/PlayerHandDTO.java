@@ -0,0 +1,21 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pheninux.xdev.thecardgame.model.Card;
+
+import java.util.List;
+
+/**
+ * Partie privée de l'état d'une partie : la main d'un joueur
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerHandDTO {
+    private String gameId;
+    private String playerId;
+    private long sequence;
+    private List<Card> cards;
+}
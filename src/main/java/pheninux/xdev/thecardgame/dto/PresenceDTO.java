@@ -0,0 +1,19 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Joueurs d'une partie ayant au moins une session STOMP ouverte sur ce nœud
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceDTO {
+    private String gameId;
+    private int online;
+    private List<String> playerIds;
+}
@@ -0,0 +1,16 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Résultat d'une entrée rapide : la table rejointe, ou créée si aucune n'était ouverte
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuickJoinDTO {
+    private String gameId;
+    private boolean created;
+}
@@ -0,0 +1,24 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pheninux.xdev.thecardgame.event.GameEvent;
+import pheninux.xdev.thecardgame.model.Card;
+
+import java.util.List;
+
+/**
+ * Réponse à une reprise : événements publics manqués puis main actuelle du joueur
+ * (qui remplace les cartes piochées pendant la coupure)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeDTO {
+    private String gameId;
+    private long sequence;
+    private List<GameEvent> events;
+    private List<Card> cards;
+    private long turnTimeRemaining;
+}
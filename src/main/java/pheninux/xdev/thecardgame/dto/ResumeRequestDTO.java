@@ -0,0 +1,12 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.Data;
+
+/**
+ * Reprise après reconnexion : séquence du dernier événement appliqué par le client
+ */
+@Data
+public class ResumeRequestDTO {
+    private String playerId;
+    private long sequence;
+}
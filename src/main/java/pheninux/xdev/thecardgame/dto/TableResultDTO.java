@@ -0,0 +1,26 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Résultat de la création d'une table d'un lot, à la même position que la table envoyée
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableResultDTO {
+
+    public enum Status {
+        // Partie créée : voir "game"
+        CREATED,
+        // Table refusée (ID déjà utilisé, joueurs invalides) : voir "message"
+        REJECTED
+    }
+
+    private String gameId;
+    private Status status;
+    private String message;
+    private GameDTO game;
+}
@@ -0,0 +1,23 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentDTO {
+    private String id;
+    private String name;
+    private int tableSize;
+    private int round;
+    private boolean finished;
+    private String championId;
+    // Tables du tour en cours (ou du dernier tour)
+    private List<TournamentTableDTO> tables;
+    // Classement : champion, puis les joueurs éliminés le plus tard
+    private List<TournamentStandingDTO> standings;
+}
@@ -0,0 +1,20 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Création d'un tournoi : joueurs dans l'ordre de leur tête de série (le premier est le mieux classé)
+ */
+@Data
+public class TournamentRequestDTO {
+    private String name;
+    private List<PlayerDTO> players;
+    // Joueurs par table (2 à 4)
+    private int tableSize = 4;
+    // Graine des tables (facultative) : tournoi reproductible
+    private Long seed;
+    // Démarre chaque table dès sa création
+    private boolean autoStart = true;
+}
@@ -0,0 +1,20 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentStandingDTO {
+    private String playerId;
+    private String name;
+    // Tête de série (1 : la meilleure)
+    private int seed;
+    // Tables gagnées (une exemption compte comme une victoire)
+    private int wins;
+    // Tour de l'élimination, 0 si le joueur est encore en lice
+    private int eliminatedInRound;
+    private boolean champion;
+}
@@ -0,0 +1,18 @@
+package pheninux.xdev.thecardgame.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentTableDTO {
+    private String gameId;
+    private int round;
+    private List<String> playerIds;
+    // null tant que la table n'est pas terminée
+    private String winnerId;
+}
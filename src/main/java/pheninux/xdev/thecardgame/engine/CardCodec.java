@@ -0,0 +1,128 @@
+package pheninux.xdev.thecardgame.engine;
+
+import pheninux.xdev.thecardgame.model.Card;
+
+/**
+ * Encodage compact des cartes sur un octet : bits 0-2 symbole, bits 3-4 couleur,
+ * bit 5 numéro d'exemplaire (chaque carte existe en deux exemplaires).
+ * La "face" (couleur + symbole, 0..31) suffit pour les règles ; l'exemplaire
+ * permet de distinguer les 64 cartes physiques.
+ */
+public final class CardCodec {
+
+    public static final String[] COLORS = {"cardRed", "cardBlue", "cardGreen", "cardYellow"};
+    public static final String[] SYMBOLS = {"★", "✦", "◉", "⬠", "△", "▢", "◇", "○"};
+
+    public static final int COLOR_COUNT = COLORS.length;
+    public static final int SYMBOL_COUNT = SYMBOLS.length;
+    public static final int FACE_COUNT = COLOR_COUNT * SYMBOL_COUNT;
+    public static final int COPIES = 2;
+    public static final int DECK_SIZE = FACE_COUNT * COPIES;
+
+    // Symboles des cartes spéciales (index dans SYMBOLS)
+    public static final int DRAW_TWO = 0;
+    public static final int SKIP = 1;
+    public static final int REVERSE = 2;
+    public static final int COLOR_PICKER = 3;
+
+    public static final int NO_COLOR = -1;
+
+    // PLAYABLE[face] : masque des faces partageant la couleur ou le symbole de "face"
+    private static final int[] PLAYABLE = new int[FACE_COUNT];
+    private static final int[] COLOR_MASK = new int[COLOR_COUNT];
+
+    static {
+        for (int a = 0; a < FACE_COUNT; a++) {
+            for (int b = 0; b < FACE_COUNT; b++) {
+                if (colorOf(a) == colorOf(b) || symbolOf(a) == symbolOf(b)) {
+                    PLAYABLE[a] |= 1 << b;
+                }
+            }
+            COLOR_MASK[colorOf(a)] |= 1 << a;
+        }
+    }
+
+    private CardCodec() {
+    }
+
+    public static byte encode(int color, int symbol, int copy) {
+        return (byte) ((copy << 5) | (color << 3) | symbol);
+    }
+
+    public static int faceOf(byte card) {
+        return card & 0x1F;
+    }
+
+    public static int colorOf(int card) {
+        return (card >> 3) & 0x3;
+    }
+
+    public static int symbolOf(int card) {
+        return card & 0x7;
+    }
+
+    public static int copyOf(byte card) {
+        return (card >> 5) & 0x1;
+    }
+
+    /**
+     * Vrai si "card" partage la couleur ou le symbole d'au moins une face de "faceMask"
+     */
+    public static boolean matches(byte card, int faceMask) {
+        return (PLAYABLE[faceOf(card)] & faceMask) != 0;
+    }
+
+    /**
+     * Vrai si "card" est de la couleur "color"
+     */
+    public static boolean hasColor(byte card, int color) {
+        return (COLOR_MASK[color] & (1 << faceOf(card))) != 0;
+    }
+
+    public static boolean isSpecial(byte card) {
+        return symbolOf(card) <= COLOR_PICKER;
+    }
+
+    public static int colorIndex(String color) {
+        if (color == null) {
+            return NO_COLOR;
+        }
+        for (int i = 0; i < COLOR_COUNT; i++) {
+            if (COLORS[i].equals(color)) {
+                return i;
+            }
+        }
+        return NO_COLOR;
+    }
+
+    public static int symbolIndex(String symbol) {
+        for (int i = 0; i < SYMBOL_COUNT; i++) {
+            if (SYMBOLS[i].equals(symbol)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Symbole inconnu: " + symbol);
+    }
+
+    /**
+     * Face d'une carte JPA (l'exemplaire n'est pas connu à ce niveau)
+     */
+    public static int faceOf(Card card) {
+        int color = colorIndex(card.getColor());
+        if (color == NO_COLOR) {
+            throw new IllegalArgumentException("Couleur inconnue: " + card.getColor());
+        }
+        return (color << 3) | symbolIndex(card.getSymbol());
+    }
+
+    public static Card toCard(byte card) {
+        Card result = new Card();
+        result.setColor(COLORS[colorOf(card)]);
+        result.setSymbol(SYMBOLS[symbolOf(card)]);
+        return result;
+    }
+
+    public static String colorName(int color) {
+        return color == NO_COLOR ? null : COLORS[color];
+    }
+}
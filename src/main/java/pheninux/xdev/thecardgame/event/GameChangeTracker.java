@@ -0,0 +1,140 @@
+package pheninux.xdev.thecardgame.event;
+
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Déduit les événements d'une action en comparant l'état avant et après.
+ * Les règles de GameService restent ainsi inchangées ; seul un petit instantané
+ * (tailles, index, main du joueur actif) est copié avant chaque action.
+ */
+public final class GameChangeTracker {
+
+    private GameChangeTracker() {
+    }
+
+    public record Snapshot(int playerCount,
+                           boolean gameStarted,
+                           boolean gameFinished,
+                           int currentPlayerIndex,
+                           int turnCounter,
+                           int gameDirection,
+                           String selectedColor,
+                           int deckSize,
+                           int[] handSizes,
+                           String activePlayerId,
+                           List<Card> activeHand) {
+    }
+
+    public static Snapshot capture(Game game) {
+        List<Player> players = game.getPlayers();
+        int[] handSizes = new int[players.size()];
+        for (int i = 0; i < handSizes.length; i++) {
+            handSizes[i] = players.get(i).getCards().size();
+        }
+
+        Player active = game.getCurrentPlayer();
+        return new Snapshot(
+                players.size(),
+                game.isGameStarted(),
+                game.isGameFinished(),
+                game.getCurrentPlayerIndex(),
+                game.getTurnCounter(),
+                game.getGameDirection(),
+                game.getSelectedColor(),
+                game.getDeck().size(),
+                handSizes,
+                active != null ? active.getId() : null,
+                active != null ? new ArrayList<>(active.getCards()) : List.of());
+    }
+
+    /**
+     * Calcule les événements et attribue leurs numéros de séquence (Game.eventSequence)
+     */
+    public static GameChanges diff(Snapshot before, Game game) {
+        List<Player> players = game.getPlayers();
+
+        // Arrivée d'un joueur ou démarrage : un état complet sera envoyé
+        if (players.size() != before.playerCount() || game.isGameStarted() != before.gameStarted()) {
+            long sequence = nextSequence(game);
+            return new GameChanges(List.of(), List.of(), true, sequence);
+        }
+
+        List<GameEvent> events = new ArrayList<>();
+        List<GameEvent.CardsReceived> privateEvents = new ArrayList<>();
+
+        int drawnTotal = 0;
+        for (int i = 0; i < players.size(); i++) {
+            drawnTotal += Math.max(0, players.get(i).getCards().size() - before.handSizes()[i]);
+        }
+
+        // Pioche reconstituée avec les cartes du centre
+        if (drawnTotal > 0 && game.getDeck().size() != before.deckSize() - drawnTotal) {
+            events.add(new GameEvent.DeckRecycled(nextSequence(game),
+                    game.getDeck().size() + drawnTotal, game.getCenterCards().get(0)));
+        }
+
+        // Carte jouée par le joueur actif
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (player.getId() != null && player.getId().equals(before.activePlayerId())
+                    && player.getCards().size() < before.handSizes()[i]) {
+                List<Card> centerCards = game.getCenterCards();
+                events.add(new GameEvent.CardPlayed(nextSequence(game), player.getId(),
+                        playedIndex(before.activeHand(), player.getCards()),
+                        centerCards.get(centerCards.size() - 1),
+                        player.getCards().size()));
+            }
+        }
+
+        // Cartes piochées (pioche volontaire ou carte "+2")
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            int count = player.getCards().size() - before.handSizes()[i];
+            if (count > 0) {
+                long sequence = nextSequence(game);
+                events.add(new GameEvent.CardDrawn(sequence, player.getId(), count,
+                        player.getCards().size(), game.getDeck().size()));
+                List<Card> hand = player.getCards();
+                privateEvents.add(new GameEvent.CardsReceived(sequence, player.getId(),
+                        List.copyOf(hand.subList(hand.size() - count, hand.size()))));
+            }
+        }
+
+        if (!Objects.equals(game.getSelectedColor(), before.selectedColor())) {
+            events.add(new GameEvent.ColorChosen(nextSequence(game), game.getSelectedColor()));
+        }
+        if (game.getGameDirection() != before.gameDirection()) {
+            events.add(new GameEvent.DirectionReversed(nextSequence(game), game.getGameDirection()));
+        }
+        if (game.getCurrentPlayerIndex() != before.currentPlayerIndex()
+                || game.getTurnCounter() != before.turnCounter()) {
+            events.add(new GameEvent.TurnAdvanced(nextSequence(game),
+                    game.getCurrentPlayerIndex(), game.getTurnCounter()));
+        }
+        if (game.isGameFinished() && !before.gameFinished()) {
+            events.add(new GameEvent.GameFinished(nextSequence(game), game.getWinnerId()));
+        }
+
+        return new GameChanges(events, privateEvents, false, game.getEventSequence());
+    }
+
+    private static long nextSequence(Game game) {
+        game.setEventSequence(game.getEventSequence() + 1);
+        return game.getEventSequence();
+    }
+
+    private static int playedIndex(List<Card> before, List<Card> after) {
+        for (int i = 0; i < after.size(); i++) {
+            if (before.get(i) != after.get(i)) {
+                return i;
+            }
+        }
+        return after.size();
+    }
+}
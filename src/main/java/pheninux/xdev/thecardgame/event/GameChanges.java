@@ -0,0 +1,18 @@
+package pheninux.xdev.thecardgame.event;
+
+import java.util.List;
+
+/**
+ * Résultat d'une action : événements publics, événements privés par joueur,
+ * et indicateur de changement structurel (arrivée d'un joueur, démarrage)
+ * qui nécessite l'envoi d'un état complet
+ */
+public record GameChanges(List<GameEvent> events,
+                          List<GameEvent.CardsReceived> privateEvents,
+                          boolean structural,
+                          long sequence) {
+
+    public boolean isEmpty() {
+        return events.isEmpty() && privateEvents.isEmpty() && !structural;
+    }
+}
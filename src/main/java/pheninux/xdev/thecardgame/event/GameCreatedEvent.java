@@ -0,0 +1,9 @@
+package pheninux.xdev.thecardgame.event;
+
+import pheninux.xdev.thecardgame.model.Game;
+
+/**
+ * Publié (événement Spring) lorsqu'une partie est créée sur ce nœud
+ */
+public record GameCreatedEvent(Game game) {
+}
@@ -0,0 +1,69 @@
+package pheninux.xdev.thecardgame.event;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import pheninux.xdev.thecardgame.model.Card;
+
+import java.util.List;
+
+/**
+ * Événements de jeu diffusés aux clients à la place de l'état complet.
+ * Chaque événement public porte un numéro de séquence croissant par partie ;
+ * un client qui constate un trou dans la séquence redemande un état complet.
+ * Les valeurs transmises sont absolues (taille de main, index du joueur...)
+ * pour que l'application d'un événement ne dépende pas d'un calcul côté client.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = GameEvent.CardPlayed.class, name = "CardPlayed"),
+        @JsonSubTypes.Type(value = GameEvent.CardDrawn.class, name = "CardDrawn"),
+        @JsonSubTypes.Type(value = GameEvent.CardsReceived.class, name = "CardsReceived"),
+        @JsonSubTypes.Type(value = GameEvent.DeckRecycled.class, name = "DeckRecycled"),
+        @JsonSubTypes.Type(value = GameEvent.TurnAdvanced.class, name = "TurnAdvanced"),
+        @JsonSubTypes.Type(value = GameEvent.ColorChosen.class, name = "ColorChosen"),
+        @JsonSubTypes.Type(value = GameEvent.DirectionReversed.class, name = "DirectionReversed"),
+        @JsonSubTypes.Type(value = GameEvent.GameFinished.class, name = "GameFinished")
+})
+public sealed interface GameEvent {
+
+    long sequence();
+
+    /**
+     * Une carte est posée au centre (le centre garde au plus 4 cartes)
+     */
+    record CardPlayed(long sequence, String playerId, int cardIndex, Card card, int handSize) implements GameEvent {
+    }
+
+    /**
+     * Un joueur pioche "count" cartes (contenu non divulgué)
+     */
+    record CardDrawn(long sequence, String playerId, int count, int handSize, int deckSize) implements GameEvent {
+    }
+
+    /**
+     * Cartes piochées, envoyées uniquement au joueur concerné ; même séquence que le CardDrawn associé
+     */
+    record CardsReceived(long sequence, String playerId, List<Card> cards) implements GameEvent {
+    }
+
+    /**
+     * La pioche est reconstituée avec le centre ; seule "centerCard" reste au centre
+     */
+    record DeckRecycled(long sequence, int deckSize, Card centerCard) implements GameEvent {
+    }
+
+    record TurnAdvanced(long sequence, int currentPlayerIndex, int turnCounter) implements GameEvent {
+    }
+
+    /**
+     * Couleur imposée (null lorsque la contrainte est levée)
+     */
+    record ColorChosen(long sequence, String color) implements GameEvent {
+    }
+
+    record DirectionReversed(long sequence, int gameDirection) implements GameEvent {
+    }
+
+    record GameFinished(long sequence, String winnerId) implements GameEvent {
+    }
+}
@@ -0,0 +1,9 @@
+package pheninux.xdev.thecardgame.event;
+
+import pheninux.xdev.thecardgame.model.Game;
+
+/**
+ * Publié (événement Spring) après chaque action ayant modifié une partie
+ */
+public record GameUpdatedEvent(Game game, GameChanges changes) {
+}
@@ -0,0 +1,197 @@
+package pheninux.xdev.thecardgame.eventlog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import pheninux.xdev.thecardgame.config.GameProperties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Journal structuré des événements de jeu, à la place des logs INFO des chemins critiques.
+ * <ul>
+ *   <li>Échantillonnage par partie (game.event-log.sample-rate) : une partie retenue
+ *       est journalisée en entier, les autres pas du tout ; WARN est toujours retenu</li>
+ *   <li>Mode débogage activable par partie : tout est retenu, y compris DEBUG</li>
+ *   <li>Écriture dans un tampon circulaire sans verrou (la plus ancienne entrée est
+ *       écrasée) ; un thread dédié recopie les entrées vers le logger
+ *       "pheninux.xdev.thecardgame.events", hors des threads de jeu</li>
+ *   <li>Les dernières entrées d'une partie restent consultables en mémoire</li>
+ * </ul>
+ */
+@Component
+public class GameEventLog {
+
+    public enum Level {
+        DEBUG, INFO, WARN
+    }
+
+    private static final Logger OUTPUT = LoggerFactory.getLogger("pheninux.xdev.thecardgame.events");
+
+    private final GameProperties.EventLog settings;
+    private final AtomicReferenceArray<GameLogEntry> ring;
+    private final int mask;
+    private final int sampleThreshold;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final Set<String> debugGames = ConcurrentHashMap.newKeySet();
+
+    private volatile Thread writer;
+    private volatile boolean running;
+    private long written;
+    private long dropped;
+
+    public GameEventLog(GameProperties properties) {
+        this.settings = properties.getEventLog();
+        int capacity = Integer.highestOneBit(Math.max(2, settings.getCapacity() - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.sampleThreshold = (int) Math.round(Math.min(1, Math.max(0, settings.getSampleRate())) * 0x10000);
+    }
+
+    /**
+     * Journal inactif (simulations, benchmarks) : seules les parties en mode débogage
+     * seraient retenues
+     */
+    public static GameEventLog disabled() {
+        GameProperties properties = new GameProperties();
+        properties.getEventLog().setCapacity(2);
+        properties.getEventLog().setSampleRate(0);
+        properties.getEventLog().setOutput(false);
+        return new GameEventLog(properties);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!settings.isOutput()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "game-event-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(1000);
+        }
+    }
+
+    /**
+     * Vrai si une entrée de ce niveau serait retenue : permet d'éviter de construire
+     * ses champs lorsqu'elle ne l'est pas
+     */
+    public boolean isRecorded(String gameId, Level level) {
+        if (level == Level.WARN || debugGames.contains(gameId)) {
+            return true;
+        }
+        return level == Level.INFO && isSampled(gameId);
+    }
+
+    /**
+     * Enregistre une entrée ; "keyValues" alterne noms de champs et valeurs
+     */
+    public void record(String gameId, Level level, String type, Object... keyValues) {
+        if (!isRecorded(gameId, level)) {
+            return;
+        }
+        Map<String, Object> fields = new LinkedHashMap<>(keyValues.length);
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            fields.put(String.valueOf(keyValues[i]), keyValues[i + 1]);
+        }
+        long sequence = nextSequence.getAndIncrement();
+        ring.set((int) (sequence & mask),
+                new GameLogEntry(sequence, System.currentTimeMillis(), gameId, level, type, fields));
+    }
+
+    public void setDebug(String gameId, boolean enabled) {
+        if (enabled) {
+            debugGames.add(gameId);
+        } else {
+            debugGames.remove(gameId);
+        }
+    }
+
+    public boolean isDebug(String gameId) {
+        return debugGames.contains(gameId);
+    }
+
+    /**
+     * Entrées encore présentes dans le tampon pour une partie, de la plus ancienne à la plus récente
+     */
+    public List<GameLogEntry> entries(String gameId) {
+        List<GameLogEntry> result = new ArrayList<>();
+        long end = nextSequence.get();
+        long start = Math.max(0, end - ring.length());
+        for (long sequence = start; sequence < end; sequence++) {
+            GameLogEntry entry = ring.get((int) (sequence & mask));
+            if (entry != null && entry.sequence() == sequence && entry.gameId().equals(gameId)) {
+                result.add(entry);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Même décision pour toutes les entrées d'une partie, stable d'un nœud à l'autre
+     */
+    private boolean isSampled(String gameId) {
+        int hash = gameId.hashCode() * 0x9E3779B9;
+        return ((hash >>> 16) & 0xFFFF) < sampleThreshold;
+    }
+
+    private void writeLoop() {
+        long pause = settings.getFlushInterval().toNanos();
+        while (running) {
+            drain();
+            LockSupport.parkNanos(pause);
+        }
+        drain();
+    }
+
+    /**
+     * Recopie les entrées publiées depuis le dernier passage ; celles écrasées entre-temps
+     * sont comptées comme perdues
+     */
+    private void drain() {
+        long end = nextSequence.get();
+        if (end - written > ring.length()) {
+            dropped += end - written - ring.length();
+            OUTPUT.warn("type=event-log-overflow dropped={}", dropped);
+            written = end - ring.length();
+        }
+        while (written < end) {
+            GameLogEntry entry = ring.get((int) (written & mask));
+            if (entry == null || entry.sequence() < written) {
+                // Emplacement réservé mais pas encore écrit : reprise au prochain passage
+                return;
+            }
+            if (entry.sequence() == written) {
+                // DEBUG n'est retenu que pour les parties en mode débogage : toujours écrit
+                if (entry.level() == Level.WARN) {
+                    OUTPUT.warn(entry.format());
+                } else {
+                    OUTPUT.info(entry.format());
+                }
+            } else {
+                dropped++;
+            }
+            written++;
+        }
+    }
+}
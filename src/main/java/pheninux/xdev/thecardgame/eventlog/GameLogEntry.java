@@ -0,0 +1,26 @@
+package pheninux.xdev.thecardgame.eventlog;
+
+import java.util.Map;
+
+/**
+ * Entrée du journal d'événements de jeu : un type et des champs clé/valeur
+ */
+public record GameLogEntry(long sequence,
+                           long timestamp,
+                           String gameId,
+                           GameEventLog.Level level,
+                           String type,
+                           Map<String, Object> fields) {
+
+    /**
+     * Ligne "clé=valeur" pour la sortie texte
+     */
+    public String format() {
+        StringBuilder line = new StringBuilder(64)
+                .append("game=").append(gameId)
+                .append(" type=").append(type)
+                .append(" level=").append(level);
+        fields.forEach((key, value) -> line.append(' ').append(key).append('=').append(value));
+        return line.toString();
+    }
+}
@@ -0,0 +1,332 @@
+package pheninux.xdev.thecardgame.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.GameRecording;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.service.GamePersistence;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sauvegarde des parties sous forme d'un instantané de création suivi de toutes
+ * les commandes appliquées (game.persistence.engine=JOURNAL). Une action coûte un
+ * ajout séquentiel de quelques dizaines d'octets au lieu de la réécriture des
+ * tables de cartes.
+ * <p>
+ * Les mélanges étant dérivés de la graine de la partie, les commandes suffisent à
+ * reconstituer son état. Un instantané intermédiaire est écrit toutes les
+ * "snapshot-every" commandes pour borner le rejeu au rechargement ; l'historique
+ * complet (GameRecording) reste disponible pour le rejeu à un tour donné.
+ * <p>
+ * Une partie supprimée (archivée) est marquée par un enregistrement REMOVED. Le
+ * compactage réécrit dans de nouveaux segments l'instantané de création, le dernier
+ * instantané et les commandes de chaque partie restante, puis supprime les anciens
+ * segments : parties supprimées et instantanés intermédiaires disparaissent. Les
+ * commandes sont toutes gardées, l'historique complet servant au rejeu.
+ */
+@Slf4j
+public class GameJournal implements GamePersistence, AutoCloseable {
+
+    static final byte SNAPSHOT = 1;
+    static final byte COMMAND = 2;
+    // Partie supprimée : ses enregistrements précédents sont ignorés au démarrage.
+    // Écrit aussi avant les copies d'une partie compactée
+    static final byte REMOVED = 3;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final SegmentedLog segments;
+    private final GameReplayer replayer;
+    private final int snapshotEvery;
+    private final int compactSegments;
+    // Segments restés après le dernier compactage
+    private int compactedSegments;
+
+    private final Map<String, GameLog> index = new ConcurrentHashMap<>();
+
+    /**
+     * Positions des enregistrements d'une partie ; ajouts et lectures se font sous son
+     * verrou pour que le compactage ne déplace pas les enregistrements entre-temps
+     */
+    private static final class GameLog {
+        long created = -1;
+        long snapshot;
+        long[] commands = new long[16];
+        int commandCount;
+        // Nombre de commandes déjà incluses dans le dernier instantané
+        int commandsAtSnapshot;
+
+        void snapshot(long position) {
+            if (created < 0) {
+                created = position;
+            }
+            snapshot = position;
+            commandsAtSnapshot = commandCount;
+        }
+
+        void command(long position) {
+            if (commandCount == commands.length) {
+                commands = Arrays.copyOf(commands, commandCount * 2);
+            }
+            commands[commandCount++] = position;
+        }
+    }
+
+    public GameJournal(GameProperties.Journal settings, GameReplayer replayer) {
+        this.segments = new SegmentedLog(Path.of(settings.getDirectory()), (int) settings.getSegmentSize().toBytes());
+        this.replayer = replayer;
+        this.snapshotEvery = settings.getSnapshotEvery();
+        this.compactSegments = settings.getCompactSegments();
+
+        segments.scan(entry -> {
+            if (entry.type() == REMOVED) {
+                index.remove(entry.key());
+                return;
+            }
+            GameLog gameLog = index.computeIfAbsent(entry.key(), key -> new GameLog());
+            if (entry.type() == SNAPSHOT) {
+                gameLog.snapshot(entry.position());
+            } else {
+                gameLog.command(entry.position());
+            }
+        });
+        log.info("Journal des parties ouvert : {} partie(s), {} segment(s)", index.size(), segments.segmentCount());
+    }
+
+    @Override
+    public void gameCreated(Game game) {
+        snapshot(game);
+    }
+
+    @Override
+    public void gameChanged(Game game, GameCommandDTO command, GameChanges changes) {
+        GameLog gameLog = index.get(game.getId());
+        if (gameLog == null) {
+            // Partie chargée depuis une autre source : l'historique commence ici
+            snapshot(game);
+            return;
+        }
+
+        byte[] payload = encodeCommand(game, command);
+        boolean snapshotDue;
+        synchronized (gameLog) {
+            gameLog.command(segments.append(COMMAND, game.getId(), payload));
+            snapshotDue = gameLog.commandCount - gameLog.commandsAtSnapshot >= snapshotEvery;
+        }
+        if (snapshotDue) {
+            snapshot(game);
+        }
+    }
+
+    @Override
+    public void persistNow(Game game) {
+        snapshot(game);
+    }
+
+    @Override
+    public boolean exists(String gameId) {
+        return index.containsKey(gameId);
+    }
+
+    @Override
+    public Optional<Game> load(String gameId) {
+        GameLog gameLog = index.get(gameId);
+        if (gameLog == null) {
+            return Optional.empty();
+        }
+
+        ByteBuffer snapshot;
+        List<ByteBuffer> commands;
+        synchronized (gameLog) {
+            snapshot = segments.read(gameLog.snapshot).payload();
+            commands = payloads(gameLog, gameLog.commandsAtSnapshot);
+        }
+
+        Game game = GameSnapshotCodec.decode(gameId, snapshot);
+        for (ByteBuffer command : commands) {
+            replayer.replay(game, GameRecordingCodec.getCommand(gameId, seat -> game.getPlayers().get(seat).getId(), command));
+        }
+        return Optional.of(game);
+    }
+
+    @Override
+    public void remove(String gameId) {
+        GameLog gameLog = index.get(gameId);
+        if (gameLog == null) {
+            return;
+        }
+        synchronized (gameLog) {
+            if (index.remove(gameId, gameLog)) {
+                segments.append(REMOVED, gameId, EMPTY);
+            }
+        }
+    }
+
+    @Override
+    public Optional<GameRecording> recording(String gameId) {
+        GameLog gameLog = index.get(gameId);
+        if (gameLog == null) {
+            return Optional.empty();
+        }
+
+        ByteBuffer created;
+        List<ByteBuffer> commands;
+        synchronized (gameLog) {
+            created = segments.read(gameLog.created).payload();
+            commands = payloads(gameLog, 0);
+        }
+
+        // Les sièges sont attribués dans l'ordre d'arrivée, comme dans GameService
+        Game initial = GameSnapshotCodec.decode(gameId, created);
+        List<String> seats = new ArrayList<>(initial.getPlayers().stream().map(Player::getId).toList());
+        List<GameCommandDTO> history = new ArrayList<>(commands.size());
+        for (ByteBuffer payload : commands) {
+            GameCommandDTO command = GameRecordingCodec.getCommand(gameId, seats::get, payload);
+            if (command.getType() == GameCommandType.JOIN && !seats.contains(command.getPlayerId())) {
+                seats.add(command.getPlayerId());
+            }
+            history.add(command);
+        }
+
+        List<PlayerDTO> seated = new ArrayList<>(initial.getPlayers().size());
+        for (Player player : initial.getPlayers()) {
+            PlayerDTO dto = new PlayerDTO();
+            dto.setId(player.getId());
+            dto.setName(player.getName());
+            seated.add(dto);
+        }
+        return Optional.of(new GameRecording(gameId, initial.getSeed(), seated, history));
+    }
+
+    /**
+     * Reporte sur disque les pages écrites depuis le dernier appel
+     */
+    @Scheduled(fixedDelayString = "${game.persistence.flush-interval:500ms}")
+    public void force() {
+        segments.force();
+    }
+
+    /**
+     * Compacte le journal quand il dépasse "compact-segments" segments et le double de
+     * ce qui restait après le compactage précédent
+     */
+    @Scheduled(fixedDelayString = "${game.persistence.journal.compact-interval:1m}")
+    public void compactIfNeeded() {
+        int count = segments.segmentCount();
+        if (compactSegments > 0 && count >= compactSegments && count >= 2 * compactedSegments) {
+            compact();
+        }
+    }
+
+    /**
+     * Réécrit les parties restantes dans de nouveaux segments puis supprime les anciens.
+     * Chaque partie est copiée sous son verrou, derrière un enregistrement REMOVED qui
+     * annule ses enregistrements précédents : un arrêt en cours de compactage laisse un
+     * journal relu correctement.
+     */
+    public synchronized void compact() {
+        int before = segments.segmentCount();
+        int boundary = segments.roll();
+        int rewritten = 0;
+        for (Map.Entry<String, GameLog> entry : index.entrySet()) {
+            GameLog gameLog = entry.getValue();
+            synchronized (gameLog) {
+                if (index.get(entry.getKey()) != gameLog || SegmentedLog.segmentOf(gameLog.created) >= boundary) {
+                    // Supprimée entre-temps, ou écrite entièrement après le début du compactage
+                    continue;
+                }
+                if (gameLog.created < 0) {
+                    // Commandes sans instantané de création (segment perdu) : irrécupérable
+                    log.warn("Partie {} sans instantané de création, retirée du journal", entry.getKey());
+                    index.remove(entry.getKey(), gameLog);
+                    continue;
+                }
+                rewrite(entry.getKey(), gameLog);
+                rewritten++;
+            }
+        }
+        segments.dropBefore(boundary);
+        compactedSegments = segments.segmentCount();
+        log.info("Journal compacté : {} partie(s) réécrite(s), {} segment(s) au lieu de {}",
+                rewritten, compactedSegments, before);
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    /**
+     * Copie les enregistrements utiles d'une partie dans l'ordre attendu à la relecture :
+     * création, commandes jusqu'au dernier instantané, instantané, commandes suivantes.
+     * L'appelant détient le verrou de la partie.
+     */
+    private void rewrite(String gameId, GameLog gameLog) {
+        segments.append(REMOVED, gameId, EMPTY);
+        long created = copy(gameId, gameLog.created);
+        for (int i = 0; i < gameLog.commandsAtSnapshot; i++) {
+            gameLog.commands[i] = copy(gameId, gameLog.commands[i]);
+        }
+        gameLog.snapshot = gameLog.snapshot == gameLog.created ? created : copy(gameId, gameLog.snapshot);
+        gameLog.created = created;
+        for (int i = gameLog.commandsAtSnapshot; i < gameLog.commandCount; i++) {
+            gameLog.commands[i] = copy(gameId, gameLog.commands[i]);
+        }
+    }
+
+    private long copy(String gameId, long position) {
+        SegmentedLog.Entry entry = segments.read(position);
+        byte[] payload = new byte[entry.payload().remaining()];
+        entry.payload().get(payload);
+        return segments.append(entry.type(), gameId, payload);
+    }
+
+    /**
+     * Contenu des commandes à partir de "from" ; l'appelant détient le verrou de la partie
+     */
+    private List<ByteBuffer> payloads(GameLog gameLog, int from) {
+        List<ByteBuffer> payloads = new ArrayList<>(gameLog.commandCount - from);
+        for (int i = from; i < gameLog.commandCount; i++) {
+            payloads.add(segments.read(gameLog.commands[i]).payload());
+        }
+        return payloads;
+    }
+
+    private void snapshot(Game game) {
+        byte[] payload = GameSnapshotCodec.encode(game);
+        GameLog gameLog = index.computeIfAbsent(game.getId(), key -> new GameLog());
+        synchronized (gameLog) {
+            gameLog.snapshot(segments.append(SNAPSHOT, game.getId(), payload));
+        }
+    }
+
+    private static byte[] encodeCommand(Game game, GameCommandDTO command) {
+        ByteBuffer buffer = ByteBuffer.allocate(GameRecordingCodec.commandSize(command));
+        GameRecordingCodec.putCommand(buffer,
+                command.getType() == GameCommandType.JOIN ? -1 : seatOf(game, command.getPlayerId()), command);
+        return buffer.array();
+    }
+
+    private static int seatOf(Game game, String playerId) {
+        List<Player> players = game.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            if (playerId.equals(players.get(i).getId())) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Joueur absent de la partie: " + playerId);
+    }
+}
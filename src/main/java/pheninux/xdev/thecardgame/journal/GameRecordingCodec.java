@@ -0,0 +1,122 @@
+package pheninux.xdev.thecardgame.journal;
+
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.GameRecording;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.engine.CardCodec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Encodage binaire de l'historique complet d'une partie (archive) : graine, joueurs
+ * assis à la création puis commandes au format du journal, soit quatre octets par
+ * action (l'identifiant et le nom ne sont écrits que pour une arrivée).
+ */
+public final class GameRecordingCodec {
+
+    private static final byte VERSION = 1;
+    private static final GameCommandType[] COMMAND_TYPES = GameCommandType.values();
+
+    private GameRecordingCodec() {
+    }
+
+    public static byte[] encode(GameRecording recording) {
+        int size = 14;
+        for (PlayerDTO player : recording.players()) {
+            size += GameSnapshotCodec.stringSize(player.getId()) + GameSnapshotCodec.stringSize(player.getName());
+        }
+        for (GameCommandDTO command : recording.commands()) {
+            size += commandSize(command);
+        }
+
+        // Les sièges sont attribués dans l'ordre d'arrivée, comme dans GameService
+        List<String> seats = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION);
+        buffer.putLong(recording.seed());
+        buffer.put((byte) recording.players().size());
+        for (PlayerDTO player : recording.players()) {
+            GameSnapshotCodec.putString(buffer, player.getId());
+            GameSnapshotCodec.putString(buffer, player.getName());
+            seats.add(player.getId());
+        }
+        buffer.putInt(recording.commands().size());
+        for (GameCommandDTO command : recording.commands()) {
+            putCommand(buffer, seats.indexOf(command.getPlayerId()), command);
+            if (command.getType() == GameCommandType.JOIN && !seats.contains(command.getPlayerId())) {
+                seats.add(command.getPlayerId());
+            }
+        }
+        return buffer.array();
+    }
+
+    public static GameRecording decode(String gameId, ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Version d'historique inconnue: " + version);
+        }
+        long seed = buffer.getLong();
+        int playerCount = buffer.get();
+        List<PlayerDTO> players = new ArrayList<>(playerCount);
+        List<String> seats = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setId(GameSnapshotCodec.getString(buffer));
+            player.setName(GameSnapshotCodec.getString(buffer));
+            players.add(player);
+            seats.add(player.getId());
+        }
+        int commandCount = buffer.getInt();
+        List<GameCommandDTO> commands = new ArrayList<>(commandCount);
+        for (int i = 0; i < commandCount; i++) {
+            GameCommandDTO command = getCommand(gameId, seats::get, buffer);
+            if (command.getType() == GameCommandType.JOIN && !seats.contains(command.getPlayerId())) {
+                seats.add(command.getPlayerId());
+            }
+            commands.add(command);
+        }
+        return new GameRecording(gameId, seed, players, commands);
+    }
+
+    static int commandSize(GameCommandDTO command) {
+        return 4 + (command.getType() == GameCommandType.JOIN
+                ? GameSnapshotCodec.stringSize(command.getPlayerId()) + GameSnapshotCodec.stringSize(command.getPlayerName())
+                : 0);
+    }
+
+    /**
+     * Type, siège du joueur, index de carte et couleur sur quatre octets ;
+     * l'identifiant et le nom ne sont écrits que pour une arrivée
+     */
+    static void putCommand(ByteBuffer buffer, int seat, GameCommandDTO command) {
+        boolean join = command.getType() == GameCommandType.JOIN;
+        buffer.put((byte) command.getType().ordinal());
+        buffer.put((byte) (join ? -1 : seat));
+        buffer.put((byte) command.getCardIndex());
+        buffer.put((byte) CardCodec.colorIndex(command.getColor()));
+        if (join) {
+            GameSnapshotCodec.putString(buffer, command.getPlayerId());
+            GameSnapshotCodec.putString(buffer, command.getPlayerName());
+        }
+    }
+
+    static GameCommandDTO getCommand(String gameId, IntFunction<String> playerAtSeat, ByteBuffer buffer) {
+        GameCommandDTO command = new GameCommandDTO();
+        command.setGameId(gameId);
+        command.setType(COMMAND_TYPES[buffer.get()]);
+        int seat = buffer.get();
+        command.setCardIndex(buffer.get());
+        command.setColor(CardCodec.colorName(buffer.get()));
+        if (command.getType() == GameCommandType.JOIN) {
+            command.setPlayerId(GameSnapshotCodec.getString(buffer));
+            command.setPlayerName(GameSnapshotCodec.getString(buffer));
+        } else {
+            command.setPlayerId(playerAtSeat.apply(seat));
+        }
+        return command;
+    }
+}
@@ -0,0 +1,13 @@
+package pheninux.xdev.thecardgame.journal;
+
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.model.Game;
+
+/**
+ * Réapplique une commande journalisée sur une partie restaurée (GameService.replay)
+ */
+@FunctionalInterface
+public interface GameReplayer {
+
+    void replay(Game game, GameCommandDTO command);
+}
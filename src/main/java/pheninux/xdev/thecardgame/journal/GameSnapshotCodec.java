@@ -0,0 +1,147 @@
+package pheninux.xdev.thecardgame.journal;
+
+import pheninux.xdev.thecardgame.engine.CardCodec;
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodage binaire de l'état complet d'une partie (instantané du journal).
+ * Les cartes sont écrites sur un octet (face CardCodec), soit environ
+ * 100 octets pour une partie à quatre joueurs.
+ * Versions : 2 ajoute la graine et le nombre de mélanges, 3 le tournoi de la table.
+ */
+public final class GameSnapshotCodec {
+
+    private static final byte VERSION = 3;
+    private static final int STARTED = 1;
+    private static final int FINISHED = 2;
+
+    private GameSnapshotCodec() {
+    }
+
+    public static byte[] encode(Game game) {
+        ByteBuffer buffer = ByteBuffer.allocate(estimateSize(game));
+        buffer.put(VERSION);
+        buffer.putLong(game.getSeed());
+        buffer.putInt(game.getShuffleCount());
+        buffer.putLong(game.getEventSequence());
+        buffer.putInt(game.getTurnCounter());
+        buffer.putInt(game.getDiscardCount());
+        buffer.put((byte) game.getCurrentPlayerIndex());
+        buffer.put((byte) game.getGameDirection());
+        buffer.put((byte) CardCodec.colorIndex(game.getSelectedColor()));
+        buffer.put((byte) ((game.isGameStarted() ? STARTED : 0) | (game.isGameFinished() ? FINISHED : 0)));
+        putString(buffer, game.getWinnerId());
+        putString(buffer, game.getTournamentId());
+
+        buffer.put((byte) game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            putString(buffer, player.getId());
+            putString(buffer, player.getName());
+            buffer.put((byte) (player.isCreator() ? 1 : 0));
+            putCards(buffer, player.getCards());
+        }
+        putCards(buffer, game.getDeck());
+        putCards(buffer, game.getCenterCards());
+
+        byte[] result = new byte[buffer.position()];
+        buffer.flip().get(result);
+        return result;
+    }
+
+    public static Game decode(String gameId, ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version < 1 || version > VERSION) {
+            throw new IllegalStateException("Version d'instantané inconnue: " + version);
+        }
+
+        Game game = new Game();
+        game.setId(gameId);
+        if (version >= 2) {
+            game.setSeed(buffer.getLong());
+            game.setShuffleCount(buffer.getInt());
+        }
+        game.setEventSequence(buffer.getLong());
+        game.setTurnCounter(buffer.getInt());
+        game.setDiscardCount(buffer.getInt());
+        game.setCurrentPlayerIndex(buffer.get());
+        game.setGameDirection(buffer.get());
+        game.setSelectedColor(CardCodec.colorName(buffer.get()));
+        int flags = buffer.get();
+        game.setGameStarted((flags & STARTED) != 0);
+        game.setGameFinished((flags & FINISHED) != 0);
+        game.setWinnerId(getString(buffer));
+        if (version >= 3) {
+            game.setTournamentId(getString(buffer));
+        }
+
+        int playerCount = buffer.get();
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player();
+            player.setId(getString(buffer));
+            player.setName(getString(buffer));
+            player.setCreator(buffer.get() == 1);
+            player.setCards(getCards(buffer));
+            players.add(player);
+        }
+        game.setPlayers(players);
+        game.setDeck(getCards(buffer));
+        game.setCenterCards(getCards(buffer));
+        return game;
+    }
+
+    private static int estimateSize(Game game) {
+        int size = 44 + stringSize(game.getWinnerId()) + stringSize(game.getTournamentId()) + 3 + game.getDeck().size() + game.getCenterCards().size();
+        for (Player player : game.getPlayers()) {
+            size += stringSize(player.getId()) + stringSize(player.getName()) + 2 + player.getCards().size();
+        }
+        return size;
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int stringSize(String value) {
+        return 2 + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static void putCards(ByteBuffer buffer, List<Card> cards) {
+        buffer.put((byte) cards.size());
+        for (Card card : cards) {
+            buffer.put((byte) CardCodec.faceOf(card));
+        }
+    }
+
+    private static List<Card> getCards(ByteBuffer buffer) {
+        int count = Byte.toUnsignedInt(buffer.get());
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(CardCodec.toCard(buffer.get()));
+        }
+        return cards;
+    }
+}
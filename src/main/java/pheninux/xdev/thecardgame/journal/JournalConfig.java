@@ -0,0 +1,23 @@
+package pheninux.xdev.thecardgame.journal;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.service.GameService;
+
+/**
+ * Moteur de sauvegarde par journal (game.persistence.engine=JOURNAL)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "game.persistence", name = "engine", havingValue = "JOURNAL")
+public class JournalConfig {
+
+    @Bean
+    public GameJournal gameJournal(GameProperties properties, ObjectProvider<GameService> gameService) {
+        // GameService dépend du moteur de sauvegarde : il n'est résolu qu'au premier rejeu
+        return new GameJournal(properties.getPersistence().getJournal(),
+                (game, command) -> gameService.getObject().replay(game, command));
+    }
+}
@@ -0,0 +1,252 @@
+package pheninux.xdev.thecardgame.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal en ajout seul réparti sur des fichiers segments de taille fixe,
+ * projetés en mémoire. Un enregistrement s'écrit en une copie mémoire ;
+ * le système le reporte sur disque (ou force() pour le garantir).
+ * <p>
+ * Format d'un enregistrement : longueur (int), CRC32C (int), puis le corps :
+ * type (octet), clé (short + UTF-8) et contenu. Une longueur nulle marque la fin
+ * des données d'un segment ; un enregistrement incomplet ou corrompu (arrêt
+ * brutal pendant l'écriture) termine la lecture du segment.
+ * <p>
+ * Une position est codée sur un long : numéro de segment (32 bits hauts) et
+ * décalage dans le segment (32 bits bas). Les numéros ne sont jamais réutilisés :
+ * le compactage (GameJournal) supprime les premiers segments, les suivants gardent
+ * leur numéro.
+ */
+@Slf4j
+final class SegmentedLog {
+
+    private static final int HEADER_SIZE = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    // Numéro du premier segment de la liste
+    private int firstSegment;
+    private int writeOffset;
+    // Premier segment modifié depuis le dernier force() : les segments remplis entre
+    // deux appels sont forcés avec le segment courant
+    private int firstUnforced;
+
+    record Entry(long position, byte type, String key, ByteBuffer payload) {
+    }
+
+    @FunctionalInterface
+    interface EntryVisitor {
+        void visit(Entry entry);
+    }
+
+    SegmentedLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                List<Path> existing = files.filter(f -> f.getFileName().toString().startsWith("segment-")).sorted().toList();
+                if (!existing.isEmpty()) {
+                    firstSegment = numberOf(existing.get(0));
+                }
+                for (Path file : existing) {
+                    segments.add(map(file, Math.max(segmentSize, (int) Files.size(file))));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ouverture impossible du journal " + directory, e);
+        }
+    }
+
+    /**
+     * Parcourt tous les enregistrements valides dans l'ordre d'écriture et place la
+     * position d'écriture après le dernier. À appeler une fois, avant tout ajout.
+     */
+    synchronized void scan(EntryVisitor visitor) {
+        if (segments.isEmpty()) {
+            segments.add(newSegment(firstSegment));
+        }
+
+        for (int index = 0; index < segments.size(); index++) {
+            MappedByteBuffer segment = segments.get(index);
+            int offset = 0;
+            while (true) {
+                Entry entry = readAt(segment, firstSegment + index, offset);
+                if (entry == null) {
+                    break;
+                }
+                visitor.visit(entry);
+                offset += HEADER_SIZE + segment.getInt(offset);
+            }
+            writeOffset = offset;
+        }
+        firstUnforced = segments.size() - 1;
+    }
+
+    /**
+     * Ajoute un enregistrement et retourne sa position
+     */
+    synchronized long append(byte type, String key, byte[] payload) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = 1 + 2 + keyBytes.length + payload.length;
+        if (HEADER_SIZE + bodyLength > segmentSize) {
+            throw new IllegalArgumentException("Enregistrement trop grand pour un segment: " + bodyLength + " octets");
+        }
+
+        if (writeOffset + HEADER_SIZE + bodyLength > segmentSize) {
+            segments.add(newSegment(firstSegment + segments.size()));
+            writeOffset = 0;
+        }
+
+        int segmentIndex = firstSegment + segments.size() - 1;
+        MappedByteBuffer segment = segments.get(segments.size() - 1);
+        int bodyOffset = writeOffset + HEADER_SIZE;
+        segment.put(bodyOffset, type);
+        segment.putShort(bodyOffset + 1, (short) keyBytes.length);
+        segment.put(bodyOffset + 3, keyBytes);
+        segment.put(bodyOffset + 3 + keyBytes.length, payload);
+
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(bodyOffset, bodyLength));
+        segment.putInt(writeOffset + 4, (int) crc.getValue());
+        // La longueur est écrite en dernier : l'enregistrement n'existe qu'une fois complet
+        segment.putInt(writeOffset, bodyLength);
+
+        long position = ((long) segmentIndex << 32) | writeOffset;
+        writeOffset += HEADER_SIZE + bodyLength;
+        return position;
+    }
+
+    synchronized Entry read(long position) {
+        int segmentIndex = segmentOf(position);
+        if (segmentIndex < firstSegment) {
+            throw new IllegalStateException("Segment supprimé par le compactage: " + segmentIndex);
+        }
+        Entry entry = readAt(segments.get(segmentIndex - firstSegment), segmentIndex, (int) position);
+        if (entry == null) {
+            throw new IllegalStateException("Enregistrement illisible à la position " + position);
+        }
+        return entry;
+    }
+
+    /**
+     * Force l'écriture sur disque des pages modifiées depuis le dernier appel, y compris
+     * la fin des segments remplis entre-temps
+     */
+    synchronized void force() {
+        for (int index = firstUnforced; index < segments.size(); index++) {
+            segments.get(index).force();
+        }
+        firstUnforced = Math.max(0, segments.size() - 1);
+    }
+
+    /**
+     * Termine le segment courant s'il contient des données et retourne le numéro du
+     * segment qui recevra les prochains ajouts
+     */
+    synchronized int roll() {
+        if (writeOffset > 0) {
+            segments.add(newSegment(firstSegment + segments.size()));
+            writeOffset = 0;
+        }
+        return firstSegment + segments.size() - 1;
+    }
+
+    /**
+     * Supprime les segments de numéro inférieur à "segment", après avoir forcé sur disque
+     * les suivants. Les projections retirées sont libérées par le ramasse-miettes ; une
+     * lecture encore en cours garde la sienne (le fichier supprimé reste lisible).
+     */
+    synchronized void dropBefore(int segment) {
+        force();
+        int dropped = Math.min(segment - firstSegment, segments.size() - 1);
+        for (int i = 0; i < dropped; i++) {
+            Path file = segmentFile(firstSegment);
+            segments.remove(0);
+            firstSegment++;
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Suppression impossible du segment " + file, e);
+            }
+        }
+        firstUnforced = Math.max(0, firstUnforced - dropped);
+    }
+
+    static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    /**
+     * Segments ayant des écritures pas encore forcées (le segment courant compris)
+     */
+    synchronized int unforcedSegmentCount() {
+        return segments.size() - firstUnforced;
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    private Entry readAt(MappedByteBuffer segment, int segmentIndex, int offset) {
+        if (offset + HEADER_SIZE > segment.capacity()) {
+            return null;
+        }
+        int bodyLength = segment.getInt(offset);
+        if (bodyLength <= 0 || offset + HEADER_SIZE + bodyLength > segment.capacity()) {
+            return null;
+        }
+
+        int bodyOffset = offset + HEADER_SIZE;
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(bodyOffset, bodyLength));
+        if ((int) crc.getValue() != segment.getInt(offset + 4)) {
+            log.warn("Enregistrement corrompu dans le segment {} à l'offset {}, fin de lecture du segment", segmentIndex, offset);
+            return null;
+        }
+
+        byte type = segment.get(bodyOffset);
+        byte[] keyBytes = new byte[segment.getShort(bodyOffset + 1)];
+        segment.get(bodyOffset + 3, keyBytes);
+        int payloadOffset = bodyOffset + 3 + keyBytes.length;
+        ByteBuffer payload = segment.slice(payloadOffset, bodyOffset + bodyLength - payloadOffset).asReadOnlyBuffer();
+        return new Entry(((long) segmentIndex << 32) | offset, type, new String(keyBytes, StandardCharsets.UTF_8), payload);
+    }
+
+    private MappedByteBuffer newSegment(int number) {
+        return map(segmentFile(number), segmentSize);
+    }
+
+    private Path segmentFile(int number) {
+        return directory.resolve("segment-%08d.log".formatted(number));
+    }
+
+    private static int numberOf(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring("segment-".length(), name.length() - ".log".length()));
+    }
+
+    private static MappedByteBuffer map(Path file, int size) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Projection impossible du segment " + file, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package pheninux.xdev.thecardgame.lifecycle;
+
+import org.springframework.stereotype.Component;
+import pheninux.xdev.thecardgame.dto.GameRecording;
+import pheninux.xdev.thecardgame.journal.GameRecordingCodec;
+import pheninux.xdev.thecardgame.model.ArchivedGame;
+import pheninux.xdev.thecardgame.repository.ArchivedGameRepository;
+import pheninux.xdev.thecardgame.service.GameArchive;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * Historiques conservés dans les lignes ArchivedGame ; une partie abandonnée n'est
+ * pas rejouable (l'historique révèle les mains de tous les joueurs)
+ */
+@Component
+public class ArchivedGameRecordings implements GameArchive {
+
+    private final ArchivedGameRepository archiveRepository;
+
+    public ArchivedGameRecordings(ArchivedGameRepository archiveRepository) {
+        this.archiveRepository = archiveRepository;
+    }
+
+    @Override
+    public Optional<GameRecording> recording(String gameId) {
+        return archiveRepository.findById(gameId)
+                .filter(archived -> archived.getOutcome() == ArchivedGame.Outcome.FINISHED && archived.getRecording() != null)
+                .map(archived -> GameRecordingCodec.decode(gameId, ByteBuffer.wrap(archived.getRecording())));
+    }
+}
@@ -0,0 +1,264 @@
+package pheninux.xdev.thecardgame.lifecycle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pheninux.xdev.thecardgame.cache.GameViewCache;
+import pheninux.xdev.thecardgame.chat.ChatService;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameLifecycleDTO;
+import pheninux.xdev.thecardgame.event.GameCreatedEvent;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.journal.GameRecordingCodec;
+import pheninux.xdev.thecardgame.journal.GameSnapshotCodec;
+import pheninux.xdev.thecardgame.lobby.LobbyService;
+import pheninux.xdev.thecardgame.model.ArchivedGame;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.presence.GameResumeService;
+import pheninux.xdev.thecardgame.repository.ArchivedGameRepository;
+import pheninux.xdev.thecardgame.service.GameCommandExecutor;
+import pheninux.xdev.thecardgame.service.GamePersistence;
+import pheninux.xdev.thecardgame.service.GameStore;
+import pheninux.xdev.thecardgame.spectator.SpectatorService;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Cycle de vie des parties de ce nœud, d'après la date de leur dernière action.
+ * Un balayage périodique :
+ * <ul>
+ *     <li>archive les parties terminées depuis "finished-ttl" (une ligne ArchivedGame,
+ *     historique de rejeu compris) et supprime leur sauvegarde ;</li>
+ *     <li>supprime les tables jamais démarrées inactives depuis "idle-ttl" ;</li>
+ *     <li>décharge de la mémoire les parties en cours inactives depuis "idle-ttl",
+ *     puis archive comme abandonnées celles qui restent sans action "abandoned-ttl" ;</li>
+ *     <li>au-delà de "max-live-games", décharge les parties non terminées les moins
+ *     récemment actives.</li>
+ * </ul>
+ * Chaque opération passe par la file de commandes de la partie et est annulée si
+ * une action est survenue depuis le balayage.
+ */
+@Service
+@Slf4j
+public class GameLifecycleManager {
+
+    private final GameStore gameStore;
+    private final GamePersistence gamePersistence;
+    private final GameCommandExecutor commandExecutor;
+    private final ArchivedGameRepository archiveRepository;
+    private final LobbyService lobbyService;
+    private final GameResumeService resumeService;
+    private final ChatService chatService;
+    private final GameViewCache viewCache;
+    private final SpectatorService spectatorService;
+    private final GameProperties.Lifecycle settings;
+
+    // Dernière action (ms) des parties locales connues, en mémoire ou déchargées
+    private final Map<String, Long> lastActivity = new ConcurrentHashMap<>();
+    // Boîtes aux lettres des parties retirées, libérées au balayage suivant
+    private final Set<String> pendingRelease = ConcurrentHashMap.newKeySet();
+    private final AtomicLong archivedCount = new AtomicLong();
+    private volatile int idleCount;
+
+    public GameLifecycleManager(GameStore gameStore,
+                                GamePersistence gamePersistence,
+                                GameCommandExecutor commandExecutor,
+                                ArchivedGameRepository archiveRepository,
+                                LobbyService lobbyService,
+                                GameResumeService resumeService,
+                                ChatService chatService,
+                                GameViewCache viewCache,
+                                SpectatorService spectatorService,
+                                GameProperties properties) {
+        this.gameStore = gameStore;
+        this.gamePersistence = gamePersistence;
+        this.commandExecutor = commandExecutor;
+        this.archiveRepository = archiveRepository;
+        this.lobbyService = lobbyService;
+        this.resumeService = resumeService;
+        this.chatService = chatService;
+        this.viewCache = viewCache;
+        this.spectatorService = spectatorService;
+        this.settings = properties.getLifecycle();
+        this.archivedCount.set(archiveRepository.count());
+    }
+
+    @EventListener
+    public void onGameCreated(GameCreatedEvent event) {
+        lastActivity.put(event.game().getId(), System.currentTimeMillis());
+    }
+
+    /**
+     * Toute commande appliquée, sur le thread de la partie
+     */
+    @EventListener
+    public void onGameUpdated(GameUpdatedEvent event) {
+        lastActivity.put(event.game().getId(), System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${game.lifecycle.sweep-interval:30s}")
+    public void scheduledSweep() {
+        sweep(System.currentTimeMillis());
+    }
+
+    /**
+     * Planifie les opérations dues à l'instant "now" ; le résultat est terminé
+     * lorsque toutes ont été exécutées
+     */
+    public CompletableFuture<Void> sweep(long now) {
+        pendingRelease.removeIf(gameId -> {
+            commandExecutor.release(gameId);
+            return true;
+        });
+
+        List<CompletableFuture<Void>> operations = new ArrayList<>();
+        List<Map.Entry<String, Long>> evictable = new ArrayList<>();
+        int idle = 0;
+
+        // Lecture sans verrou des indicateurs : la décision est revérifiée dans la file de la partie
+        for (Game game : gameStore.liveGames()) {
+            String gameId = game.getId();
+            long last = lastActivity.computeIfAbsent(gameId, id -> now);
+            long inactive = now - last;
+            if (inactive >= settings.getSweepInterval().toMillis()) {
+                idle++;
+            }
+
+            if (isDue(game, inactive)) {
+                operations.add(expire(gameId, last, now, false));
+            } else if (!game.isGameFinished()) {
+                evictable.add(Map.entry(gameId, last));
+            }
+        }
+
+        int excess = gameStore.size() - operations.size() - settings.getMaxLiveGames();
+        if (excess > 0) {
+            evictable.sort(Map.Entry.comparingByValue());
+            for (Map.Entry<String, Long> entry : evictable.subList(0, Math.min(excess, evictable.size()))) {
+                operations.add(expire(entry.getKey(), entry.getValue(), now, true));
+            }
+        }
+
+        for (Map.Entry<String, Long> entry : lastActivity.entrySet()) {
+            if (gameStore.peek(entry.getKey()).isEmpty()
+                    && now - entry.getValue() >= settings.getAbandonedTtl().toMillis()) {
+                operations.add(expire(entry.getKey(), entry.getValue(), now, false));
+            }
+        }
+
+        idleCount = idle;
+        return CompletableFuture.allOf(operations.toArray(CompletableFuture[]::new));
+    }
+
+    public GameLifecycleDTO stats() {
+        return new GameLifecycleDTO(gameStore.size(), idleCount, unloadedCount(), archivedCount.get());
+    }
+
+    public int idleCount() {
+        return idleCount;
+    }
+
+    /**
+     * Parties suivies absentes de la mémoire (approché : sans parcours)
+     */
+    public int unloadedCount() {
+        return Math.max(0, lastActivity.size() - gameStore.size());
+    }
+
+    public long archivedCount() {
+        return archivedCount.get();
+    }
+
+    public Optional<ArchivedGame> findArchived(String gameId) {
+        return archiveRepository.findById(gameId);
+    }
+
+    private boolean isDue(Game game, long inactive) {
+        if (game.isGameFinished()) {
+            return inactive >= settings.getFinishedTtl().toMillis();
+        }
+        return inactive >= settings.getIdleTtl().toMillis();
+    }
+
+    private CompletableFuture<Void> expire(String gameId, long observed, long now, boolean force) {
+        return commandExecutor.<Void>submit(gameId, () -> {
+            Long last = lastActivity.get(gameId);
+            if (last != null && last == observed) {
+                apply(gameId, now - last, force);
+            }
+            return null;
+        }).whenComplete((result, error) -> {
+            pendingRelease.add(gameId);
+            if (error != null) {
+                log.error("Échec du retrait de la partie {}", gameId, error);
+            }
+        });
+    }
+
+    /**
+     * Exécuté dans la file de la partie : aucune commande ne peut s'intercaler
+     */
+    private void apply(String gameId, long inactive, boolean force) {
+        Optional<Game> live = gameStore.peek(gameId);
+        if (live.isEmpty()) {
+            // Partie déchargée restée sans action : archivée comme abandonnée
+            gamePersistence.load(gameId).ifPresentOrElse(this::retire, () -> lastActivity.remove(gameId));
+            return;
+        }
+
+        Game game = live.get();
+        boolean abandoned = inactive >= settings.getAbandonedTtl().toMillis();
+        if (game.isGameFinished() || abandoned || (!game.isGameStarted() && !force)) {
+            retire(game);
+        } else if (force || inactive >= settings.getIdleTtl().toMillis()) {
+            gamePersistence.unloading(game);
+            gameStore.evict(gameId);
+            resumeService.forget(gameId);
+        }
+    }
+
+    /**
+     * Retire définitivement une partie ; une table jamais démarrée n'est pas archivée
+     */
+    private void retire(Game game) {
+        String gameId = game.getId();
+        lobbyService.remove(gameId);
+        if (game.isGameStarted()) {
+            // L'historique est archivé avant la suppression de la sauvegarde qui le porte
+            ArchivedGame archived = toArchive(game);
+            gamePersistence.recording(gameId).ifPresent(recording -> archived.setRecording(GameRecordingCodec.encode(recording)));
+            archiveRepository.save(archived);
+            archivedCount.incrementAndGet();
+        }
+        gamePersistence.remove(gameId);
+        gameStore.evict(gameId);
+        resumeService.forget(gameId);
+        chatService.forget(gameId);
+        viewCache.forget(gameId);
+        spectatorService.forget(gameId);
+        lastActivity.remove(gameId);
+    }
+
+    private static ArchivedGame toArchive(Game game) {
+        ArchivedGame archived = new ArchivedGame();
+        archived.setId(game.getId());
+        archived.setOutcome(game.isGameFinished() ? ArchivedGame.Outcome.FINISHED : ArchivedGame.Outcome.ABANDONED);
+        archived.setWinnerId(game.getWinnerId());
+        archived.setTurnCounter(game.getTurnCounter());
+        archived.setPlayerIds(game.getPlayers().stream().map(Player::getId).collect(Collectors.joining(",")));
+        archived.setArchivedAt(Instant.now());
+        archived.setSnapshot(GameSnapshotCodec.encode(game));
+        return archived;
+    }
+}
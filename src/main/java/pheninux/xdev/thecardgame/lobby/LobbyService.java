@@ -0,0 +1,141 @@
+package pheninux.xdev.thecardgame.lobby;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.LobbyTableDTO;
+import pheninux.xdev.thecardgame.dto.LobbyUpdateDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.dto.QuickJoinDTO;
+import pheninux.xdev.thecardgame.event.GameCreatedEvent;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.service.GameCommandDispatcher;
+import pheninux.xdev.thecardgame.service.GameService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Salon : liste des tables ouvertes de ce nœud, entrée rapide dans la table la plus
+ * remplie, démarrage automatique des tables complètes, et diffusion des changements
+ * regroupés sur /topic/lobby. L'index est tenu à jour par les événements de partie :
+ * aucune requête sur la table "game".
+ */
+@Service
+public class LobbyService {
+
+    private final GameService gameService;
+    private final GameCommandDispatcher commandDispatcher;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final OpenGameIndex index = new OpenGameIndex(GameService.MAX_PLAYERS);
+
+    public LobbyService(GameService gameService,
+                        GameCommandDispatcher commandDispatcher,
+                        SimpMessagingTemplate messagingTemplate) {
+        this.gameService = gameService;
+        this.commandDispatcher = commandDispatcher;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Place le joueur dans la table ouverte la plus remplie, ou crée une table
+     */
+    public CompletableFuture<QuickJoinDTO> quickJoin(PlayerDTO player) {
+        OpenGameIndex.Seat seat = index.reserve(player.getId(), gameService::newLocalGameId);
+        if (seat.created()) {
+            try {
+                GameDTO request = new GameDTO();
+                request.setId(seat.gameId());
+                request.setCreatorId(player.getId());
+                request.setCreatorName(player.getName());
+                gameService.createGame(request);
+                seat.ready().complete(null);
+            } catch (RuntimeException e) {
+                index.close(seat.gameId());
+                seat.ready().completeExceptionally(e);
+                return CompletableFuture.failedFuture(e);
+            }
+            return CompletableFuture.completedFuture(new QuickJoinDTO(seat.gameId(), true));
+        }
+
+        GameCommandDTO join = new GameCommandDTO(seat.gameId(), GameCommandType.JOIN, player.getId(), player.getName(), 0, null);
+        return seat.ready()
+                .thenCompose(ready -> commandDispatcher.dispatch(join))
+                .handle((game, error) -> {
+                    if (error != null) {
+                        index.release(seat.gameId(), player.getId());
+                        throw error instanceof RuntimeException runtime ? runtime : new IllegalStateException(error);
+                    }
+                    return new QuickJoinDTO(seat.gameId(), false);
+                });
+    }
+
+    public List<LobbyTableDTO> openTables(int limit) {
+        return index.openTables(limit);
+    }
+
+    @EventListener
+    public void onGameCreated(GameCreatedEvent event) {
+        Game game = event.game();
+        if (game.getTournamentId() != null) {
+            return;
+        }
+        index.open(game.getId(), game.getPlayers().size());
+    }
+
+    /**
+     * Arrivées et démarrages (changements structurels), sur le thread de la partie
+     */
+    @EventListener
+    public void onGameUpdated(GameUpdatedEvent event) {
+        if (!event.changes().structural()) {
+            return;
+        }
+        Game game = event.game();
+        if (game.getTournamentId() != null) {
+            // Tables de tournoi : hors salon, démarrées par le tournoi
+            return;
+        }
+        if (game.isGameStarted() || game.isGameFinished()) {
+            index.close(game.getId());
+            return;
+        }
+
+        List<String> playerIds = new ArrayList<>(game.getPlayers().size());
+        String creatorId = null;
+        for (Player player : game.getPlayers()) {
+            playerIds.add(player.getId());
+            if (player.isCreator()) {
+                creatorId = player.getId();
+            }
+        }
+        index.update(game.getId(), playerIds);
+
+        // Table complète : démarrage au nom du créateur, après les commandes déjà en file
+        if (playerIds.size() >= GameService.MAX_PLAYERS && creatorId != null) {
+            commandDispatcher.dispatch(new GameCommandDTO(game.getId(), GameCommandType.START, creatorId, null, 0, null));
+        }
+    }
+
+    /**
+     * Retire une partie du salon (partie supprimée de la mémoire)
+     */
+    public void remove(String gameId) {
+        index.close(gameId);
+    }
+
+    @Scheduled(fixedDelayString = "${game.lobby.publish-interval:100ms}")
+    public void publishChanges() {
+        List<LobbyTableDTO> changes = index.drainChanges();
+        if (!changes.isEmpty()) {
+            messagingTemplate.convertAndSend("/topic/lobby", new LobbyUpdateDTO(changes));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package pheninux.xdev.thecardgame.lobby;
+
+import pheninux.xdev.thecardgame.dto.LobbyTableDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+
+/**
+ * Index des tables ouvertes (non démarrées, places libres), triées de la plus remplie
+ * à la moins remplie puis par ancienneté. Les places réservées par une entrée rapide
+ * en cours comptent comme occupées, de sorte que deux joueurs ne visent jamais la
+ * même dernière place. Toutes les modifications sont en O(log n) ; la liste des
+ * tables se lit sans verrou.
+ */
+public class OpenGameIndex {
+
+    /**
+     * Clé de tri ; "players" ne participe pas à l'ordre
+     */
+    record Key(int seats, long order, String gameId, int players) {
+    }
+
+    private static final Comparator<Key> FULLEST_FIRST = Comparator.comparingInt(Key::seats).reversed()
+            .thenComparingLong(Key::order)
+            .thenComparing(Key::gameId);
+
+    /**
+     * Place réservée : "ready" est complété quand la partie existe (immédiatement,
+     * sauf pour une table que l'entrée rapide d'un autre joueur est en train de créer)
+     */
+    public record Seat(String gameId, boolean created, CompletableFuture<Void> ready) {
+    }
+
+    private final int tableSize;
+    private final ConcurrentSkipListSet<Key> openTables = new ConcurrentSkipListSet<>(FULLEST_FIRST);
+    private final Map<String, Table> tables = new HashMap<>();
+    private Map<String, LobbyTableDTO> changes = new LinkedHashMap<>();
+    private long nextOrder;
+
+    public OpenGameIndex(int tableSize) {
+        this.tableSize = tableSize;
+    }
+
+    /**
+     * Enregistre une partie non démarrée (ou met à jour son nombre de joueurs)
+     */
+    public synchronized void open(String gameId, int players) {
+        Table table = tables.computeIfAbsent(gameId, id -> new Table(id, nextOrder++, CompletableFuture.completedFuture(null)));
+        table.players = players;
+        reindex(table);
+    }
+
+    /**
+     * Nombre de joueurs après une arrivée ; les joueurs présents libèrent leur réservation
+     */
+    public synchronized void update(String gameId, Collection<String> playerIds) {
+        Table table = tables.get(gameId);
+        if (table == null) {
+            open(gameId, playerIds.size());
+            return;
+        }
+        table.players = playerIds.size();
+        table.reserved.removeAll(playerIds);
+        reindex(table);
+    }
+
+    /**
+     * Retire une table démarrée, terminée ou supprimée
+     */
+    public synchronized void close(String gameId) {
+        Table table = tables.remove(gameId);
+        if (table != null) {
+            if (table.key != null) {
+                openTables.remove(table.key);
+            }
+            changes.put(gameId, new LobbyTableDTO(gameId, table.players, false));
+        }
+    }
+
+    /**
+     * Réserve une place dans la table ouverte la plus remplie ; sans table ouverte, en
+     * ouvre une nouvelle dont le joueur sera le créateur
+     */
+    public synchronized Seat reserve(String playerId, Supplier<String> newGameId) {
+        if (openTables.isEmpty()) {
+            Table table = new Table(newGameId.get(), nextOrder++, new CompletableFuture<>());
+            table.players = 1;
+            tables.put(table.gameId, table);
+            reindex(table);
+            return new Seat(table.gameId, true, table.ready);
+        }
+        Table table = tables.get(openTables.first().gameId());
+        table.reserved.add(playerId);
+        reindex(table);
+        return new Seat(table.gameId, false, table.ready);
+    }
+
+    /**
+     * Annule une réservation (arrivée refusée)
+     */
+    public synchronized void release(String gameId, String playerId) {
+        Table table = tables.get(gameId);
+        if (table != null && table.reserved.remove(playerId)) {
+            reindex(table);
+        }
+    }
+
+    /**
+     * Tables ouvertes, les plus remplies d'abord
+     */
+    public List<LobbyTableDTO> openTables(int limit) {
+        List<LobbyTableDTO> result = new ArrayList<>(Math.min(limit, 64));
+        for (Key key : openTables) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(new LobbyTableDTO(key.gameId(), key.players(), true));
+        }
+        return result;
+    }
+
+    public int openCount() {
+        return openTables.size();
+    }
+
+    /**
+     * Dernier état de chaque table modifiée depuis l'appel précédent
+     */
+    public synchronized List<LobbyTableDTO> drainChanges() {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+        List<LobbyTableDTO> drained = new ArrayList<>(changes.values());
+        changes = new LinkedHashMap<>();
+        return drained;
+    }
+
+    private void reindex(Table table) {
+        if (table.key != null) {
+            openTables.remove(table.key);
+        }
+        int seats = table.players + table.reserved.size();
+        table.key = seats < tableSize ? new Key(seats, table.order, table.gameId, table.players) : null;
+        if (table.key != null) {
+            openTables.add(table.key);
+        }
+        changes.put(table.gameId, new LobbyTableDTO(table.gameId, table.players, table.players < tableSize));
+    }
+
+    private static final class Table {
+
+        private final String gameId;
+        private final long order;
+        private final CompletableFuture<Void> ready;
+        private final Set<String> reserved = new HashSet<>();
+        private int players;
+        private Key key;
+
+        Table(String gameId, long order, CompletableFuture<Void> ready) {
+            this.gameId = gameId;
+            this.order = order;
+            this.ready = ready;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package pheninux.xdev.thecardgame.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import pheninux.xdev.thecardgame.cache.GameViewCache;
+import pheninux.xdev.thecardgame.lifecycle.GameLifecycleManager;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.presence.PresenceTracker;
+import pheninux.xdev.thecardgame.service.GameStore;
+import pheninux.xdev.thecardgame.spectator.SpectatorService;
+
+/**
+ * Jauges lues à chaque collecte : parties en mémoire, en cours, inactives et
+ * archivées, joueurs des parties en cours, sessions et abonnements STOMP. Lecture sans verrou : une valeur
+ * approchée suffit.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameGauges implements MeterBinder {
+
+    private final GameStore gameStore;
+    private final StompMetricsInterceptor stompMetrics;
+    private final GameLifecycleManager lifecycleManager;
+    private final PresenceTracker presenceTracker;
+    private final GameViewCache viewCache;
+    private final SpectatorService spectatorService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("game.games.live", gameStore, GameStore::size)
+                .description("Parties en mémoire sur ce nœud")
+                .register(registry);
+        Gauge.builder("game.games.active", this, gauges -> gauges.activeGames(false))
+                .description("Parties démarrées et non terminées")
+                .register(registry);
+        Gauge.builder("game.games.idle", lifecycleManager, GameLifecycleManager::idleCount)
+                .description("Parties en mémoire sans action depuis un intervalle de balayage")
+                .register(registry);
+        Gauge.builder("game.games.unloaded", lifecycleManager, GameLifecycleManager::unloadedCount)
+                .description("Parties déchargées de la mémoire, toujours sauvegardées")
+                .register(registry);
+        Gauge.builder("game.games.archived", lifecycleManager, GameLifecycleManager::archivedCount)
+                .register(registry);
+        Gauge.builder("game.players.active", this, gauges -> gauges.activeGames(true))
+                .description("Joueurs des parties en cours")
+                .register(registry);
+        Gauge.builder("game.players.online", presenceTracker, PresenceTracker::seatedCount)
+                .description("Sessions STOMP associées à un joueur d'une partie")
+                .register(registry);
+        Gauge.builder("game.spectators", spectatorService, SpectatorService::spectatorCount)
+                .description("Abonnements spectateurs sur ce nœud")
+                .register(registry);
+        Gauge.builder("game.views.cached", viewCache, GameViewCache::size)
+                .description("Parties dont les vues REST sont en cache")
+                .register(registry);
+        Gauge.builder("game.stomp.sessions", stompMetrics, StompMetricsInterceptor::sessionCount)
+                .register(registry);
+        Gauge.builder("game.stomp.subscriptions", stompMetrics, StompMetricsInterceptor::subscriptionCount)
+                .register(registry);
+    }
+
+    private double activeGames(boolean countPlayers) {
+        long count = 0;
+        for (Game game : gameStore.liveGames()) {
+            if (game.isGameStarted() && !game.isGameFinished()) {
+                count += countPlayers ? game.getPlayers().size() : 1;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,114 @@
+package pheninux.xdev.thecardgame.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesures des commandes de jeu et des diffusions :
+ * <ul>
+ *   <li>game.command.duration{command, phase} : attente dans la file de la partie,
+ *       chargement, règles, sauvegarde et diffusion de chaque commande</li>
+ *   <li>game.command.rejected{command, reason} : actions refusées par motif</li>
+ *   <li>game.broadcast.flush : envoi d'une fenêtre de diffusion regroupée</li>
+ *   <li>game.broadcast.frame.size{format} : taille des trames envoyées aux clients</li>
+ * </ul>
+ * Les compteurs de parties, joueurs et abonnements sont des jauges (GameGauges).
+ */
+@Component
+public class GameMetrics {
+
+    public enum Phase {
+        QUEUE, LOAD, RULES, PERSIST, BROADCAST
+    }
+
+    private final MeterRegistry registry;
+    // Index [commande][phase] : pas de recherche par tags sur le chemin critique
+    private final Timer[][] commandTimers;
+    private final Timer flushTimer;
+    private final DistributionSummary jsonFrames;
+    private final DistributionSummary cborFrames;
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        GameCommandType[] commands = GameCommandType.values();
+        Phase[] phases = Phase.values();
+        this.commandTimers = new Timer[commands.length][phases.length];
+        for (GameCommandType command : commands) {
+            for (Phase phase : phases) {
+                commandTimers[command.ordinal()][phase.ordinal()] = Timer.builder("game.command.duration")
+                        .tag("command", tagOf(command))
+                        .tag("phase", phase.name().toLowerCase())
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+        }
+        this.flushTimer = Timer.builder("game.broadcast.flush").register(registry);
+        this.jsonFrames = frameSize("json");
+        this.cborFrames = frameSize("cbor");
+    }
+
+    /**
+     * Instance sans registre (simulations, benchmarks)
+     */
+    public static GameMetrics disabled() {
+        return new GameMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * Enregistre la phase écoulée depuis "since" et retourne l'instant de fin,
+     * début de la phase suivante
+     */
+    public long record(GameCommandType command, Phase phase, long since) {
+        long now = System.nanoTime();
+        commandTimers[command.ordinal()][phase.ordinal()].record(now - since, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void rejected(GameCommandType command, Throwable error) {
+        Counter.builder("game.command.rejected")
+                .tag("command", tagOf(command))
+                .tag("reason", reasonOf(error))
+                .register(registry)
+                .increment();
+    }
+
+    public void broadcastFlushed(long nanos) {
+        flushTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void frameSent(boolean binary, int bytes) {
+        (binary ? cborFrames : jsonFrames).record(bytes);
+    }
+
+    private DistributionSummary frameSize(String format) {
+        return DistributionSummary.builder("game.broadcast.frame.size")
+                .baseUnit("bytes")
+                .tag("format", format)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static String tagOf(GameCommandType command) {
+        return command.name().toLowerCase().replace('_', '-');
+    }
+
+    /**
+     * Motif sans la partie variable ("Partie non trouvée: abc" -> "Partie non trouvée")
+     * pour garder un nombre de séries borné
+     */
+    static String reasonOf(Throwable error) {
+        String message = error.getMessage();
+        if (message == null || message.isBlank()) {
+            return error.getClass().getSimpleName();
+        }
+        int separator = message.indexOf(':');
+        return (separator > 0 ? message.substring(0, separator) : message).trim();
+    }
+}
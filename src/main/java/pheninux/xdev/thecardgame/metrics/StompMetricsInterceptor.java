@@ -0,0 +1,97 @@
+package pheninux.xdev.thecardgame.metrics;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import pheninux.xdev.thecardgame.wire.WireFormat;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suit les sessions et abonnements STOMP ({@link #inbound()}) et la taille des trames
+ * envoyées ({@link #outbound()}, après conversion éventuelle en CBOR). Les commandes
+ * reçues des clients ne comptent pas dans la taille des trames diffusées.
+ */
+@Component
+public class StompMetricsInterceptor {
+
+    private final GameMetrics gameMetrics;
+    private final Map<String, Set<String>> subscriptionsBySession = new ConcurrentHashMap<>();
+
+    private final ChannelInterceptor inbound = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            MessageHeaders headers = message.getHeaders();
+            SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(headers);
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+            if (type == null || sessionId == null) {
+                return message;
+            }
+
+            switch (type) {
+                case CONNECT -> subscriptionsBySession.putIfAbsent(sessionId, ConcurrentHashMap.newKeySet());
+                case SUBSCRIBE -> subscriptionsBySession.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet())
+                        .add(SimpMessageHeaderAccessor.getSubscriptionId(headers));
+                case UNSUBSCRIBE -> {
+                    Set<String> subscriptions = subscriptionsBySession.get(sessionId);
+                    if (subscriptions != null) {
+                        subscriptions.remove(SimpMessageHeaderAccessor.getSubscriptionId(headers));
+                    }
+                }
+                case DISCONNECT -> subscriptionsBySession.remove(sessionId);
+                default -> {
+                }
+            }
+            return message;
+        }
+    };
+
+    private final ChannelInterceptor outbound = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            MessageHeaders headers = message.getHeaders();
+            if (SimpMessageHeaderAccessor.getMessageType(headers) == SimpMessageType.MESSAGE
+                    && message.getPayload() instanceof byte[] payload) {
+                boolean binary = "cbor".equals(SimpMessageHeaderAccessor.getFirstNativeHeader(WireFormat.HEADER, headers));
+                gameMetrics.frameSent(binary, payload.length);
+            }
+            return message;
+        }
+    };
+
+    public StompMetricsInterceptor(GameMetrics gameMetrics) {
+        this.gameMetrics = gameMetrics;
+    }
+
+    /**
+     * Intercepteur du canal entrant : sessions et abonnements
+     */
+    public ChannelInterceptor inbound() {
+        return inbound;
+    }
+
+    /**
+     * Intercepteur du canal sortant : taille des trames envoyées
+     */
+    public ChannelInterceptor outbound() {
+        return outbound;
+    }
+
+    public int sessionCount() {
+        return subscriptionsBySession.size();
+    }
+
+    public int subscriptionCount() {
+        int count = 0;
+        for (Set<String> subscriptions : subscriptionsBySession.values()) {
+            count += subscriptions.size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,41 @@
+package pheninux.xdev.thecardgame.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Partie retirée du jeu, réduite à une ligne : résumé consultable, état final
+ * encodé (GameSnapshotCodec) et historique pour le rejeu (GameRecordingCodec),
+ * sans tables de cartes ni de joueurs
+ */
+@Entity
+@Data
+public class ArchivedGame {
+    @Id
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    private Outcome outcome;
+
+    private String winnerId;
+    private int turnCounter;
+
+    // Identifiants des joueurs dans l'ordre des sièges, séparés par des virgules
+    private String playerIds;
+
+    private Instant archivedAt;
+
+    @Lob
+    private byte[] snapshot;
+
+    // Vide si la partie a été sauvegardée sans historique
+    @Lob
+    private byte[] recording;
+
+    public enum Outcome {
+        FINISHED,
+        ABANDONED
+    }
+}
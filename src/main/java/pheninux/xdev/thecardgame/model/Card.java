@@ -1,9 +1,10 @@
 package pheninux.xdev.thecardgame.model;
 
-import jakarta.persistence.Embeddable;
 import lombok.Data;
 
-@Embeddable
+/**
+ * Carte du jeu ; stockée compactée par CardListConverter
+ */
 @Data
 public class Card {
     private String color;
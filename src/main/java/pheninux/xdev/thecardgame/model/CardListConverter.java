@@ -0,0 +1,43 @@
+package pheninux.xdev.thecardgame.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import pheninux.xdev.thecardgame.engine.CardCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pile de cartes stockée dans une seule colonne : un octet par carte (face CardCodec),
+ * dans l'ordre de la liste. Remplace les tables de collection (une ligne par carte).
+ */
+@Converter
+public class CardListConverter implements AttributeConverter<List<Card>, byte[]> {
+
+    // Taille de colonne : une pile ne dépasse jamais le paquet complet (CardCodec.DECK_SIZE,
+    // qui n'est pas une constante de compilation utilisable dans @Column)
+    public static final int COLUMN_LENGTH = 64;
+
+    @Override
+    public byte[] convertToDatabaseColumn(List<Card> cards) {
+        if (cards == null) {
+            return new byte[0];
+        }
+        byte[] packed = new byte[cards.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = (byte) CardCodec.faceOf(cards.get(i));
+        }
+        return packed;
+    }
+
+    @Override
+    public List<Card> convertToEntityAttribute(byte[] packed) {
+        List<Card> cards = new ArrayList<>(packed != null ? packed.length : 0);
+        if (packed != null) {
+            for (byte card : packed) {
+                cards.add(CardCodec.toCard(card));
+            }
+        }
+        return cards;
+    }
+}
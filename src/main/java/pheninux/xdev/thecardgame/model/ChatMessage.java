@@ -7,6 +7,11 @@ public class ChatMessage {
     private String senderId;
     private String senderName;
     private String content;
+
+    // Attribués par le serveur (ChatService) : heure de réception ISO-8601 et numéro
+    // croissant par partie ; les valeurs envoyées par le client sont ignorées
     private String timestamp;
+    private long sequence;
+
     private boolean isSystem;
 }
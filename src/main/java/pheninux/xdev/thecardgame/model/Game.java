@@ -12,15 +12,25 @@ public class Game {
     @Id
     private String id;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    // Verrou optimiste : null tant que la partie n'a jamais été sauvegardée
+    @Version
+    private Long version;
+
+    // Joueurs dans l'ordre des places, chargés avec la partie en une seule jointure.
+    // La clé et la place sont écrites par Player (gameId, seat) : la liste en mémoire
+    // n'étant pas une collection Hibernate, une fusion réécrirait sinon chaque ligne
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @JoinColumn(name = "game_id", insertable = false, updatable = false)
+    @OrderBy("seat")
     private List<Player> players = new ArrayList<>();
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "game_deck", joinColumns = @JoinColumn(name = "game_id"))
+    // Piles compactées : une colonne d'un octet par carte (voir CardListConverter)
+    @Convert(converter = CardListConverter.class)
+    @Column(length = CardListConverter.COLUMN_LENGTH)
     private List<Card> deck = new ArrayList<>();
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "game_center_cards", joinColumns = @JoinColumn(name = "game_id"))
+    @Convert(converter = CardListConverter.class)
+    @Column(length = CardListConverter.COLUMN_LENGTH)
     private List<Card> centerCards = new ArrayList<>();
 
     private int currentPlayerIndex;
@@ -30,6 +40,25 @@ public class Game {
     private boolean gameStarted;
     private boolean gameFinished;
 
+    // Cartes retirées du centre lorsqu'il dépasse 4 cartes (sorties du jeu)
+    private int discardCount;
+
+    // Numéro du dernier événement diffusé (voir GameEvent)
+    private long eventSequence;
+
+    // Graine des mélanges : avec les commandes jouées, elle suffit à reconstituer la partie
+    private long seed;
+
+    // Nombre de mélanges effectués (chaque mélange utilise un flux dérivé de la graine)
+    private int shuffleCount;
+
+    // Échéance du tour en cours (epoch ms, 0 : aucune), posée par TurnTimerService ; non sauvegardée
+    @Transient
+    private volatile long turnDeadline;
+
+    // Tournoi auquel appartient la table (null : partie libre, listée au salon)
+    private String tournamentId;
+
     // Champ manquant qui a causé l'erreur
     private String winnerId;
 
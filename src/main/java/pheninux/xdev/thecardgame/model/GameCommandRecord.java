@@ -0,0 +1,37 @@
+package pheninux.xdev.thecardgame.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+
+/**
+ * Historique d'une partie en base (moteur JPA) : une ligne par commande appliquée,
+ * jamais modifiée, écrite avec l'état de la partie par GamePersistenceWriter
+ */
+@Entity
+@Table(name = "game_command", indexes = @Index(name = "game_command_position", columnList = "game_id, position"))
+@Data
+public class GameCommandRecord {
+    // Séquence par blocs : les insertions d'un lot partent en une seule requête groupée
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_command_seq")
+    @SequenceGenerator(name = "game_command_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "game_id", nullable = false)
+    private String gameId;
+
+    // Rang dans l'historique de la partie
+    private int position;
+
+    // Joueur assis à la création de la table (sans commande JOIN) : "type" est alors null
+    private boolean seated;
+
+    @Enumerated(EnumType.STRING)
+    private GameCommandType type;
+
+    private String playerId;
+    private String playerName;
+    private int cardIndex;
+    private String color;
+}
@@ -7,15 +7,23 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@IdClass(PlayerKey.class)
 @Data
 public class Player {
     @Id
     private String id;
 
+    // Partie et place du joueur, renseignées à la sauvegarde (GamePersistenceWriter)
+    @Id
+    @Column(name = "game_id")
+    private String gameId;
+    private int seat;
+
     private String name;
     private boolean creator;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "player_cards", joinColumns = @JoinColumn(name = "player_id"))
+    // Main compactée dans une colonne (voir CardListConverter)
+    @Convert(converter = CardListConverter.class)
+    @Column(length = CardListConverter.COLUMN_LENGTH)
     private List<Card> cards = new ArrayList<>();
 }
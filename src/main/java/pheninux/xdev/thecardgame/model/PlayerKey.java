@@ -0,0 +1,18 @@
+package pheninux.xdev.thecardgame.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Clé d'un joueur : un même joueur peut être assis à plusieurs parties (tournois)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerKey implements Serializable {
+    private String gameId;
+    private String id;
+}
@@ -0,0 +1,132 @@
+package pheninux.xdev.thecardgame.presence;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.ResumeDTO;
+import pheninux.xdev.thecardgame.event.GameEvent;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.service.GameBroadcaster;
+import pheninux.xdev.thecardgame.service.GameCommandDispatcher;
+import pheninux.xdev.thecardgame.service.GameCommandExecutor;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reprise d'un joueur après reconnexion. Les derniers événements publics de chaque
+ * partie sont gardés en mémoire ; un client qui indique la séquence du dernier
+ * événement appliqué reçoit seulement ceux qui ont suivi, avec sa main actuelle, sur
+ * /topic/game/{gameId}/player/{playerId}/resume. Si la coupure dépasse le tampon
+ * (ou couvre une arrivée, un démarrage), il reçoit l'état complet comme pour un SYNC.
+ */
+@Service
+public class GameResumeService {
+
+    private final GameStore gameStore;
+    private final GameCommandExecutor commandExecutor;
+    private final GameCommandDispatcher commandDispatcher;
+    private final GameBroadcaster gameBroadcaster;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int bufferSize;
+
+    private final Map<String, RecentEvents> recentEvents = new ConcurrentHashMap<>();
+
+    public GameResumeService(GameStore gameStore,
+                             GameCommandExecutor commandExecutor,
+                             GameCommandDispatcher commandDispatcher,
+                             GameBroadcaster gameBroadcaster,
+                             SimpMessagingTemplate messagingTemplate,
+                             GameProperties properties) {
+        this.gameStore = gameStore;
+        this.commandExecutor = commandExecutor;
+        this.commandDispatcher = commandDispatcher;
+        this.gameBroadcaster = gameBroadcaster;
+        this.messagingTemplate = messagingTemplate;
+        this.bufferSize = properties.getPresence().getResumeBufferSize();
+    }
+
+    /**
+     * Sur le thread de la partie, dans l'ordre d'attribution des séquences
+     */
+    @EventListener
+    public void onGameUpdated(GameUpdatedEvent event) {
+        Game game = event.game();
+        if (game.isGameFinished()) {
+            // Plus rien à rattraper : un état complet suffit
+            recentEvents.remove(game.getId());
+            return;
+        }
+        recentEvents.compute(game.getId(), (gameId, recent) -> {
+            if (recent == null) {
+                return new RecentEvents(bufferSize, event.changes());
+            }
+            recent.record(event.changes());
+            return recent;
+        });
+    }
+
+    /**
+     * Envoie au joueur ce qu'il a manqué depuis "sequence". Le futur vaut true si la
+     * reprise a pu se faire par événements, false si un état complet a été envoyé.
+     */
+    public CompletableFuture<Boolean> resume(String gameId, String playerId, long sequence) {
+        if (!gameStore.isLocal(gameId)) {
+            // Tampon tenu par le nœud propriétaire : état complet transmis par le broker
+            commandDispatcher.dispatch(new GameCommandDTO(gameId, GameCommandType.SYNC, playerId, null, 0, null));
+            return CompletableFuture.completedFuture(false);
+        }
+
+        // Dans la file de la partie : aucune commande ne s'intercale entre les
+        // événements rattrapés et la main envoyée
+        return commandExecutor.submit(gameId, () -> {
+            Game game = gameStore.find(gameId)
+                    .orElseThrow(() -> new NoSuchElementException("Partie non trouvée: " + gameId));
+            RecentEvents recent = recentEvents.get(gameId);
+            List<GameEvent> missed = recent != null ? recent.since(sequence) : null;
+
+            ResumeDTO resume = null;
+            synchronized (game) {
+                Player player = findPlayer(game, playerId);
+                if (missed != null && player != null) {
+                    resume = new ResumeDTO(gameId, game.getEventSequence(), missed,
+                            new ArrayList<>(player.getCards()), GameService.turnTimeRemaining(game));
+                }
+            }
+
+            if (resume == null) {
+                gameBroadcaster.sendGameState(game, playerId);
+                return false;
+            }
+            messagingTemplate.convertAndSend("/topic/game/" + gameId + "/player/" + playerId + "/resume", resume);
+            return true;
+        });
+    }
+
+    /**
+     * Oublie les événements d'une partie retirée de la mémoire
+     */
+    public void forget(String gameId) {
+        recentEvents.remove(gameId);
+    }
+
+    private static Player findPlayer(Game game, String playerId) {
+        for (Player player : game.getPlayers()) {
+            if (player.getId() != null && player.getId().equals(playerId)) {
+                return player;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,229 @@
+package pheninux.xdev.thecardgame.presence;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import pheninux.xdev.thecardgame.dto.PresenceDTO;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Présence des joueurs : une session STOMP est associée à (partie, joueur) dès
+ * qu'elle s'abonne à un topic personnel /topic/game/{gameId}/player/{playerId}...
+ * d'un joueur assis à la table, et libérée à la déconnexion. Un abonnement pour un
+ * joueur pas encore arrivé reste en attente jusqu'à son JOIN. Chaque arrivée ou départ
+ * d'un joueur est diffusé sur /topic/game/{gameId}/presence. Les compteurs ne couvrent
+ * que les sessions de ce nœud.
+ */
+@Component
+public class PresenceTracker {
+
+    private static final String GAME_TOPIC = "/topic/game/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final GameStore gameStore;
+
+    // Sessions connectées, associées ou non à une partie
+    private final Set<String> connected = ConcurrentHashMap.newKeySet();
+    // Session -> joueur qu'elle représente
+    private final Map<String, Seat> seats = new ConcurrentHashMap<>();
+    // Partie -> joueur -> nombre de sessions ouvertes
+    private final Map<String, Map<String, Integer>> online = new ConcurrentHashMap<>();
+    // Session -> joueur annoncé mais pas (encore) à la table
+    private final Map<String, Seat> claims = new ConcurrentHashMap<>();
+    // Partie -> sessions en attente de l'arrivée de leur joueur
+    private final Map<String, Set<String>> pending = new ConcurrentHashMap<>();
+
+    record Seat(String gameId, String playerId) {
+    }
+
+    public PresenceTracker(SimpMessagingTemplate messagingTemplate, GameStore gameStore) {
+        this.messagingTemplate = messagingTemplate;
+        this.gameStore = gameStore;
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            connected.add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        Seat seat = seatOf(SimpMessageHeaderAccessor.getDestination(event.getMessage().getHeaders()));
+        if (sessionId == null || seat == null || seat.equals(seats.get(sessionId))) {
+            // Autre topic personnel du même joueur (main, événements, erreurs)
+            return;
+        }
+        if (isPlayer(seat)) {
+            sit(sessionId, seat);
+        } else {
+            claim(sessionId, seat);
+        }
+    }
+
+    /**
+     * Assoit les sessions en attente dont le joueur vient d'arriver
+     */
+    @EventListener
+    public void onGameUpdated(GameUpdatedEvent event) {
+        Set<String> sessions = pending.get(event.game().getId());
+        if (sessions == null) {
+            return;
+        }
+        for (String sessionId : List.copyOf(sessions)) {
+            Seat claim = claims.get(sessionId);
+            if (claim != null && claim.gameId().equals(event.game().getId()) && isPlayer(claim)) {
+                sit(sessionId, claim);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        connected.remove(event.getSessionId());
+        dropClaim(event.getSessionId());
+        Seat seat = seats.remove(event.getSessionId());
+        if (seat != null) {
+            leave(seat);
+        }
+    }
+
+    /**
+     * Indique si la session représente un joueur de cette partie. Une session en attente
+     * est vérifiée à nouveau : son JOIN a pu être appliqué par un autre nœud.
+     */
+    public boolean isSeated(String sessionId, String gameId) {
+        if (sessionId == null) {
+            return false;
+        }
+        Seat seat = seats.get(sessionId);
+        if (seat != null && seat.gameId().equals(gameId)) {
+            return true;
+        }
+        Seat claim = claims.get(sessionId);
+        if (claim != null && claim.gameId().equals(gameId) && isPlayer(claim)) {
+            sit(sessionId, claim);
+            return true;
+        }
+        return false;
+    }
+
+    private void sit(String sessionId, Seat seat) {
+        dropClaim(sessionId);
+        Seat previous = seats.put(sessionId, seat);
+        if (seat.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            leave(previous);
+        }
+        join(seat);
+    }
+
+    /**
+     * Joueurs en ligne d'une partie
+     */
+    public PresenceDTO presence(String gameId) {
+        List<String> playerIds = List.copyOf(online.getOrDefault(gameId, Map.of()).keySet());
+        return new PresenceDTO(gameId, playerIds.size(), playerIds);
+    }
+
+    public boolean isOnline(String gameId, String playerId) {
+        return online.getOrDefault(gameId, Map.of()).containsKey(playerId);
+    }
+
+    public int connectedCount() {
+        return connected.size();
+    }
+
+    /**
+     * Sessions associées à un joueur, toutes parties confondues
+     */
+    public int seatedCount() {
+        return seats.size();
+    }
+
+    private void claim(String sessionId, Seat seat) {
+        dropClaim(sessionId);
+        claims.put(sessionId, seat);
+        pending.computeIfAbsent(seat.gameId(), gameId -> ConcurrentHashMap.newKeySet()).add(sessionId);
+    }
+
+    private void dropClaim(String sessionId) {
+        Seat claim = claims.remove(sessionId);
+        if (claim != null) {
+            pending.computeIfPresent(claim.gameId(), (gameId, sessions) -> {
+                sessions.remove(sessionId);
+                return sessions.isEmpty() ? null : sessions;
+            });
+        }
+    }
+
+    private boolean isPlayer(Seat seat) {
+        return gameStore.find(seat.gameId()).map(game -> {
+            synchronized (game) {
+                return game.getPlayers().stream().anyMatch(player -> seat.playerId().equals(player.getId()));
+            }
+        }).orElse(false);
+    }
+
+    private void join(Seat seat) {
+        boolean[] arrived = new boolean[1];
+        online.compute(seat.gameId(), (gameId, players) -> {
+            Map<String, Integer> target = players != null ? players : new ConcurrentHashMap<>();
+            arrived[0] = target.merge(seat.playerId(), 1, Integer::sum) == 1;
+            return target;
+        });
+        if (arrived[0]) {
+            publish(seat.gameId());
+        }
+    }
+
+    private void leave(Seat seat) {
+        boolean[] departed = new boolean[1];
+        online.computeIfPresent(seat.gameId(), (gameId, players) -> {
+            Integer count = players.get(seat.playerId());
+            if (count != null && count > 1) {
+                players.put(seat.playerId(), count - 1);
+            } else if (count != null) {
+                players.remove(seat.playerId());
+                departed[0] = true;
+            }
+            return players.isEmpty() ? null : players;
+        });
+        if (departed[0]) {
+            publish(seat.gameId());
+        }
+    }
+
+    private void publish(String gameId) {
+        messagingTemplate.convertAndSend(GAME_TOPIC + gameId + "/presence", presence(gameId));
+    }
+
+    /**
+     * /topic/game/{gameId}/player/{playerId}[/...] ; les autres destinations sont ignorées
+     */
+    static Seat seatOf(String destination) {
+        if (destination == null || !destination.startsWith(GAME_TOPIC)) {
+            return null;
+        }
+        String[] parts = destination.substring(GAME_TOPIC.length()).split("/", 4);
+        if (parts.length < 3 || !"player".equals(parts[1]) || parts[0].isEmpty() || parts[2].isEmpty()) {
+            return null;
+        }
+        return new Seat(parts[0], parts[2]);
+    }
+}
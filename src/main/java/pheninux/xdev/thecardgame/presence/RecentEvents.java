@@ -0,0 +1,72 @@
+package pheninux.xdev.thecardgame.presence;
+
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.event.GameEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Derniers événements publics d'une partie, dans un tampon circulaire.
+ * "floor" est la plus haute séquence qui n'est plus disponible : un client
+ * qui l'a déjà reçue peut reprendre avec les seuls événements suivants.
+ */
+final class RecentEvents {
+
+    private final GameEvent[] ring;
+    private int start;
+    private int size;
+    private long floor;
+    private long latest;
+
+    RecentEvents(int capacity, GameChanges first) {
+        this.ring = new GameEvent[capacity];
+        this.floor = first.structural() || first.events().isEmpty()
+                ? first.sequence()
+                : first.events().get(0).sequence() - 1;
+        this.latest = floor;
+        record(first);
+    }
+
+    /**
+     * Un changement structurel (arrivée, démarrage) n'a pas d'événements : il n'est
+     * rattrapable que par un état complet
+     */
+    synchronized void record(GameChanges changes) {
+        if (changes.structural()) {
+            start = 0;
+            size = 0;
+            floor = changes.sequence();
+            latest = changes.sequence();
+            return;
+        }
+
+        for (GameEvent event : changes.events()) {
+            if (size == ring.length) {
+                floor = ring[start].sequence();
+                start = (start + 1) % ring.length;
+                size--;
+            }
+            ring[(start + size) % ring.length] = event;
+            size++;
+            latest = event.sequence();
+        }
+    }
+
+    /**
+     * Événements postérieurs à "sequence", ou null s'ils ne sont plus tous disponibles
+     */
+    synchronized List<GameEvent> since(long sequence) {
+        if (sequence < floor || sequence > latest) {
+            return null;
+        }
+        List<GameEvent> missed = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            GameEvent event = ring[(start + i) % ring.length];
+            if (event.sequence() > sequence) {
+                missed.add(event);
+            }
+        }
+        return missed;
+    }
+}
@@ -0,0 +1,9 @@
+package pheninux.xdev.thecardgame.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import pheninux.xdev.thecardgame.model.ArchivedGame;
+
+@Repository
+public interface ArchivedGameRepository extends JpaRepository<ArchivedGame, String> {
+}
@@ -0,0 +1,21 @@
+package pheninux.xdev.thecardgame.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import pheninux.xdev.thecardgame.model.GameCommandRecord;
+
+import java.util.List;
+
+@Repository
+public interface GameCommandRepository extends JpaRepository<GameCommandRecord, Long> {
+
+    List<GameCommandRecord> findByGameIdOrderByPosition(String gameId);
+
+    long countByGameId(String gameId);
+
+    @Modifying
+    @Query("delete from GameCommandRecord c where c.gameId = :gameId")
+    void deleteByGameId(String gameId);
+}
@@ -3,8 +3,9 @@ package pheninux.xdev.thecardgame.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.model.PlayerKey;
 
 @Repository
-public interface PlayerRepository extends JpaRepository<Player, String> {
+public interface PlayerRepository extends JpaRepository<Player, PlayerKey> {
     // Vous pouvez ajouter des méthodes de requête personnalisées ici
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package pheninux.xdev.thecardgame.service;
+
+import pheninux.xdev.thecardgame.dto.GameRecording;
+
+import java.util.Optional;
+
+/**
+ * Historiques des parties terminées puis retirées du jeu (archivées), pour le rejeu
+ * une fois leur sauvegarde supprimée
+ */
+@FunctionalInterface
+public interface GameArchive {
+
+    Optional<GameRecording> recording(String gameId);
+
+    /**
+     * Aucune archive (simulations, benchmarks)
+     */
+    static GameArchive none() {
+        return gameId -> Optional.empty();
+    }
+}
@@ -0,0 +1,297 @@
+package pheninux.xdev.thecardgame.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.ErrorResponseDTO;
+import pheninux.xdev.thecardgame.dto.GameEventsDTO;
+import pheninux.xdev.thecardgame.dto.GameStateDTO;
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.event.GameEvent;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.metrics.GameMetrics;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diffuse les mises à jour d'une partie aux joueurs, selon game.broadcast.mode :
+ * <ul>
+ *   <li>FULL : un état complet par joueur sur /topic/game/{id}/player/{pid}</li>
+ *   <li>SHARED : l'état public, sérialisé une seule fois, sur /topic/game/{id} et la
+ *       main de chaque joueur sur /topic/game/{id}/player/{pid}/hand</li>
+ *   <li>DELTA : les événements publics sur /topic/game/{id}/events et les cartes
+ *       piochées sur /topic/game/{id}/player/{pid}/events ; les changements
+ *       structurels (arrivée, démarrage) sont diffusés comme en mode SHARED</li>
+ * </ul>
+ * Avec game.broadcast.coalesce-window &gt; 0, les mises à jour d'une partie sont
+ * regroupées pendant la fenêtre : un état remplacé n'est jamais sérialisé, et chaque
+ * abonné reçoit au plus une trame par destination à la fin de la fenêtre.
+ */
+@Slf4j
+@Component
+public class GameBroadcaster {
+
+    private final GameService gameService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final GameProperties.Broadcast settings;
+    private final GameMetrics gameMetrics;
+
+    // Mises à jour en attente par partie, vidées par un unique thread dans l'ordre d'arrivée
+    private final Map<String, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-broadcast-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GameBroadcaster(GameService gameService,
+                           SimpMessagingTemplate messagingTemplate,
+                           ObjectMapper objectMapper,
+                           GameProperties properties,
+                           GameMetrics gameMetrics) {
+        this.gameService = gameService;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.settings = properties.getBroadcast();
+        this.gameMetrics = gameMetrics;
+    }
+
+    @EventListener
+    public void onGameUpdated(GameUpdatedEvent event) {
+        Game game = event.game();
+        GameChanges changes = event.changes();
+
+        Duration window = settings.getCoalesceWindow();
+        if (window.isPositive()) {
+            coalesce(game, changes, window);
+            return;
+        }
+
+        switch (settings.getMode()) {
+            case FULL -> sendGameStateToAllPlayers(game);
+            case SHARED -> sendSharedState(game);
+            case DELTA -> {
+                if (changes.structural()) {
+                    sendSharedState(game);
+                } else {
+                    sendEvents(game, changes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Envoie immédiatement les mises à jour en attente (arrêt, tests)
+     */
+    public void flushPending() {
+        for (String gameId : List.copyOf(pending.keySet())) {
+            flush(gameId);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+        flushPending();
+    }
+
+    /**
+     * Envoie un état de jeu personnalisé à chaque joueur
+     */
+    public void sendGameStateToAllPlayers(Game game) {
+        for (Player player : game.getPlayers()) {
+            if (player.getId() != null) {
+                sendGameState(game, player.getId());
+            }
+        }
+    }
+
+    /**
+     * Envoie l'état complet à un joueur (arrivée, resynchronisation après un trou de séquence)
+     */
+    public void sendGameState(Game game, String playerId) {
+        GameStateDTO personalState = gameService.convertToGameStateDTO(game, playerId);
+        messagingTemplate.convertAndSend("/topic/game/" + game.getId() + "/player/" + playerId, personalState);
+    }
+
+    /**
+     * Envoie un message d'erreur à un joueur spécifique
+     */
+    public void sendError(String gameId, String playerId, String errorMessage) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO();
+        errorResponse.setError(true);
+        errorResponse.setMessage(errorMessage);
+        messagingTemplate.convertAndSend("/topic/game/" + gameId + "/player/" + playerId + "/error", errorResponse);
+    }
+
+    /**
+     * État public sérialisé une fois, quel que soit le nombre de joueurs, puis une
+     * petite main privée par joueur
+     */
+    private void sendSharedState(Game game) {
+        sendJson("/topic/game/" + game.getId(), toJson(gameService.convertToPublicGameStateDTO(game)));
+
+        for (Player player : game.getPlayers()) {
+            if (player.getId() != null) {
+                messagingTemplate.convertAndSend("/topic/game/" + game.getId() + "/player/" + player.getId() + "/hand",
+                        gameService.convertToPlayerHandDTO(game, player));
+            }
+        }
+    }
+
+    private void sendEvents(Game game, GameChanges changes) {
+        if (!changes.events().isEmpty()) {
+            messagingTemplate.convertAndSend("/topic/game/" + game.getId() + "/events",
+                    new GameEventsDTO(game.getId(), changes.events(), GameService.turnTimeRemaining(game)));
+        }
+        for (GameEvent.CardsReceived received : changes.privateEvents()) {
+            messagingTemplate.convertAndSend(
+                    "/topic/game/" + game.getId() + "/player/" + received.playerId() + "/events",
+                    new GameEventsDTO(game.getId(), List.of(received), GameService.turnTimeRemaining(game)));
+        }
+    }
+
+    /**
+     * Ajoute une mise à jour à la fenêtre de la partie ; la première de la fenêtre
+     * programme l'envoi
+     */
+    private void coalesce(Game game, GameChanges changes, Duration window) {
+        boolean[] opened = new boolean[1];
+        pending.compute(game.getId(), (id, update) -> {
+            if (update == null) {
+                update = new PendingUpdate(game);
+                opened[0] = true;
+            }
+            update.add(changes, settings.getMode());
+            return update;
+        });
+        if (opened[0]) {
+            flusher.schedule(() -> flush(game.getId()), window.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush(String gameId) {
+        PendingUpdate update = pending.remove(gameId);
+        if (update == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            update.send();
+            gameMetrics.broadcastFlushed(System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            log.error("Échec de la diffusion de la partie {}", gameId, e);
+        }
+    }
+
+    private byte[] toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation impossible de l'état de la partie", e);
+        }
+    }
+
+    /**
+     * Envoie un contenu déjà sérialisé : le broker le transmet tel quel à chaque abonné
+     */
+    private void sendJson(String destination, byte[] payload) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload, headers.getMessageHeaders()));
+    }
+
+    /**
+     * Ce qui reste à envoyer pour une partie à la fin de la fenêtre. Un état complet
+     * (FULL, SHARED ou changement structurel) porte la séquence courante et remplace
+     * donc tous les événements de la fenêtre.
+     */
+    private final class PendingUpdate {
+
+        private final Game game;
+        private boolean fullState;
+        private final List<GameEvent> events = new ArrayList<>();
+        private final Map<String, List<GameEvent>> privateEvents = new LinkedHashMap<>();
+
+        PendingUpdate(Game game) {
+            this.game = game;
+        }
+
+        void add(GameChanges changes, GameProperties.BroadcastMode mode) {
+            if (mode != GameProperties.BroadcastMode.DELTA || changes.structural()) {
+                fullState = true;
+            }
+            if (fullState) {
+                events.clear();
+                privateEvents.clear();
+                return;
+            }
+            events.addAll(changes.events());
+            for (GameEvent.CardsReceived received : changes.privateEvents()) {
+                privateEvents.computeIfAbsent(received.playerId(), playerId -> new ArrayList<>()).add(received);
+            }
+        }
+
+        void send() {
+            if (!fullState) {
+                sendEvents();
+                return;
+            }
+
+            // L'état est lu à la fin de la fenêtre : verrou de la partie pour une copie cohérente
+            List<Runnable> frames = new ArrayList<>();
+            synchronized (game) {
+                if (settings.getMode() == GameProperties.BroadcastMode.FULL) {
+                    for (Player player : game.getPlayers()) {
+                        if (player.getId() != null) {
+                            GameStateDTO state = gameService.convertToGameStateDTO(game, player.getId());
+                            String destination = "/topic/game/" + game.getId() + "/player/" + player.getId();
+                            frames.add(() -> messagingTemplate.convertAndSend(destination, state));
+                        }
+                    }
+                } else {
+                    byte[] publicState = toJson(gameService.convertToPublicGameStateDTO(game));
+                    frames.add(() -> sendJson("/topic/game/" + game.getId(), publicState));
+                    for (Player player : game.getPlayers()) {
+                        if (player.getId() != null) {
+                            byte[] hand = toJson(gameService.convertToPlayerHandDTO(game, player));
+                            String destination = "/topic/game/" + game.getId() + "/player/" + player.getId() + "/hand";
+                            frames.add(() -> sendJson(destination, hand));
+                        }
+                    }
+                }
+            }
+            frames.forEach(Runnable::run);
+        }
+
+        private void sendEvents() {
+            if (!events.isEmpty()) {
+                messagingTemplate.convertAndSend("/topic/game/" + game.getId() + "/events",
+                        new GameEventsDTO(game.getId(), events, GameService.turnTimeRemaining(game)));
+            }
+            privateEvents.forEach((playerId, received) -> messagingTemplate.convertAndSend(
+                    "/topic/game/" + game.getId() + "/player/" + playerId + "/events",
+                    new GameEventsDTO(game.getId(), received, GameService.turnTimeRemaining(game))));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package pheninux.xdev.thecardgame.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import pheninux.xdev.thecardgame.cluster.GameRouter;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.eventlog.GameEventLog;
+import pheninux.xdev.thecardgame.metrics.GameMetrics;
+import pheninux.xdev.thecardgame.model.Game;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Point d'entrée unique des commandes de jeu : une commande est exécutée dans la
+ * file de la partie si ce nœud en est propriétaire, sinon elle est transférée au
+ * nœud propriétaire (le résultat arrive alors aux joueurs par le broker).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GameCommandDispatcher {
+
+    private final GameService gameService;
+    private final GameBroadcaster gameBroadcaster;
+    private final GameCommandExecutor commandExecutor;
+    private final GameRouter gameRouter;
+    private final GameMetrics gameMetrics;
+    private final GameEventLog eventLog;
+
+    @PostConstruct
+    void listenForwardedCommands() {
+        gameRouter.onForwardedCommand(this::dispatch);
+    }
+
+    /**
+     * Exécute ou transfère une commande. Le futur est complété avec la partie mise à
+     * jour, ou avec null si la commande a été transférée à un autre nœud.
+     */
+    public CompletableFuture<Game> dispatch(GameCommandDTO command) {
+        if (!gameRouter.isLocal(command.getGameId())) {
+            gameRouter.forward(command);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // La diffusion qui découle de la commande (GameBroadcaster) a lieu dans la même
+        // file pour que les joueurs reçoivent les mises à jour dans l'ordre d'application
+        long submitted = System.nanoTime();
+        return commandExecutor.submit(command.getGameId(), () -> {
+            gameMetrics.record(command.getType(), GameMetrics.Phase.QUEUE, submitted);
+            return execute(command);
+        }).whenComplete((game, error) -> {
+            if (error != null) {
+                gameMetrics.rejected(command.getType(), error);
+                eventLog.record(command.getGameId(), GameEventLog.Level.WARN, "REJECTED",
+                        "command", command.getType(), "player", command.getPlayerId(), "reason", error.getMessage());
+                gameBroadcaster.sendError(command.getGameId(), command.getPlayerId(), error.getMessage());
+            }
+        });
+    }
+
+    private Game execute(GameCommandDTO command) {
+        String gameId = command.getGameId();
+        String playerId = command.getPlayerId();
+
+        return switch (command.getType()) {
+            case JOIN -> {
+                PlayerDTO player = new PlayerDTO();
+                player.setId(playerId);
+                player.setName(command.getPlayerName());
+                Game game = gameService.addPlayerAndGetGame(gameId, player);
+                // Un joueur déjà inscrit (reconnexion) reçoit aussi l'état courant
+                gameBroadcaster.sendGameState(game, playerId);
+                yield game;
+            }
+            case START -> gameService.startGameAndGetGame(gameId, playerId);
+            case PLAY_CARD -> gameService.playCardAndGetGame(gameId, playerId, command.getCardIndex());
+            case DRAW_CARD -> gameService.drawCardAndGetGame(gameId, playerId);
+            case CHOOSE_COLOR -> gameService.chooseColorAndGetGame(gameId, playerId, command.getColor());
+            case SYNC -> {
+                Game game = gameService.getLiveGame(gameId);
+                gameBroadcaster.sendGameState(game, playerId);
+                yield game;
+            }
+            case TIMEOUT -> throw new IllegalArgumentException("La commande TIMEOUT est réservée au serveur");
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package pheninux.xdev.thecardgame.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import pheninux.xdev.thecardgame.config.GameProperties;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Exécute les commandes de jeu avec un unique écrivain par partie.
+ * Chaque partie possède sa boîte aux lettres : les commandes d'une même partie
+ * sont traitées une à une dans l'ordre d'arrivée, tandis que les parties
+ * différentes s'exécutent en parallèle sur un pool de threads partagé
+ * (ou sur des threads virtuels, voir game.execution.mode).
+ */
+@Component
+@Slf4j
+public class GameCommandExecutor {
+
+    private final ExecutorService workers;
+    private final int maxCommandsPerRun;
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public GameCommandExecutor(GameProperties properties) {
+        GameProperties.Actor settings = properties.getActor();
+        if (properties.getExecution().getMode() == GameProperties.ThreadMode.VIRTUAL) {
+            // Un thread virtuel par exécution de boîte aux lettres : une écriture JPA
+            // bloquante n'immobilise plus un thread du pool
+            this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("game-actor-", 1).factory());
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.workers = Executors.newFixedThreadPool(settings.getThreads(), runnable -> {
+                Thread thread = new Thread(runnable, "game-actor-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.maxCommandsPerRun = settings.getMaxCommandsPerRun();
+    }
+
+    /**
+     * Place une commande dans la file de la partie et retourne son résultat futur
+     */
+    public <T> CompletableFuture<T> submit(String gameId, Supplier<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                result.complete(command.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+
+        // L'ajout se fait sous le verrou de l'entrée pour ne pas croiser release()
+        Mailbox mailbox = mailboxes.compute(gameId, (id, existing) -> {
+            Mailbox target = existing != null ? existing : new Mailbox();
+            target.commands.add(task);
+            return target;
+        });
+        mailbox.schedule();
+        return result;
+    }
+
+    /**
+     * Libère la boîte aux lettres d'une partie qui ne reçoit plus de commandes
+     */
+    public void release(String gameId) {
+        mailboxes.computeIfPresent(gameId, (id, mailbox) -> mailbox.isIdle() ? null : mailbox);
+    }
+
+    public int mailboxCount() {
+        return mailboxes.size();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Des commandes de jeu étaient encore en cours à l'arrêt");
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * File de commandes d'une partie, planifiée sur le pool au plus une fois à la fois
+     */
+    private final class Mailbox implements Runnable {
+
+        private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        boolean isIdle() {
+            return !scheduled.get() && commands.isEmpty();
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                workers.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < maxCommandsPerRun; i++) {
+                    Runnable command = commands.poll();
+                    if (command == null) {
+                        break;
+                    }
+                    command.run();
+                }
+            } finally {
+                scheduled.set(false);
+                // Une commande a pu arriver entre le dernier poll et la libération
+                if (!commands.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
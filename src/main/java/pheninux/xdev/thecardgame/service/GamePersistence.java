@@ -0,0 +1,103 @@
+package pheninux.xdev.thecardgame.service;
+
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameRecording;
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.model.Game;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Moteur de sauvegarde des parties, choisi par game.persistence.engine :
+ * JPA (GamePersistenceWriter) ou journal binaire (GameJournal)
+ */
+public interface GamePersistence {
+
+    /**
+     * Signale une nouvelle partie. L'appelant détient le verrou de la partie.
+     */
+    void gameCreated(Game game);
+
+    /**
+     * Signale des parties créées ensemble (tables de tournoi, création en lot). Elles ne
+     * sont pas encore modifiables par une commande : aucun verrou n'est détenu.
+     */
+    default void gamesCreated(List<Game> games) {
+        for (Game game : games) {
+            synchronized (game) {
+                gameCreated(game);
+            }
+        }
+    }
+
+    /**
+     * Signale qu'une commande a modifié la partie. L'appelant détient le verrou de la partie.
+     */
+    void gameChanged(Game game, GameCommandDTO command, GameChanges changes);
+
+    /**
+     * Rend durables les changements signalés par gameCreated ou gameChanged quand le mode
+     * l'exige (WRITE_THROUGH). Appelé après la sortie du verrou de la partie : l'écriture
+     * peut bloquer sans retenir la partie ni épingler un thread virtuel.
+     */
+    default void sync(Game game) {
+    }
+
+    /**
+     * Sauvegarde immédiatement une partie qui n'est pas gardée en mémoire par ce nœud
+     * (partie créée ici pour un autre nœud du cluster)
+     */
+    void persistNow(Game game);
+
+    /**
+     * Recharge une partie absente de la mémoire
+     */
+    Optional<Game> load(String gameId);
+
+    /**
+     * Indique si une sauvegarde existe pour cette partie, sans la recharger
+     */
+    default boolean exists(String gameId) {
+        return load(gameId).isPresent();
+    }
+
+    /**
+     * Parmi ces IDs, ceux qui ont une sauvegarde (création de tables en lot)
+     */
+    default Set<String> existing(Collection<String> gameIds) {
+        Set<String> existing = new HashSet<>();
+        for (String gameId : gameIds) {
+            if (exists(gameId)) {
+                existing.add(gameId);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Sauvegarde une partie avant son retrait de la mémoire. L'appelant s'exécute
+     * dans la file de commandes de la partie.
+     */
+    default void unloading(Game game) {
+        persistNow(game);
+    }
+
+    /**
+     * Supprime la sauvegarde d'une partie (archivée ou jamais démarrée)
+     */
+    default void remove(String gameId) {
+    }
+
+    /**
+     * Historique complet d'une partie (joueurs assis, graine, commandes) : table
+     * game_command pour JPA, segments du journal pour JOURNAL. Vide si la partie a été
+     * sauvegardée sans historique.
+     */
+    default Optional<GameRecording> recording(String gameId) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,430 @@
+package pheninux.xdev.thecardgame.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameRecording;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.GameCommandRecord;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.repository.GameCommandRepository;
+import pheninux.xdev.thecardgame.repository.GameRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sauvegarde asynchrone (write-behind) des parties en mémoire vers JPA.
+ * Les parties modifiées sont marquées puis écrites par lots : périodiquement,
+ * tous les N tours et à la fin de la partie. Toutes les écritures passent par
+ * un unique thread afin qu'un état plus ancien n'écrase jamais un état plus récent.
+ * <p>
+ * Les commandes appliquées sont ajoutées à la table game_command dans la même
+ * transaction que l'état de la partie : elles forment l'historique du rejeu.
+ */
+@Component
+@ConditionalOnProperty(prefix = "game.persistence", name = "engine", havingValue = "JPA", matchIfMissing = true)
+@Slf4j
+public class GamePersistenceWriter implements GamePersistence {
+
+    private final GameRepository gameRepository;
+    private final GameCommandRepository commandRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final GameProperties.Persistence settings;
+
+    private final Map<String, Game> dirtyGames = new ConcurrentHashMap<>();
+    // Historique pas encore écrit, par partie ; modifié sous le verrou de la partie
+    private final Map<String, List<GameCommandRecord>> pendingCommands = new ConcurrentHashMap<>();
+    // Rang de la prochaine commande, par partie en mémoire
+    private final Map<String, Integer> nextPosition = new ConcurrentHashMap<>();
+    private final Map<String, Integer> lastFlushedTurn = new ConcurrentHashMap<>();
+    // WRITE_THROUGH : une écriture à la fois par partie, hors de son verrou ; ReentrantLock
+    // pour qu'un thread virtuel en attente libère son thread porteur
+    private final Lock[] syncLocks = new Lock[64];
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-persistence-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GamePersistenceWriter(GameRepository gameRepository,
+                                 GameCommandRepository commandRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 GameProperties properties) {
+        this.gameRepository = gameRepository;
+        this.commandRepository = commandRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.settings = properties.getPersistence();
+        for (int i = 0; i < syncLocks.length; i++) {
+            syncLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void gameCreated(Game game) {
+        recordSeats(game);
+        markDirty(game);
+    }
+
+    @Override
+    public void gameChanged(Game game, GameCommandDTO command, GameChanges changes) {
+        GameCommandRecord record = new GameCommandRecord();
+        record.setType(command.getType());
+        record.setPlayerId(command.getPlayerId());
+        record.setPlayerName(command.getPlayerName());
+        record.setCardIndex(command.getCardIndex());
+        record.setColor(command.getColor());
+        append(game.getId(), record);
+        markDirty(game);
+    }
+
+    /**
+     * Une seule transaction (ou un seul passage du thread de sauvegarde) pour tout le lot
+     */
+    @Override
+    public void gamesCreated(List<Game> games) {
+        for (Game game : games) {
+            synchronized (game) {
+                recordSeats(game);
+            }
+        }
+        if (settings.getMode() == GameProperties.DurabilityMode.WRITE_THROUGH) {
+            for (int from = 0; from < games.size(); from += settings.getBatchSize()) {
+                persist(games.subList(from, Math.min(games.size(), from + settings.getBatchSize())));
+            }
+            return;
+        }
+        for (Game game : games) {
+            dirtyGames.put(game.getId(), game);
+        }
+        flushExecutor.execute(this::flushDirtyGames);
+    }
+
+    /**
+     * Les lignes de la partie sont réécrites à partir de l'état complet ; la commande ne
+     * sert qu'à l'historique
+     */
+    private void markDirty(Game game) {
+        if (settings.getMode() == GameProperties.DurabilityMode.WRITE_THROUGH) {
+            // Écrite par sync(), une fois le verrou de la partie relâché
+            return;
+        }
+
+        dirtyGames.put(game.getId(), game);
+
+        int turnsSinceFlush = game.getTurnCounter() - lastFlushedTurn.getOrDefault(game.getId(), 0);
+        if (game.isGameFinished() || turnsSinceFlush >= settings.getFlushEveryTurns()) {
+            flushExecutor.execute(this::flushDirtyGames);
+        }
+    }
+
+    @Override
+    public void sync(Game game) {
+        if (settings.getMode() != GameProperties.DurabilityMode.WRITE_THROUGH) {
+            return;
+        }
+        // La copie est prise sous ce verrou : une écriture plus récente ne peut pas être
+        // écrasée, et la version reportée sur la partie suit chaque validation
+        Lock lock = syncLocks[(game.getId().hashCode() & 0x7fffffff) % syncLocks.length];
+        lock.lock();
+        try {
+            persist(List.of(game));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void persistNow(Game game) {
+        persist(List.of(game));
+    }
+
+    @Override
+    public Optional<Game> load(String gameId) {
+        return gameRepository.findById(gameId);
+    }
+
+    @Override
+    public boolean exists(String gameId) {
+        return gameRepository.existsById(gameId);
+    }
+
+    /**
+     * Une seule requête pour tout le lot
+     */
+    @Override
+    public Set<String> existing(Collection<String> gameIds) {
+        Set<String> existing = new HashSet<>();
+        for (Game game : gameRepository.findAllById(gameIds)) {
+            existing.add(game.getId());
+        }
+        return existing;
+    }
+
+    /**
+     * L'écriture passe par le thread de sauvegarde : un lot en cours contenant
+     * cette partie ne peut pas l'écraser après son rechargement
+     */
+    @Override
+    public void unloading(Game game) {
+        dirtyGames.remove(game.getId(), game);
+        runOnWriter(() -> {
+            persist(List.of(game));
+            // Rechargée plus tard : le rang reprend après les lignes écrites
+            nextPosition.remove(game.getId());
+        });
+    }
+
+    @Override
+    public void remove(String gameId) {
+        dirtyGames.remove(gameId);
+        runOnWriter(() -> {
+            transactionTemplate.executeWithoutResult(status -> {
+                gameRepository.deleteById(gameId);
+                commandRepository.deleteByGameId(gameId);
+            });
+            lastFlushedTurn.remove(gameId);
+            pendingCommands.remove(gameId);
+            nextPosition.remove(gameId);
+        });
+    }
+
+    /**
+     * Historique lu en base, après l'écriture des commandes en attente
+     */
+    @Override
+    public Optional<GameRecording> recording(String gameId) {
+        flushAll();
+        List<GameCommandRecord> records = commandRepository.findByGameIdOrderByPosition(gameId);
+        if (records.isEmpty() || !records.get(0).isSeated()) {
+            // Partie sauvegardée sans son historique (antérieure à la table game_command)
+            return Optional.empty();
+        }
+
+        return gameRepository.findById(gameId).map(game -> {
+            List<PlayerDTO> seated = new ArrayList<>();
+            List<GameCommandDTO> commands = new ArrayList<>(records.size());
+            for (GameCommandRecord record : records) {
+                if (record.isSeated()) {
+                    PlayerDTO player = new PlayerDTO();
+                    player.setId(record.getPlayerId());
+                    player.setName(record.getPlayerName());
+                    seated.add(player);
+                } else {
+                    commands.add(new GameCommandDTO(gameId, record.getType(), record.getPlayerId(),
+                            record.getPlayerName(), record.getCardIndex(), record.getColor()));
+                }
+            }
+            return new GameRecording(gameId, game.getSeed(), seated, commands);
+        });
+    }
+
+    /**
+     * Sauvegarde périodique des parties modifiées
+     */
+    @Scheduled(fixedDelayString = "${game.persistence.flush-interval:500ms}")
+    public void scheduledFlush() {
+        if (!dirtyGames.isEmpty()) {
+            flushExecutor.execute(this::flushDirtyGames);
+        }
+    }
+
+    /**
+     * Sauvegarde immédiatement toutes les parties modifiées et attend la fin de l'écriture
+     */
+    public void flushAll() {
+        runOnWriter(this::flushDirtyGames);
+    }
+
+    /**
+     * Nombre de parties en attente de sauvegarde
+     */
+    public int pendingCount() {
+        return dirtyGames.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushAll();
+        flushExecutor.shutdown();
+    }
+
+    private void runOnWriter(Runnable task) {
+        try {
+            flushExecutor.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec de la sauvegarde des parties", e.getCause());
+        }
+    }
+
+    private void flushDirtyGames() {
+        List<Game> batch = new ArrayList<>(settings.getBatchSize());
+        Iterator<Game> iterator = dirtyGames.values().iterator();
+
+        while (iterator.hasNext()) {
+            Game game = iterator.next();
+            iterator.remove();
+            batch.add(game);
+
+            if (batch.size() >= settings.getBatchSize()) {
+                persistBatch(batch);
+                batch = new ArrayList<>(settings.getBatchSize());
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            persistBatch(batch);
+        }
+    }
+
+    private void persistBatch(List<Game> batch) {
+        try {
+            persist(batch);
+        } catch (OptimisticLockingFailureException e) {
+            // La ligne a été écrite par un autre propriétaire : cette copie est périmée
+            Object staleId = e instanceof ObjectOptimisticLockingFailureException failure ? failure.getIdentifier() : null;
+            log.warn("Partie {} modifiée ailleurs, sauvegarde abandonnée", staleId);
+            batch.stream()
+                    .filter(game -> !game.getId().equals(staleId))
+                    .forEach(game -> dirtyGames.putIfAbsent(game.getId(), game));
+        } catch (RuntimeException e) {
+            log.error("Échec de la sauvegarde de {} partie(s), nouvelle tentative au prochain cycle", batch.size(), e);
+            batch.forEach(game -> dirtyGames.putIfAbsent(game.getId(), game));
+        }
+    }
+
+    private void persist(List<Game> games) {
+        Map<Game, List<GameCommandRecord>> drained = new IdentityHashMap<>();
+        List<String> remoteGames = new ArrayList<>();
+        Map<Game, Game> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                Map<Game, Game> merged = new IdentityHashMap<>(games.size());
+                List<GameCommandRecord> records = new ArrayList<>();
+                for (Game game : games) {
+                    // Copie cohérente prise sous le verrou, fusionnée (requêtes SQL) hors du verrou
+                    Game copy;
+                    synchronized (game) {
+                        if (game.getVersion() == null && !nextPosition.containsKey(game.getId())) {
+                            // Créée pour un autre nœud (persistNow) : ses joueurs ouvrent l'historique
+                            recordSeats(game);
+                            remoteGames.add(game.getId());
+                        }
+                        assignSeats(game);
+                        copy = copyOf(game);
+                        lastFlushedTurn.put(game.getId(), game.getTurnCounter());
+
+                        List<GameCommandRecord> pending = pendingCommands.remove(game.getId());
+                        if (pending != null) {
+                            drained.put(game, pending);
+                            records.addAll(pending);
+                        }
+                    }
+                    merged.put(game, gameRepository.save(copy));
+                }
+                commandRepository.saveAll(records);
+                return merged;
+            });
+        } catch (RuntimeException e) {
+            // Transaction annulée : les commandes reviennent en tête de l'historique en attente
+            drained.forEach((game, records) -> {
+                synchronized (game) {
+                    records.forEach(record -> record.setId(null));
+                    pendingCommands.merge(game.getId(), records, (newer, older) -> {
+                        older.addAll(newer);
+                        return older;
+                    });
+                }
+            });
+            throw e;
+        }
+        // Le propriétaire reprendra le rang après les lignes écrites
+        remoteGames.forEach(nextPosition::remove);
+
+        // La version n'est incrémentée qu'à la validation : reportée ensuite sur la partie en mémoire
+        saved.forEach((game, merged) -> {
+            synchronized (game) {
+                game.setVersion(merged.getVersion());
+            }
+        });
+    }
+
+    /**
+     * Joueurs assis à la création (une table complète n'a pas de commande JOIN)
+     */
+    private void recordSeats(Game game) {
+        // Partie jamais sauvegardée : aucune ligne à compter en base
+        nextPosition.putIfAbsent(game.getId(), 0);
+        for (Player player : game.getPlayers()) {
+            GameCommandRecord record = new GameCommandRecord();
+            record.setSeated(true);
+            record.setPlayerId(player.getId());
+            record.setPlayerName(player.getName());
+            append(game.getId(), record);
+        }
+    }
+
+    /**
+     * Ajoute une ligne d'historique ; l'appelant détient le verrou de la partie
+     */
+    private void append(String gameId, GameCommandRecord record) {
+        // Partie rechargée : le rang reprend après les lignes déjà écrites
+        int position = nextPosition.computeIfAbsent(gameId, id -> (int) commandRepository.countByGameId(id));
+        nextPosition.put(gameId, position + 1);
+        record.setGameId(gameId);
+        record.setPosition(position);
+        pendingCommands.computeIfAbsent(gameId, id -> new ArrayList<>()).add(record);
+    }
+
+    /**
+     * Copie de l'état sauvegardé (piles et mains copiées) ; l'appelant détient le verrou de la partie
+     */
+    private static Game copyOf(Game game) {
+        Game copy = new Game();
+        BeanUtils.copyProperties(game, copy);
+        copy.setDeck(new ArrayList<>(game.getDeck()));
+        copy.setCenterCards(new ArrayList<>(game.getCenterCards()));
+        List<Player> players = new ArrayList<>(game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            Player seat = new Player();
+            BeanUtils.copyProperties(player, seat);
+            seat.setCards(new ArrayList<>(player.getCards()));
+            players.add(seat);
+        }
+        copy.setPlayers(players);
+        return copy;
+    }
+
+    private static void assignSeats(Game game) {
+        List<Player> players = game.getPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            players.get(seat).setGameId(game.getId());
+            players.get(seat).setSeat(seat);
+        }
+    }
+}
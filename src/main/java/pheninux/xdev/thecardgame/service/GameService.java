@@ -1,32 +1,48 @@
 package pheninux.xdev.thecardgame.service;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
 import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.GameRecording;
 import pheninux.xdev.thecardgame.dto.GameStateDTO;
+import pheninux.xdev.thecardgame.dto.GameTableDTO;
+import pheninux.xdev.thecardgame.dto.PlayerHandDTO;
 import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.dto.TableResultDTO;
+import pheninux.xdev.thecardgame.engine.CardCodec;
+import pheninux.xdev.thecardgame.event.GameChangeTracker;
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.event.GameCreatedEvent;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.eventlog.GameEventLog;
+import pheninux.xdev.thecardgame.metrics.GameMetrics;
 import pheninux.xdev.thecardgame.model.Card;
 import pheninux.xdev.thecardgame.model.Game;
 import pheninux.xdev.thecardgame.model.Player;
-import pheninux.xdev.thecardgame.repository.GameRepository;
-import pheninux.xdev.thecardgame.repository.PlayerRepository;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class GameService {
 
-    private final GameRepository gameRepository;
-    private final PlayerRepository playerRepository;
+    private final GameStore gameStore;
+    private final GamePersistence gamePersistence;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameMetrics gameMetrics;
+    private final GameEventLog eventLog;
+    private final GameArchive gameArchive;
 
     // Constantes
-    private static final String[] COLORS = {"cardRed", "cardBlue", "cardGreen", "cardYellow"};
-    private static final String[] SYMBOLS = {"★", "✦", "◉", "⬠", "△", "▢", "◇", "○"};
+    public static final int MAX_PLAYERS = 4;
+    private static final String[] COLORS = CardCodec.COLORS;
+    private static final String[] SYMBOLS = CardCodec.SYMBOLS;
     private static final Map<String, String> SPECIAL_CARDS = Map.of(
             "★", "draw-two",
             "✦", "skip",
@@ -37,15 +53,158 @@ public class GameService {
     /**
      * Crée une nouvelle partie
      */
-    @Transactional
     public GameDTO createGame(GameDTO gameDTO) {
-        // Générer un ID unique pour la partie si non fourni
-        String gameId = gameDTO.getId() != null ?
-                gameDTO.getId() : UUID.randomUUID().toString().substring(0, 8);
+        // Graine tirée sans générateur partagé entre les threads
+        return createGame(gameDTO, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Crée une nouvelle partie avec une graine imposée (simulations, tests de charge reproductibles)
+     */
+    public GameDTO createGame(GameDTO gameDTO, long seed) {
+        // Générer un ID unique pour la partie si non fourni, tenu par ce nœud : elle y est
+        // annoncée au salon et suivie par le cycle de vie dès sa création
+        String gameId = gameDTO.getId() != null ? gameDTO.getId() : newLocalGameId();
+
+        Game game = newGame(gameId, seed, gameDTO.getCreatorId(), gameDTO.getCreatorName());
+
+        if (gameStore.isLocal(gameId)) {
+            // Sauvegarder la partie puis l'enregistrer en mémoire : aucune commande ne
+            // peut l'atteindre avant la fin de l'écriture (WRITE_THROUGH)
+            synchronized (game) {
+                gamePersistence.gameCreated(game);
+            }
+            gamePersistence.sync(game);
+            gameStore.put(game);
+            eventLog.record(gameId, GameEventLog.Level.INFO, "CREATED",
+                    "creator", gameDTO.getCreatorId(), "seed", seed);
+            eventPublisher.publishEvent(new GameCreatedEvent(game));
+        } else {
+            // ID imposé, tenu par un autre nœud : il la chargera depuis la base à la première commande
+            gamePersistence.persistNow(game);
+        }
+
+        return convertToDTO(game);
+    }
+
+    /**
+     * Tire un ID de partie dont ce nœud est propriétaire
+     */
+    public String newLocalGameId() {
+        String gameId;
+        do {
+            gameId = UUID.randomUUID().toString().substring(0, 8);
+        } while (!gameStore.isLocal(gameId));
+        return gameId;
+    }
+
+    /**
+     * Crée plusieurs tables d'un coup, joueurs déjà assis (le premier est le créateur) :
+     * une sauvegarde groupée, sans commande JOIN par joueur. Avec "tournamentId", les
+     * tables sont réservées au tournoi et n'apparaissent pas au salon.
+     * <p>
+     * Une table dont l'ID est déjà utilisé (en mémoire, sauvegardé ou répété dans le lot)
+     * ou dont les joueurs sont invalides est refusée sans bloquer les autres.
+     */
+    public List<TableResultDTO> createTables(List<GameTableDTO> tables, String tournamentId) {
+        List<TableResultDTO> results = new ArrayList<>(tables.size());
+        List<Game> games = new ArrayList<>(tables.size());
+        List<Game> local = new ArrayList<>(tables.size());
+        Set<String> batchIds = new HashSet<>();
+        List<String> gameIds = new ArrayList<>(tables.size());
+        Set<String> suppliedIds = new HashSet<>();
+        for (GameTableDTO table : tables) {
+            gameIds.add(table.getId() != null ? table.getId() : newLocalGameId());
+            if (table.getId() != null) {
+                suppliedIds.add(table.getId());
+            }
+        }
+        // IDs tirés par newLocalGameId : aucune sauvegarde à chercher ; les autres en une requête
+        Set<String> savedIds = suppliedIds.isEmpty() ? Set.of() : gamePersistence.existing(suppliedIds);
+
+        for (int i = 0; i < tables.size(); i++) {
+            GameTableDTO table = tables.get(i);
+            String gameId = gameIds.get(i);
+            Game game;
+            try {
+                game = newTable(gameId, table, tournamentId);
+            } catch (IllegalArgumentException e) {
+                results.add(new TableResultDTO(gameId, TableResultDTO.Status.REJECTED, e.getMessage(), null));
+                continue;
+            }
+
+            boolean isLocal = gameStore.isLocal(gameId);
+            if (!batchIds.add(gameId) || gameStore.peek(gameId).isPresent() || savedIds.contains(gameId)
+                    || (isLocal && !gameStore.putIfAbsent(game))) {
+                results.add(new TableResultDTO(gameId, TableResultDTO.Status.REJECTED,
+                        "Partie déjà existante: " + gameId, null));
+                continue;
+            }
+            if (isLocal) {
+                local.add(game);
+            } else {
+                gamePersistence.persistNow(game);
+            }
+            games.add(game);
+            results.add(new TableResultDTO(gameId, TableResultDTO.Status.CREATED, null, null));
+        }
+
+        gamePersistence.gamesCreated(local);
+        for (Game game : local) {
+            eventLog.record(game.getId(), GameEventLog.Level.INFO, "CREATED",
+                    "creator", game.getPlayers().get(0).getId(), "seed", game.getSeed(), "tournament", tournamentId);
+            eventPublisher.publishEvent(new GameCreatedEvent(game));
+        }
+
+        Iterator<Game> created = games.iterator();
+        for (TableResultDTO result : results) {
+            if (result.getStatus() == TableResultDTO.Status.CREATED) {
+                Game game = created.next();
+                synchronized (game) {
+                    result.setGame(convertToDTO(game));
+                }
+            }
+        }
+        return results;
+    }
+
+    private static Game newTable(String gameId, GameTableDTO table, String tournamentId) {
+        List<PlayerDTO> players = table.getPlayers();
+        if (players == null || players.isEmpty() || players.size() > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Une table compte de 1 à " + MAX_PLAYERS + " joueurs");
+        }
+        if (players.stream().map(PlayerDTO::getId).distinct().count() != players.size()) {
+            throw new IllegalArgumentException("Un joueur ne peut occuper qu'une place par table");
+        }
+
+        long seed = table.getSeed() != null ? table.getSeed() : ThreadLocalRandom.current().nextLong();
+        Game game = newGame(gameId, seed, null, null);
+        seat(game, players);
+        game.setTournamentId(tournamentId);
+        return game;
+    }
+
+    /**
+     * Assoit des joueurs dans l'ordre ; le premier d'une table vide en est le créateur
+     */
+    private static void seat(Game game, List<PlayerDTO> players) {
+        for (PlayerDTO seated : players) {
+            Player player = new Player();
+            player.setId(seated.getId());
+            player.setName(seated.getName());
+            player.setCreator(game.getPlayers().isEmpty());
+            player.setCards(new ArrayList<>());
+            game.getPlayers().add(player);
+        }
+    }
 
-        // Créer une nouvelle partie
+    /**
+     * Construit une partie vide, avec son créateur comme premier joueur s'il est fourni
+     */
+    private static Game newGame(String gameId, long seed, String creatorId, String creatorName) {
         Game game = new Game();
         game.setId(gameId);
+        game.setSeed(seed);
         game.setPlayers(new ArrayList<>());
         game.setDeck(new ArrayList<>());
         game.setCenterCards(new ArrayList<>());
@@ -56,45 +215,48 @@ public class GameService {
         game.setGameFinished(false);
 
         // Ajouter le créateur comme premier joueur si fourni
-        if (gameDTO.getCreatorId() != null && gameDTO.getCreatorName() != null) {
+        if (creatorId != null && creatorName != null) {
             Player creator = new Player();
-            creator.setId(gameDTO.getCreatorId());
-            creator.setName(gameDTO.getCreatorName());
+            creator.setId(creatorId);
+            creator.setName(creatorName);
             creator.setCreator(true);
             creator.setCards(new ArrayList<>());
 
             game.getPlayers().add(creator);
-            playerRepository.save(creator);
         }
-
-        // Sauvegarder et retourner la partie
-        gameRepository.save(game);
-
-        return convertToDTO(game);
+        return game;
     }
 
     /**
      * Récupère les détails d'une partie
      */
-    @Transactional(readOnly = true)
     public GameDTO getGame(String gameId) {
         Game game = findGameById(gameId);
-        return convertToDTO(game);
+        synchronized (game) {
+            return convertToDTO(game);
+        }
+    }
+
+    /**
+     * Récupère l'objet Game en mémoire (pour les diffusions)
+     */
+    public Game getLiveGame(String gameId) {
+        return findGameById(gameId);
     }
 
     /**
      * Récupère l'état du jeu pour un joueur spécifique
      */
-    @Transactional(readOnly = true)
     public GameStateDTO getGameStateForPlayer(String gameId, String playerId) {
         Game game = findGameById(gameId);
-        return convertToGameStateDTO(game, playerId);
+        synchronized (game) {
+            return convertToGameStateDTO(game, playerId);
+        }
     }
 
     /**
      * Ajoute un joueur à une partie
      */
-    @Transactional
     public GameStateDTO addPlayer(String gameId, PlayerDTO playerDTO) {
         Game game = addPlayerAndGetGame(gameId, playerDTO);
         return convertToGameStateDTO(game, playerDTO.getId());
@@ -103,12 +265,11 @@ public class GameService {
     /**
      * Ajoute un joueur à une partie et retourne l'objet Game
      */
-    @Transactional
     public Game addPlayerAndGetGame(String gameId, PlayerDTO playerDTO) {
-        Game game = findGameById(gameId);
-
-        log.info("Ajout du joueur: {} avec ID: {}", playerDTO.getName(), playerDTO.getId());
+        return mutate(new GameCommandDTO(gameId, GameCommandType.JOIN, playerDTO.getId(), playerDTO.getName(), 0, null));
+    }
 
+    private void applyAddPlayer(Game game, String playerId, String playerName) {
         // Vérifier si la partie est déjà commencée
         if (game.isGameStarted()) {
             throw new IllegalStateException("La partie a déjà commencé");
@@ -116,37 +277,37 @@ public class GameService {
 
         // Vérifier si le joueur existe déjà
         Optional<Player> existingPlayer = game.getPlayers().stream()
-                .filter(p -> p.getId() != null && p.getId().equals(playerDTO.getId()))
+                .filter(p -> p.getId() != null && p.getId().equals(playerId))
                 .findFirst();
 
         if (existingPlayer.isPresent()) {
-            log.info("Le joueur est déjà dans la partie: {}", playerDTO.getId());
-            return game;
+            // Reconnexion : rien à modifier
+            return;
+        }
+
+        // Tables de tournoi : les places sont attribuées à la création
+        if (game.getTournamentId() != null) {
+            throw new IllegalStateException("Table de tournoi : places réservées");
         }
 
         // Vérifier si la partie n'est pas déjà pleine (max 4 joueurs)
-        if (game.getPlayers().size() >= 4) {
+        if (game.getPlayers().size() >= MAX_PLAYERS) {
             throw new IllegalStateException("La partie est déjà pleine (4 joueurs maximum)");
         }
 
         // Créer et ajouter le nouveau joueur
         Player newPlayer = new Player();
-        newPlayer.setId(playerDTO.getId());
-        newPlayer.setName(playerDTO.getName());
+        newPlayer.setId(playerId);
+        newPlayer.setName(playerName);
         newPlayer.setCreator(false);
         newPlayer.setCards(new ArrayList<>());
 
         game.getPlayers().add(newPlayer);
-        playerRepository.save(newPlayer);
-        gameRepository.save(game);
-
-        return game;
     }
 
     /**
      * Démarre une partie
      */
-    @Transactional
     public GameStateDTO startGame(String gameId, String playerId) {
         Game game = startGameAndGetGame(gameId, playerId);
         return convertToGameStateDTO(game, playerId);
@@ -155,10 +316,11 @@ public class GameService {
     /**
      * Démarre une partie et retourne l'objet Game
      */
-    @Transactional
     public Game startGameAndGetGame(String gameId, String playerId) {
-        Game game = findGameById(gameId);
+        return mutate(new GameCommandDTO(gameId, GameCommandType.START, playerId, null, 0, null));
+    }
 
+    private void applyStartGame(Game game, String playerId) {
         // Vérifier si le joueur est le créateur
         boolean isCreator = game.getPlayers().stream()
                 .anyMatch(p -> p.getId() != null && p.getId().equals(playerId) && p.isCreator());
@@ -175,21 +337,11 @@ public class GameService {
         // Initialiser le jeu
         initializeGame(game);
         game.setGameStarted(true);
-
-        // Débogage - Vérifier que chaque joueur a bien reçu des cartes
-        for (Player player : game.getPlayers()) {
-            log.info("Joueur {} a {} cartes après distribution", player.getName(), player.getCards().size());
-        }
-
-        gameRepository.save(game);
-
-        return game;
     }
 
     /**
      * Joue une carte
      */
-    @Transactional
     public GameStateDTO playCard(String gameId, String playerId, int cardIndex) {
         Game game = playCardAndGetGame(gameId, playerId, cardIndex);
         return convertToGameStateDTO(game, playerId);
@@ -198,10 +350,11 @@ public class GameService {
     /**
      * Joue une carte et retourne l'objet Game
      */
-    @Transactional
     public Game playCardAndGetGame(String gameId, String playerId, int cardIndex) {
-        Game game = findGameById(gameId);
+        return mutate(new GameCommandDTO(gameId, GameCommandType.PLAY_CARD, playerId, null, cardIndex, null));
+    }
 
+    private void applyPlayCard(Game game, String playerId, int cardIndex) {
         // Vérifier si c'est le tour du joueur
         Player currentPlayer = game.getPlayers().get(game.getCurrentPlayerIndex());
         if (currentPlayer.getId() == null || !currentPlayer.getId().equals(playerId)) {
@@ -228,14 +381,14 @@ public class GameService {
         game.getCenterCards().add(cardToPlay);
         if (game.getCenterCards().size() > 4) {
             game.getCenterCards().remove(0);
+            game.setDiscardCount(game.getDiscardCount() + 1);
         }
 
         // Vérifier si le joueur a gagné
         if (currentPlayer.getCards().isEmpty()) {
             game.setGameFinished(true);
             game.setWinnerId(currentPlayer.getId());
-            gameRepository.save(game);
-            return game;
+            return;
         }
 
         // Gérer les cartes spéciales
@@ -245,15 +398,11 @@ public class GameService {
         if (!game.isGameFinished()) {
             nextPlayer(game);
         }
-
-        gameRepository.save(game);
-        return game;
     }
 
     /**
      * Pioche une carte
      */
-    @Transactional
     public GameStateDTO drawCard(String gameId, String playerId) {
         Game game = drawCardAndGetGame(gameId, playerId);
         return convertToGameStateDTO(game, playerId);
@@ -262,10 +411,11 @@ public class GameService {
     /**
      * Pioche une carte et retourne l'objet Game
      */
-    @Transactional
     public Game drawCardAndGetGame(String gameId, String playerId) {
-        Game game = findGameById(gameId);
+        return mutate(new GameCommandDTO(gameId, GameCommandType.DRAW_CARD, playerId, null, 0, null));
+    }
 
+    private void applyDrawCard(Game game, String playerId) {
         // Vérifier si c'est le tour du joueur
         Player currentPlayer = game.getPlayers().get(game.getCurrentPlayerIndex());
         if (currentPlayer.getId() == null || !currentPlayer.getId().equals(playerId)) {
@@ -273,17 +423,16 @@ public class GameService {
         }
 
         // Vérifier s'il reste des cartes dans le paquet
+        if (!canDraw(game)) {
+            throw new IllegalStateException("La pioche est vide");
+        }
         if (game.getDeck().isEmpty()) {
             // Reconstituer le paquet avec les cartes du centre
-            if (game.getCenterCards().size() > 1) {
-                Card lastCard = game.getCenterCards().get(game.getCenterCards().size() - 1);
-                List<Card> newDeck = new ArrayList<>(game.getCenterCards().subList(0, game.getCenterCards().size() - 1));
-                game.setCenterCards(new ArrayList<>(Collections.singletonList(lastCard)));
-                game.setDeck(newDeck);
-                shuffleDeck(game);
-            } else {
-                throw new IllegalStateException("La pioche est vide");
-            }
+            Card lastCard = game.getCenterCards().get(game.getCenterCards().size() - 1);
+            List<Card> newDeck = new ArrayList<>(game.getCenterCards().subList(0, game.getCenterCards().size() - 1));
+            game.setCenterCards(new ArrayList<>(Collections.singletonList(lastCard)));
+            game.setDeck(newDeck);
+            shuffleDeck(game);
         }
 
         // Piocher une carte
@@ -297,15 +446,11 @@ public class GameService {
         if (!canPlay) {
             nextPlayer(game);
         }
-
-        gameRepository.save(game);
-        return game;
     }
 
     /**
      * Choix de couleur (pour la carte spéciale "color-picker")
      */
-    @Transactional
     public GameStateDTO chooseColor(String gameId, String playerId, String color) {
         Game game = chooseColorAndGetGame(gameId, playerId, color);
         return convertToGameStateDTO(game, playerId);
@@ -314,10 +459,11 @@ public class GameService {
     /**
      * Choix de couleur et retourne l'objet Game
      */
-    @Transactional
     public Game chooseColorAndGetGame(String gameId, String playerId, String color) {
-        Game game = findGameById(gameId);
+        return mutate(new GameCommandDTO(gameId, GameCommandType.CHOOSE_COLOR, playerId, null, 0, color));
+    }
 
+    private void applyChooseColor(Game game, String playerId, String color) {
         // Vérifier si c'est le tour du joueur
         Player currentPlayer = game.getPlayers().get(game.getCurrentPlayerIndex());
         if (currentPlayer.getId() == null || !currentPlayer.getId().equals(playerId)) {
@@ -334,34 +480,182 @@ public class GameService {
 
         // Passer au joueur suivant
         nextPlayer(game);
+    }
 
-        gameRepository.save(game);
-        return game;
+    /**
+     * Termine le tour d'un joueur qui n'a pas joué à temps (voir TurnTimerService)
+     */
+    public Game timeoutTurnAndGetGame(String gameId, String playerId) {
+        return mutate(new GameCommandDTO(gameId, GameCommandType.TIMEOUT, playerId, null, 0, null));
+    }
+
+    private void applyTimeout(Game game, String playerId) {
+        Player currentPlayer = game.getPlayers().get(game.getCurrentPlayerIndex());
+        if (!game.isGameStarted() || game.isGameFinished()
+                || currentPlayer.getId() == null || !currentPlayer.getId().equals(playerId)) {
+            throw new IllegalStateException("Ce n'est pas votre tour");
+        }
+
+        // Une carte piochée si possible (sans la jouer), puis le tour passe dans tous les cas,
+        // y compris lorsqu'une couleur restait à choisir
+        int turn = game.getTurnCounter();
+        if (canDraw(game)) {
+            applyDrawCard(game, playerId);
+        }
+        if (game.getTurnCounter() == turn) {
+            nextPlayer(game);
+        }
     }
 
-    // ===== MÉTHODES UTILITAIRES PRIVÉES =====
+    // ===== MÉTHODES UTILITAIRES =====
+    // (les règles sont visibles dans le package pour les benchmarks JMH)
 
     /**
      * Trouve une partie par son ID
      */
     private Game findGameById(String gameId) {
-        return gameRepository.findById(gameId)
+        return gameStore.find(gameId)
                 .orElseThrow(() -> new NoSuchElementException("Partie non trouvée: " + gameId));
     }
 
+    /**
+     * Applique une commande sur l'état en mémoire de la partie, planifie sa sauvegarde
+     * et publie les événements qui en résultent
+     */
+    private Game mutate(GameCommandDTO command) {
+        GameCommandType type = command.getType();
+        long start = System.nanoTime();
+        Game game = findGameById(command.getGameId());
+        long loaded = gameMetrics.record(type, GameMetrics.Phase.LOAD, start);
+
+        GameChanges changes;
+        long applied;
+        synchronized (game) {
+            changes = applyTracked(game, command);
+            applied = gameMetrics.record(type, GameMetrics.Phase.RULES, loaded);
+            gamePersistence.gameChanged(game, command, changes);
+        }
+        // Écriture éventuelle hors du verrou ; la file de la partie garde l'ordre des commandes
+        gamePersistence.sync(game);
+        long persisted = gameMetrics.record(type, GameMetrics.Phase.PERSIST, applied);
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new GameUpdatedEvent(game, changes));
+            gameMetrics.record(type, GameMetrics.Phase.BROADCAST, persisted);
+        }
+        logCommand(game, command, changes);
+        return game;
+    }
+
+    /**
+     * Une entrée par commande appliquée ; le détail des événements (cartes comprises)
+     * seulement pour une partie en mode débogage
+     */
+    private void logCommand(Game game, GameCommandDTO command, GameChanges changes) {
+        if (eventLog.isRecorded(game.getId(), GameEventLog.Level.INFO)) {
+            eventLog.record(game.getId(), GameEventLog.Level.INFO, command.getType().name(),
+                    "player", command.getPlayerId(),
+                    "turn", game.getTurnCounter(),
+                    "sequence", changes.sequence(),
+                    "hands", handSizes(game),
+                    "deck", game.getDeck().size());
+        }
+        if (eventLog.isRecorded(game.getId(), GameEventLog.Level.DEBUG)) {
+            eventLog.record(game.getId(), GameEventLog.Level.DEBUG, "CHANGES",
+                    "events", changes.events(),
+                    "private", changes.privateEvents());
+        }
+    }
+
+    private static List<Integer> handSizes(Game game) {
+        List<Integer> sizes = new ArrayList<>(game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            sizes.add(player.getCards().size());
+        }
+        return sizes;
+    }
+
+    /**
+     * Reconstitue une partie à partir de sa graine et de ses commandes, telle qu'elle
+     * était au début du tour "turn" (ou à la fin de l'historique s'il est plus court)
+     */
+    public Game rebuild(GameRecording recording, int turn) {
+        Game game = newGame(recording.gameId(), recording.seed(), null, null);
+        seat(game, recording.players());
+        for (GameCommandDTO command : recording.commands()) {
+            if (game.isGameStarted() && game.getTurnCounter() >= turn) {
+                break;
+            }
+            applyTracked(game, command);
+        }
+        return game;
+    }
+
+    /**
+     * État d'une partie terminée au début d'un tour, vu par un joueur (analyse d'incident),
+     * y compris après son archivage
+     */
+    public GameStateDTO replayGame(String gameId, int turn, String playerId) {
+        Optional<Game> live = gameStore.find(gameId);
+        if (live.isEmpty()) {
+            // Partie retirée du jeu : historique archivé
+            GameRecording archived = gameArchive.recording(gameId)
+                    .orElseThrow(() -> new NoSuchElementException("Partie non trouvée: " + gameId));
+            return convertToGameStateDTO(rebuild(archived, turn), playerId);
+        }
+        synchronized (live.get()) {
+            if (!live.get().isGameFinished()) {
+                // L'historique révèle les mains de tous les joueurs
+                throw new IllegalStateException("Seule une partie terminée peut être rejouée");
+            }
+        }
+
+        GameRecording recording = gamePersistence.recording(gameId)
+                .orElseThrow(() -> new NoSuchElementException("Historique non disponible pour la partie: " + gameId));
+        return convertToGameStateDTO(rebuild(recording, turn), playerId);
+    }
+
+    /**
+     * Rejoue une commande sur une partie restaurée, sans sauvegarde ni diffusion.
+     * La partie ne doit pas encore être visible des autres threads.
+     */
+    public void replay(Game game, GameCommandDTO command) {
+        applyTracked(game, command);
+    }
+
+    /**
+     * Applique une commande et calcule ses événements (ce qui fait aussi avancer
+     * Game.eventSequence, à l'identique en direct et en rejeu)
+     */
+    private GameChanges applyTracked(Game game, GameCommandDTO command) {
+        GameChangeTracker.Snapshot before = GameChangeTracker.capture(game);
+        apply(game, command);
+        return GameChangeTracker.diff(before, game);
+    }
+
+    private void apply(Game game, GameCommandDTO command) {
+        String playerId = command.getPlayerId();
+        switch (command.getType()) {
+            case JOIN -> applyAddPlayer(game, playerId, command.getPlayerName());
+            case START -> applyStartGame(game, playerId);
+            case PLAY_CARD -> applyPlayCard(game, playerId, command.getCardIndex());
+            case DRAW_CARD -> applyDrawCard(game, playerId);
+            case CHOOSE_COLOR -> applyChooseColor(game, playerId, command.getColor());
+            case TIMEOUT -> applyTimeout(game, playerId);
+            case SYNC -> throw new IllegalArgumentException("La commande SYNC ne modifie pas la partie");
+        }
+    }
+
     /**
      * Initialise le jeu (cartes, distribution, etc.)
      */
-    private void initializeGame(Game game) {
+    void initializeGame(Game game) {
         // Créer le jeu de cartes
         List<Card> deck = createDeck();
 
         // Mélanger le jeu
-        Collections.shuffle(deck);
+        Collections.shuffle(deck, nextShuffleRandom(game));
         game.setDeck(deck);
 
-        log.info("Deck créé avec {} cartes", deck.size());
-
         // Distribuer les cartes aux joueurs
         for (Player player : game.getPlayers()) {
             // S'assurer que la liste de cartes est vide avant de commencer
@@ -371,12 +665,8 @@ public class GameService {
                 if (!game.getDeck().isEmpty()) {
                     Card card = game.getDeck().remove(0);
                     player.getCards().add(card);
-                    log.info("Carte {} de couleur {} distribuée à {}",
-                            card.getSymbol(), card.getColor(), player.getName());
                 }
             }
-
-            log.info("Joueur {} a reçu {} cartes", player.getName(), player.getCards().size());
         }
 
         // Placer les cartes centrales
@@ -393,12 +683,13 @@ public class GameService {
         game.setTurnCounter(1);
         game.setGameDirection(1);
         game.setSelectedColor(null);
+        game.setDiscardCount(0);
     }
 
     /**
      * Crée un jeu de cartes complet
      */
-    private List<Card> createDeck() {
+    List<Card> createDeck() {
         List<Card> deck = new ArrayList<>();
 
         // Création de deux ensembles de cartes pour chaque combinaison couleur/symbole
@@ -420,20 +711,46 @@ public class GameService {
      * Mélange le jeu de cartes
      */
     private void shuffleDeck(Game game) {
-        Collections.shuffle(game.getDeck());
+        Collections.shuffle(game.getDeck(), nextShuffleRandom(game));
+    }
+
+    /**
+     * Générateur du prochain mélange : dérivé de la graine et du numéro de mélange,
+     * il ne dépend que de l'état de la partie (aucun générateur partagé ni à sauvegarder)
+     */
+    private static RandomGenerator nextShuffleRandom(Game game) {
+        int shuffle = game.getShuffleCount();
+        game.setShuffleCount(shuffle + 1);
+        return new SplittableRandom(game.getSeed() ^ (shuffle * 0x9E3779B97F4A7C15L));
     }
 
     /**
      * Vérifie si une carte peut être jouée
      */
-    private boolean canCardBePlayed(Game game, Card card) {
+    boolean canCardBePlayed(Game game, Card card) {
+        boolean canPlay = isPlayable(game, card);
+        // La couleur imposée par une carte "choisir couleur" est consommée par la carte suivante
+        if (canPlay && game.getSelectedColor() != null) {
+            game.setSelectedColor(null);
+        }
+        return canPlay;
+    }
+
+    /**
+     * Vérifie qu'une carte peut encore être piochée, au besoin en reconstituant la pioche
+     * avec les cartes du centre (bots, simulations)
+     */
+    public boolean canDraw(Game game) {
+        return !game.getDeck().isEmpty() || game.getCenterCards().size() > 1;
+    }
+
+    /**
+     * Vérifie si une carte peut être jouée, sans modifier la partie (bots, simulations)
+     */
+    public boolean isPlayable(Game game, Card card) {
         // Si une couleur a été sélectionnée (suite à une carte "choisir couleur")
         if (game.getSelectedColor() != null) {
-            boolean canPlay = card.getColor().equals(game.getSelectedColor());
-            if (canPlay) {
-                game.setSelectedColor(null);
-            }
-            return canPlay;
+            return card.getColor().equals(game.getSelectedColor());
         }
 
         // Vérification des correspondances avec les cartes du centre
@@ -450,7 +767,7 @@ public class GameService {
     /**
      * Gère les effets des cartes spéciales
      */
-    private void handleSpecialCard(Game game, Card card) {
+    void handleSpecialCard(Game game, Card card) {
         if (SPECIAL_CARDS.containsKey(card.getSymbol())) {
             String effect = SPECIAL_CARDS.get(card.getSymbol());
 
@@ -531,12 +848,24 @@ public class GameService {
         return dto;
     }
 
+    /**
+     * État public d'une partie (sans aucune main), identique pour tous les joueurs
+     */
+    public GameStateDTO convertToPublicGameStateDTO(Game game) {
+        return convertToGameStateDTO(game, null);
+    }
+
+    /**
+     * Main d'un joueur, envoyée à part de l'état public
+     */
+    public PlayerHandDTO convertToPlayerHandDTO(Game game, Player player) {
+        return new PlayerHandDTO(game.getId(), player.getId(), game.getEventSequence(), player.getCards());
+    }
+
     /**
      * Convertit une entité Game en GameStateDTO
      */
     public GameStateDTO convertToGameStateDTO(Game game, String currentPlayerId) {
-        log.info("Conversion de l'état du jeu pour le joueur: {}", currentPlayerId);
-
         GameStateDTO dto = new GameStateDTO();
         dto.setGameId(game.getId());
         dto.setTurnCounter(game.getTurnCounter());
@@ -559,20 +888,29 @@ public class GameService {
                     // N'inclure les cartes que pour le joueur actuel
                     if (currentPlayerId != null && player.getId() != null &&
                             player.getId().equals(currentPlayerId)) {
-                        log.info("Envoi des cartes pour le joueur: {}", player.getName());
-                        playerDTO.setCards(player.getCards());
+                        playerDTO.setCards(List.copyOf(player.getCards()));
                     }
 
                     return playerDTO;
                 })
                 .collect(Collectors.toList()));
 
-        // Convertir les cartes centrales
-        dto.setCenterCards(game.getCenterCards());
+        // Convertir les cartes centrales (copie : la vue peut être gardée en cache)
+        dto.setCenterCards(List.copyOf(game.getCenterCards()));
 
         // Informations sur le deck (juste le nombre de cartes)
         dto.setDeckSize(game.getDeck().size());
+        dto.setSequence(game.getEventSequence());
+        dto.setTurnTimeRemaining(turnTimeRemaining(game));
 
         return dto;
     }
-}
\ No newline at end of file
+
+    /**
+     * Temps restant (ms) avant l'expiration du tour, -1 sans minuteur
+     */
+    public static long turnTimeRemaining(Game game) {
+        long deadline = game.getTurnDeadline();
+        return deadline > 0 ? Math.max(0, deadline - System.currentTimeMillis()) : -1;
+    }
+}
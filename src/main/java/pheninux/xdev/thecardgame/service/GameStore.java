@@ -0,0 +1,90 @@
+package pheninux.xdev.thecardgame.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import pheninux.xdev.thecardgame.cluster.GameOwnership;
+import pheninux.xdev.thecardgame.model.Game;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stockage en mémoire de l'état de référence des parties en cours.
+ * Les actions modifient directement ces objets ; le moteur de sauvegarde
+ * n'est consulté qu'au premier accès à une partie absente de la mémoire.
+ * En cluster, seules les parties dont ce nœud est propriétaire sont gardées en mémoire.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameStore {
+
+    private final GamePersistence gamePersistence;
+    private final GameOwnership ownership;
+    private final Map<String, Game> liveGames = new ConcurrentHashMap<>();
+
+    /**
+     * Récupère une partie, en la rechargeant depuis la sauvegarde si nécessaire
+     */
+    public Optional<Game> find(String gameId) {
+        Game game = liveGames.get(gameId);
+        if (game != null) {
+            return Optional.of(game);
+        }
+
+        if (!ownership.isLocal(gameId)) {
+            // Partie d'un autre nœud : lecture seule depuis la sauvegarde, sans mise en cache
+            return gamePersistence.load(gameId);
+        }
+
+        return gamePersistence.load(gameId).map(loaded -> {
+            Game existing = liveGames.putIfAbsent(gameId, loaded);
+            return existing != null ? existing : loaded;
+        });
+    }
+
+    /**
+     * Indique si ce nœud est propriétaire de la partie
+     */
+    public boolean isLocal(String gameId) {
+        return ownership.isLocal(gameId);
+    }
+
+    /**
+     * Récupère une partie uniquement si elle est déjà en mémoire
+     */
+    public Optional<Game> peek(String gameId) {
+        return Optional.ofNullable(liveGames.get(gameId));
+    }
+
+    /**
+     * Enregistre (ou remplace) une partie en mémoire
+     */
+    public void put(Game game) {
+        liveGames.put(game.getId(), game);
+    }
+
+    /**
+     * Enregistre une nouvelle partie, sauf si une partie de même ID est déjà en mémoire
+     */
+    public boolean putIfAbsent(Game game) {
+        return liveGames.putIfAbsent(game.getId(), game) == null;
+    }
+
+    /**
+     * Retire une partie de la mémoire
+     */
+    public void evict(String gameId) {
+        liveGames.remove(gameId);
+    }
+
+    public Collection<Game> liveGames() {
+        return Collections.unmodifiableCollection(liveGames.values());
+    }
+
+    public int size() {
+        return liveGames.size();
+    }
+}
@@ -0,0 +1,108 @@
+package pheninux.xdev.thecardgame.simulation;
+
+import pheninux.xdev.thecardgame.engine.CardCodec;
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Stratégies fournies pour les simulations
+ */
+public enum BotStrategies implements BotStrategy {
+
+    /**
+     * Une carte jouable au hasard, couleur au hasard
+     */
+    RANDOM {
+        @Override
+        public int chooseCard(Game game, Player self, List<Integer> playable, RandomGenerator random) {
+            return playable.isEmpty() ? -1 : playable.get(random.nextInt(playable.size()));
+        }
+    },
+
+    /**
+     * La première carte jouable de la main
+     */
+    FIRST_PLAYABLE {
+        @Override
+        public int chooseCard(Game game, Player self, List<Integer> playable, RandomGenerator random) {
+            return playable.isEmpty() ? -1 : playable.get(0);
+        }
+    },
+
+    /**
+     * Les cartes spéciales d'abord, puis la couleur la plus présente dans la main
+     */
+    AGGRESSIVE {
+        @Override
+        public int chooseCard(Game game, Player self, List<Integer> playable, RandomGenerator random) {
+            for (int index : playable) {
+                if (isSpecial(self.getCards().get(index))) {
+                    return index;
+                }
+            }
+            return preferDominantColor(self, playable);
+        }
+
+        @Override
+        public String chooseColor(Game game, Player self, RandomGenerator random) {
+            return dominantColor(self);
+        }
+    },
+
+    /**
+     * Garde les cartes spéciales pour la fin et annonce sa couleur dominante
+     */
+    HOARDER {
+        @Override
+        public int chooseCard(Game game, Player self, List<Integer> playable, RandomGenerator random) {
+            for (int index : playable) {
+                if (!isSpecial(self.getCards().get(index))) {
+                    return index;
+                }
+            }
+            return playable.isEmpty() ? -1 : playable.get(0);
+        }
+
+        @Override
+        public String chooseColor(Game game, Player self, RandomGenerator random) {
+            return dominantColor(self);
+        }
+    };
+
+    @Override
+    public String chooseColor(Game game, Player self, RandomGenerator random) {
+        return CardCodec.COLORS[random.nextInt(CardCodec.COLOR_COUNT)];
+    }
+
+    private static boolean isSpecial(Card card) {
+        return CardCodec.symbolIndex(card.getSymbol()) <= CardCodec.COLOR_PICKER;
+    }
+
+    private static int preferDominantColor(Player self, List<Integer> playable) {
+        String color = dominantColor(self);
+        for (int index : playable) {
+            if (self.getCards().get(index).getColor().equals(color)) {
+                return index;
+            }
+        }
+        return playable.isEmpty() ? -1 : playable.get(0);
+    }
+
+    private static String dominantColor(Player self) {
+        int[] counts = new int[CardCodec.COLOR_COUNT];
+        for (Card card : self.getCards()) {
+            counts[CardCodec.colorIndex(card.getColor())]++;
+        }
+        int best = 0;
+        for (int color = 1; color < counts.length; color++) {
+            if (counts[color] > counts[best]) {
+                best = color;
+            }
+        }
+        return CardCodec.COLORS[best];
+    }
+}
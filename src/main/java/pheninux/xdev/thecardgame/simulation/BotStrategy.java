@@ -0,0 +1,25 @@
+package pheninux.xdev.thecardgame.simulation;
+
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Décision d'un joueur automatique. Une stratégie est partagée entre les threads
+ * de simulation : elle ne doit pas avoir d'état propre (le générateur fourni est
+ * celui de la partie en cours).
+ */
+public interface BotStrategy {
+
+    /**
+     * Index dans la main de la carte à jouer, choisi parmi "playable", ou -1 pour piocher
+     */
+    int chooseCard(Game game, Player self, List<Integer> playable, RandomGenerator random);
+
+    /**
+     * Couleur annoncée après une carte "choisir couleur"
+     */
+    String chooseColor(Game game, Player self, RandomGenerator random);
+}
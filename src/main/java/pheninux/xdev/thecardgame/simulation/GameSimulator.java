@@ -0,0 +1,182 @@
+package pheninux.xdev.thecardgame.simulation;
+
+import pheninux.xdev.thecardgame.cluster.GameOwnership;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.engine.CardCodec;
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.eventlog.GameEventLog;
+import pheninux.xdev.thecardgame.metrics.GameMetrics;
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.service.GameArchive;
+import pheninux.xdev.thecardgame.service.GamePersistence;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Simulation sans navigateur, Spring ni JPA : des bots jouent des parties complètes
+ * avec les règles de GameService (distribution, cartes spéciales, recyclage de la
+ * pioche). Les parties sont réparties par lots sur un ForkJoinPool ; chaque lot a
+ * son propre GameService et ses propres statistiques.
+ */
+public class GameSimulator {
+
+    private static final int GAMES_PER_TASK = 256;
+
+    private final List<BotStrategy> seats;
+    private final int maxActions;
+
+    /**
+     * @param seats      stratégie de chaque place (2 à 4 joueurs, la place 0 crée la partie)
+     * @param maxActions nombre d'actions au-delà duquel une partie est abandonnée
+     */
+    public GameSimulator(List<BotStrategy> seats, int maxActions) {
+        if (seats.size() < 2 || seats.size() > 4) {
+            throw new IllegalArgumentException("Une partie se joue de 2 à 4 joueurs");
+        }
+        this.seats = List.copyOf(seats);
+        this.maxActions = maxActions;
+    }
+
+    /**
+     * Simule "games" parties. Le résultat ne dépend que de "seed", pas du parallélisme.
+     */
+    public SimulationStats run(long games, long seed, int parallelism) {
+        long tasks = (games + GAMES_PER_TASK - 1) / GAMES_PER_TASK;
+        long start = System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            SimulationStats stats = pool.submit(() -> LongStream.range(0, tasks).parallel()
+                    .mapToObj(task -> runBatch(task * GAMES_PER_TASK, Math.min(games, (task + 1) * GAMES_PER_TASK), seed))
+                    .reduce(SimulationStats::merge)
+                    .orElseGet(() -> new SimulationStats(seats.size()))).get();
+            stats.setElapsedNanos(System.nanoTime() - start);
+            return stats;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec de la simulation", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private SimulationStats runBatch(long from, long to, long seed) {
+        GameStore store = new GameStore(NO_PERSISTENCE, GameOwnership.SINGLE_NODE);
+        GameService gameService = new GameService(store, NO_PERSISTENCE, event -> {
+        }, GameMetrics.disabled(), GameEventLog.disabled(), GameArchive.none());
+        SimulationStats stats = new SimulationStats(seats.size());
+
+        for (long index = from; index < to; index++) {
+            // Une graine par partie : le lot qui l'exécute n'a pas d'influence
+            long gameSeed = new SplittableRandom(seed + index).nextLong();
+            playGame(gameService, "sim-" + index, gameSeed, stats);
+            store.evict("sim-" + index);
+        }
+        return stats;
+    }
+
+    private void playGame(GameService gameService, String gameId, long seed, SimulationStats stats) {
+        SplittableRandom random = new SplittableRandom(~seed);
+
+        GameDTO request = new GameDTO();
+        request.setId(gameId);
+        request.setCreatorId("seat-0");
+        request.setCreatorName("Bot 0");
+        gameService.createGame(request, seed);
+        for (int seat = 1; seat < seats.size(); seat++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setId("seat-" + seat);
+            player.setName("Bot " + seat);
+            gameService.addPlayerAndGetGame(gameId, player);
+        }
+        Game game = gameService.startGameAndGetGame(gameId, "seat-0");
+
+        int actions = 0;
+        boolean deckEmpty = false;
+        List<Integer> playable = new ArrayList<>(8);
+        while (!game.isGameFinished() && actions < maxActions) {
+            int seat = game.getCurrentPlayerIndex();
+            Player player = game.getPlayers().get(seat);
+            BotStrategy strategy = seats.get(seat);
+
+            playable.clear();
+            for (int index = 0; index < player.getCards().size(); index++) {
+                if (gameService.isPlayable(game, player.getCards().get(index))) {
+                    playable.add(index);
+                }
+            }
+
+            actions++;
+            int choice = strategy.chooseCard(game, player, playable, random);
+            if (choice >= 0) {
+                Card card = player.getCards().get(choice);
+                gameService.playCardAndGetGame(gameId, player.getId(), choice);
+                // Les règles actuelles passent déjà la main après "choisir couleur" : le choix
+                // n'est fait que si le joueur a encore la main
+                if (!game.isGameFinished() && game.getCurrentPlayerIndex() == seat
+                        && CardCodec.symbolIndex(card.getSymbol()) == CardCodec.COLOR_PICKER) {
+                    gameService.chooseColorAndGetGame(gameId, player.getId(), strategy.chooseColor(game, player, random));
+                }
+            } else if (gameService.canDraw(game)) {
+                gameService.drawCardAndGetGame(gameId, player.getId());
+            } else {
+                deckEmpty = true;
+                break;
+            }
+        }
+
+        stats.recordGame(game.getTurnCounter(), actions, Math.max(0, game.getShuffleCount() - 1));
+        if (game.isGameFinished()) {
+            stats.recordWin(seatOf(game, game.getWinnerId()));
+        } else if (deckEmpty) {
+            stats.recordDeckEmpty();
+        } else {
+            stats.recordUnfinished();
+        }
+    }
+
+    private static int seatOf(Game game, String playerId) {
+        for (int seat = 0; seat < game.getPlayers().size(); seat++) {
+            if (game.getPlayers().get(seat).getId().equals(playerId)) {
+                return seat;
+            }
+        }
+        throw new IllegalStateException("Gagnant inconnu: " + playerId);
+    }
+
+    /**
+     * Les parties simulées ne sont jamais sauvegardées
+     */
+    private static final GamePersistence NO_PERSISTENCE = new GamePersistence() {
+        @Override
+        public void gameCreated(Game game) {
+        }
+
+        @Override
+        public void gameChanged(Game game, GameCommandDTO command, GameChanges changes) {
+        }
+
+        @Override
+        public void persistNow(Game game) {
+        }
+
+        @Override
+        public Optional<Game> load(String gameId) {
+            return Optional.empty();
+        }
+    };
+}
@@ -0,0 +1,44 @@
+package pheninux.xdev.thecardgame.simulation;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lancement en ligne de commande :
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=pheninux.xdev.thecardgame.simulation.SimulationRunner \
+ *     -Dexec.args="100000 AGGRESSIVE,RANDOM,FIRST_PLAYABLE,HOARDER 42"
+ * </pre>
+ * Arguments : nombre de parties, stratégies par place (séparées par des virgules), graine.
+ */
+public final class SimulationRunner {
+
+    private SimulationRunner() {
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        String strategies = args.length > 1 ? args[1] : "FIRST_PLAYABLE,FIRST_PLAYABLE,FIRST_PLAYABLE,FIRST_PLAYABLE";
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        // Hors Spring, logback journalise tout en DEBUG : seuls les avertissements sont utiles ici
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        List<BotStrategy> seats = new ArrayList<>();
+        for (String name : strategies.split(",")) {
+            seats.add(BotStrategies.valueOf(name.trim()));
+        }
+
+        GameSimulator simulator = new GameSimulator(seats, 2_000);
+        // Premier passage court pour la compilation JIT
+        simulator.run(Math.min(games, 10_000), seed, Runtime.getRuntime().availableProcessors());
+
+        SimulationStats stats = simulator.run(games, seed, Runtime.getRuntime().availableProcessors());
+        System.out.println("Stratégies : " + seats);
+        System.out.print(stats.report());
+    }
+}
@@ -0,0 +1,100 @@
+package pheninux.xdev.thecardgame.simulation;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Résultats cumulés d'une série de parties simulées. Chaque tâche remplit ses
+ * propres statistiques, fusionnées à la fin (aucun compteur partagé).
+ */
+@Getter
+public class SimulationStats {
+
+    private long games;
+    private long finished;
+    // Parties arrêtées sur "La pioche est vide" (aucune carte à piocher ni à recycler)
+    private long deckEmpty;
+    // Parties arrêtées par la limite d'actions
+    private long unfinished;
+    private long turns;
+    private long actions;
+    private long deckRecycles;
+    private final long[] winsBySeat;
+    private long elapsedNanos;
+
+    public SimulationStats(int seats) {
+        this.winsBySeat = new long[seats];
+    }
+
+    void recordGame(int turnCount, int actionCount, int recycles) {
+        games++;
+        turns += turnCount;
+        actions += actionCount;
+        deckRecycles += recycles;
+    }
+
+    void recordWin(int seat) {
+        finished++;
+        winsBySeat[seat]++;
+    }
+
+    void recordDeckEmpty() {
+        deckEmpty++;
+    }
+
+    void recordUnfinished() {
+        unfinished++;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        finished += other.finished;
+        deckEmpty += other.deckEmpty;
+        unfinished += other.unfinished;
+        turns += other.turns;
+        actions += other.actions;
+        deckRecycles += other.deckRecycles;
+        for (int seat = 0; seat < winsBySeat.length; seat++) {
+            winsBySeat[seat] += other.winsBySeat[seat];
+        }
+        return this;
+    }
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    public double averageTurns() {
+        return games == 0 ? 0 : (double) turns / games;
+    }
+
+    public double winRate(int seat) {
+        return finished == 0 ? 0 : (double) winsBySeat[seat] / finished;
+    }
+
+    public double deckEmptyRate() {
+        return games == 0 ? 0 : (double) deckEmpty / games;
+    }
+
+    public long[] getWinsBySeat() {
+        return Arrays.copyOf(winsBySeat, winsBySeat.length);
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Parties : %d (%.0f parties/s)%n", games, gamesPerSecond()));
+        report.append(String.format("Terminées : %d, pioche vide : %d (%.2f %%), limite atteinte : %d%n",
+                finished, deckEmpty, deckEmptyRate() * 100, unfinished));
+        report.append(String.format("Tours moyens : %.1f, actions moyennes : %.1f, recyclages de pioche : %.2f/partie%n",
+                averageTurns(), games == 0 ? 0 : (double) actions / games, games == 0 ? 0 : (double) deckRecycles / games));
+        for (int seat = 0; seat < winsBySeat.length; seat++) {
+            report.append(String.format("Place %d : %.1f %% de victoires%n", seat, winRate(seat) * 100));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,225 @@
+package pheninux.xdev.thecardgame.spectator;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameStateDTO;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flux spectateurs : l'état public d'une partie (sans aucune main) sur
+ * /topic/game/{gameId}/spectate, commun à tous les spectateurs.
+ * <p>
+ * Une trame est calculée et sérialisée une seule fois, quel que soit le nombre de
+ * spectateurs ; les mises à jour d'un même intervalle (game.spectator.frame-interval)
+ * n'en donnent qu'une. Avec game.spectator.delay, chaque trame est capturée à l'heure
+ * de l'action mais publiée après le délai. Un nouveau spectateur reçoit la dernière
+ * trame publiée en s'abonnant à /app/game/{gameId}/spectate.
+ * <p>
+ * Aucune trame n'est produite pour une partie sans spectateur sur ce nœud (en cluster,
+ * les spectateurs peuvent être ailleurs : les trames sont toujours produites). Avec un
+ * délai, la dernière trame est toujours tenue à jour : c'est aussi la vue REST des
+ * non-joueurs (GameViewCache) ; elle n'est envoyée au broker qu'en présence de spectateurs.
+ */
+@Slf4j
+@Component
+public class SpectatorService {
+
+    private static final String GAME_TOPIC = "/topic/game/";
+    private static final String SPECTATE_SUFFIX = "/spectate";
+
+    private final GameStore gameStore;
+    private final GameService gameService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final GameProperties.Spectator settings;
+    private final boolean clustered;
+    private final boolean delayed;
+
+    // Partie -> spectateurs abonnés sur ce nœud
+    private final Map<String, Integer> watchers = new ConcurrentHashMap<>();
+    // Session -> abonnement -> partie regardée
+    private final Map<String, Map<String, String>> subscriptions = new ConcurrentHashMap<>();
+    // Parties dont une trame est déjà programmée
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+    // Dernière trame publiée par partie (déjà retardée)
+    private final Map<String, GameStateDTO> lastFrames = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-spectator-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SpectatorService(GameStore gameStore,
+                            GameService gameService,
+                            SimpMessagingTemplate messagingTemplate,
+                            GameProperties properties) {
+        this.gameStore = gameStore;
+        this.gameService = gameService;
+        this.messagingTemplate = messagingTemplate;
+        this.settings = properties.getSpectator();
+        this.clustered = properties.getCluster().isEnabled();
+        this.delayed = settings.getDelay().isPositive();
+    }
+
+    /**
+     * Identifiant de partie d'une destination spectateur, null sinon
+     */
+    static String gameOf(String destination) {
+        if (destination == null || !destination.startsWith(GAME_TOPIC) || !destination.endsWith(SPECTATE_SUFFIX)) {
+            return null;
+        }
+        String gameId = destination.substring(GAME_TOPIC.length(), destination.length() - SPECTATE_SUFFIX.length());
+        return gameId.isEmpty() || gameId.indexOf('/') >= 0 ? null : gameId;
+    }
+
+    @EventListener
+    public void onGameUpdated(GameUpdatedEvent event) {
+        String gameId = event.game().getId();
+        if (clustered || delayed || watchers.containsKey(gameId)) {
+            scheduleFrame(gameId);
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String gameId = gameOf(headers.getDestination());
+        if (gameId == null || headers.getSessionId() == null || headers.getSubscriptionId() == null) {
+            return;
+        }
+        subscriptions.computeIfAbsent(headers.getSessionId(), session -> new ConcurrentHashMap<>())
+                .put(headers.getSubscriptionId(), gameId);
+        if (watchers.merge(gameId, 1, Integer::sum) == 1 && !lastFrames.containsKey(gameId)) {
+            // Premier spectateur : une trame même si la partie ne bouge plus
+            scheduleFrame(gameId);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> session = subscriptions.get(headers.getSessionId());
+        if (session != null && headers.getSubscriptionId() != null) {
+            String gameId = session.remove(headers.getSubscriptionId());
+            if (gameId != null) {
+                leave(gameId);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> session = subscriptions.remove(event.getSessionId());
+        if (session != null) {
+            session.values().forEach(this::leave);
+        }
+    }
+
+    /**
+     * État initial d'un nouveau spectateur : la dernière trame publiée ; sans retard,
+     * l'état courant si aucune trame n'a encore été publiée
+     */
+    public GameStateDTO currentFrame(String gameId) {
+        GameStateDTO frame = lastFrames.get(gameId);
+        if (frame != null || delayed) {
+            return frame;
+        }
+        return gameStore.peek(gameId).map(this::capture).orElse(null);
+    }
+
+    /**
+     * Spectateurs d'une partie abonnés sur ce nœud
+     */
+    public int spectatorCount(String gameId) {
+        return watchers.getOrDefault(gameId, 0);
+    }
+
+    public int spectatorCount() {
+        int count = 0;
+        for (int watching : watchers.values()) {
+            count += watching;
+        }
+        return count;
+    }
+
+    /**
+     * Oublie une partie retirée
+     */
+    public void forget(String gameId) {
+        lastFrames.remove(gameId);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        relay.shutdownNow();
+    }
+
+    private void leave(String gameId) {
+        Integer remaining = watchers.computeIfPresent(gameId, (id, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null && !clustered && !delayed) {
+            lastFrames.remove(gameId);
+        }
+    }
+
+    private void scheduleFrame(String gameId) {
+        if (scheduled.add(gameId)) {
+            relay.schedule(() -> captureFrame(gameId), settings.getFrameInterval().toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void captureFrame(String gameId) {
+        // Retiré avant la capture : une action pendant la capture programme la trame suivante
+        scheduled.remove(gameId);
+        Game game = gameStore.peek(gameId).orElse(null);
+        if (game == null) {
+            return;
+        }
+        GameStateDTO frame = capture(game);
+
+        Duration delay = settings.getDelay();
+        if (delay.isPositive()) {
+            relay.schedule(() -> publish(gameId, frame), delay.toNanos(), TimeUnit.NANOSECONDS);
+        } else {
+            publish(gameId, frame);
+        }
+    }
+
+    private GameStateDTO capture(Game game) {
+        synchronized (game) {
+            return gameService.convertToPublicGameStateDTO(game);
+        }
+    }
+
+    /**
+     * Un seul envoi par trame : le broker transmet le même message sérialisé à chaque abonné
+     */
+    private void publish(String gameId, GameStateDTO frame) {
+        lastFrames.merge(gameId, frame, (previous, next) -> next.getSequence() >= previous.getSequence() ? next : previous);
+        if (!clustered && !watchers.containsKey(gameId)) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSend(GAME_TOPIC + gameId + SPECTATE_SUFFIX, frame);
+        } catch (RuntimeException e) {
+            log.error("Échec de l'envoi de la trame spectateur de la partie {}", gameId, e);
+        }
+    }
+}
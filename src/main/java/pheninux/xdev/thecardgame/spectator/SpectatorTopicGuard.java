@@ -0,0 +1,67 @@
+package pheninux.xdev.thecardgame.spectator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.presence.PresenceTracker;
+
+/**
+ * Avec game.spectator.delay, les topics publics en direct d'une partie
+ * (/topic/game/{gameId} et /topic/game/{gameId}/events) sont réservés aux sessions
+ * assises à la table : une session s'assoit en s'abonnant d'abord à un topic personnel
+ * (voir PresenceTracker). Les autres abonnements sont ignorés ; les spectateurs passent
+ * par le flux retardé /topic/game/{gameId}/spectate.
+ * <p>
+ * Les topics personnels ne sont pas authentifiés : le délai écarte les spectateurs,
+ * pas un client qui se fait passer pour un joueur.
+ */
+@Slf4j
+@Component
+public class SpectatorTopicGuard implements ChannelInterceptor {
+
+    private static final String GAME_TOPIC = "/topic/game/";
+    private static final String EVENTS_SUFFIX = "/events";
+
+    // Résolu au premier abonnement : PresenceTracker dépend du broker, configuré avec ce filtre
+    private final ObjectProvider<PresenceTracker> presenceTracker;
+    private final boolean delayed;
+
+    public SpectatorTopicGuard(ObjectProvider<PresenceTracker> presenceTracker, GameProperties properties) {
+        this.presenceTracker = presenceTracker;
+        this.delayed = properties.getSpectator().getDelay().isPositive();
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!delayed || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.SUBSCRIBE) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String gameId = liveGameOf(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+        if (gameId == null || presenceTracker.getObject().isSeated(sessionId, gameId)) {
+            return message;
+        }
+        log.debug("Abonnement en direct refusé à la session {} : pas assise à la partie {}", sessionId, gameId);
+        return null;
+    }
+
+    /**
+     * Identifiant de partie d'un topic public en direct, null sinon
+     */
+    static String liveGameOf(String destination) {
+        if (destination == null || !destination.startsWith(GAME_TOPIC)) {
+            return null;
+        }
+        String gameId = destination.substring(GAME_TOPIC.length());
+        if (gameId.endsWith(EVENTS_SUFFIX)) {
+            gameId = gameId.substring(0, gameId.length() - EVENTS_SUFFIX.length());
+        }
+        return gameId.isEmpty() || gameId.indexOf('/') >= 0 ? null : gameId;
+    }
+}
@@ -0,0 +1,166 @@
+package pheninux.xdev.thecardgame.timer;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.eventlog.GameEventLog;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.service.GameCommandExecutor;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minuteur de tour des parties de ce nœud. Chaque passage au joueur suivant arme
+ * une échéance dans une roue temporelle partagée (un seul thread quel que soit le
+ * nombre de tables) ; à l'expiration, une commande TIMEOUT est placée dans la file
+ * de la partie, qui vérifie d'abord que le tour n'a pas changé entre-temps.
+ * <p>
+ * Lorsque tous les joueurs ont laissé expirer leur tour d'affilée, la table est
+ * considérée comme abandonnée : le minuteur s'arrête jusqu'à la prochaine action
+ * d'un joueur, et la partie peut être déchargée (GameLifecycleManager).
+ */
+@Service
+public class TurnTimerService {
+
+    private final GameService gameService;
+    private final GameCommandExecutor commandExecutor;
+    private final GameStore gameStore;
+    private final GameEventLog eventLog;
+    private final Duration timeout;
+    private final TimingWheel wheel;
+
+    private final Map<String, TurnDeadline> deadlines = new ConcurrentHashMap<>();
+
+    /**
+     * Échéance armée pour un tour ; "timeouts" compte les expirations consécutives
+     * qui y ont mené, "expired" marque celle en cours d'application
+     */
+    private record TurnDeadline(int turn, String playerId, TimingWheel.Timeout timeout, int timeouts, boolean expired) {
+
+        TurnDeadline expire() {
+            return new TurnDeadline(turn, playerId, timeout, timeouts, true);
+        }
+    }
+
+    public TurnTimerService(GameService gameService,
+                            GameCommandExecutor commandExecutor,
+                            GameStore gameStore,
+                            GameEventLog eventLog,
+                            GameProperties properties) {
+        this.gameService = gameService;
+        this.commandExecutor = commandExecutor;
+        this.gameStore = gameStore;
+        this.eventLog = eventLog;
+        GameProperties.Turn settings = properties.getTurn();
+        this.timeout = settings.getTimeout();
+        this.wheel = timeout.isPositive()
+                ? new TimingWheel("game-turn-timer", settings.getTick(), settings.getWheelSize())
+                : null;
+    }
+
+    /**
+     * Sur le thread de la partie, avant les diffusions : l'échéance est incluse dans l'état envoyé
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onGameUpdated(GameUpdatedEvent event) {
+        if (wheel == null) {
+            return;
+        }
+
+        Game game = event.game();
+        String gameId = game.getId();
+        Player current = game.getCurrentPlayer();
+        if (!game.isGameStarted() || game.isGameFinished() || current == null) {
+            stop(game);
+            return;
+        }
+
+        TurnDeadline armed = deadlines.get(gameId);
+        if (armed != null && !armed.expired()
+                && armed.turn() == game.getTurnCounter() && armed.playerId().equals(current.getId())) {
+            // Même tour (carte piochée jouable, couleur à choisir) : l'échéance est conservée
+            return;
+        }
+
+        int timeouts = armed != null && armed.expired() ? armed.timeouts() + 1 : 0;
+        if (timeouts >= game.getPlayers().size()) {
+            stop(game);
+            eventLog.record(gameId, GameEventLog.Level.WARN, "TIMER_STOPPED", "timeouts", timeouts);
+            return;
+        }
+
+        int turn = game.getTurnCounter();
+        String playerId = current.getId();
+        TimingWheel.Timeout handle = wheel.schedule(() -> expired(gameId, turn, playerId), timeout);
+        TurnDeadline previous = deadlines.put(gameId, new TurnDeadline(turn, playerId, handle, timeouts, false));
+        if (previous != null) {
+            previous.timeout().cancel();
+        }
+        synchronized (game) {
+            game.setTurnDeadline(System.currentTimeMillis() + timeout.toMillis());
+        }
+    }
+
+    /**
+     * Échéances en attente (toutes parties confondues)
+     */
+    public int pendingCount() {
+        return wheel != null ? wheel.pendingCount() : 0;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    /**
+     * Sur le thread de la roue : la vérification et la commande passent par la file de la partie
+     */
+    private void expired(String gameId, int turn, String playerId) {
+        commandExecutor.submit(gameId, () -> {
+            TurnDeadline armed = deadlines.get(gameId);
+            if (armed == null || armed.expired() || armed.turn() != turn || !armed.playerId().equals(playerId)) {
+                // Le joueur a joué entre l'expiration et son traitement
+                return null;
+            }
+            Game game = gameStore.peek(gameId).orElse(null);
+            if (game == null || game.isGameFinished() || game.getTurnCounter() != turn) {
+                deadlines.remove(gameId, armed);
+                return null;
+            }
+
+            deadlines.put(gameId, armed.expire());
+            return gameService.timeoutTurnAndGetGame(gameId, playerId);
+        }).whenComplete((game, error) -> {
+            if (error != null) {
+                deadlines.remove(gameId);
+                eventLog.record(gameId, GameEventLog.Level.WARN, "TIMEOUT_FAILED",
+                        "player", playerId, "reason", error.getMessage());
+            }
+        });
+    }
+
+    private void stop(Game game) {
+        TurnDeadline previous = deadlines.remove(game.getId());
+        if (previous != null) {
+            previous.timeout().cancel();
+        }
+        if (game.getTurnDeadline() != 0) {
+            synchronized (game) {
+                game.setTurnDeadline(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package pheninux.xdev.thecardgame.tournament;
+
+import pheninux.xdev.thecardgame.dto.TournamentDTO;
+import pheninux.xdev.thecardgame.dto.TournamentStandingDTO;
+import pheninux.xdev.thecardgame.dto.TournamentTableDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * État d'un tournoi à élimination : tables du tour en cours, vainqueurs, classement.
+ * Les résultats arrivent des threads des différentes tables : accès synchronisés.
+ */
+final class Tournament {
+
+    record Entrant(String playerId, String name, int seed) {
+    }
+
+    private static final class Table {
+        final String gameId;
+        final List<Entrant> players;
+        Entrant winner;
+
+        Table(String gameId, List<Entrant> players) {
+            this.gameId = gameId;
+            this.players = players;
+        }
+    }
+
+    private final String id;
+    private final String name;
+    private final int tableSize;
+    private final Long seed;
+    private final List<Entrant> entrants;
+    private final Map<String, Integer> wins = new HashMap<>();
+    private final Map<String, Integer> eliminatedIn = new HashMap<>();
+
+    private int round;
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+    // Joueurs qualifiés pour le tour suivant (vainqueurs et exemptés)
+    private final List<Entrant> qualified = new ArrayList<>();
+    private int pending;
+    private Entrant champion;
+
+    Tournament(String id, String name, int tableSize, Long seed, List<Entrant> entrants) {
+        this.id = id;
+        this.name = name;
+        this.tableSize = tableSize;
+        this.seed = seed;
+        this.entrants = List.copyOf(entrants);
+        this.qualified.addAll(entrants);
+    }
+
+    String id() {
+        return id;
+    }
+
+    /**
+     * Répartit les qualifiés du tour précédent en tables "en serpentin" : les meilleures
+     * têtes de série sont séparées. Une table d'un seul joueur est une exemption.
+     * Retourne une liste vide si le tournoi est terminé.
+     */
+    synchronized List<List<Entrant>> nextRound() {
+        if (qualified.size() <= 1) {
+            champion = qualified.isEmpty() ? null : qualified.get(0);
+            return List.of();
+        }
+
+        List<Entrant> field = new ArrayList<>(qualified);
+        field.sort(Comparator.comparingInt(Entrant::seed));
+        qualified.clear();
+        tables.clear();
+        round++;
+
+        int tableCount = (field.size() + tableSize - 1) / tableSize;
+        List<List<Entrant>> seating = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            seating.add(new ArrayList<>(tableSize));
+        }
+        for (int i = 0; i < field.size(); i++) {
+            int pass = i / tableCount;
+            int position = i % tableCount;
+            seating.get(pass % 2 == 0 ? position : tableCount - 1 - position).add(field.get(i));
+        }
+        return seating;
+    }
+
+    /**
+     * Enregistre les tables du tour ; les joueurs seuls à leur table sont qualifiés d'office
+     */
+    synchronized void startRound(Map<String, List<Entrant>> roundTables) {
+        pending = 0;
+        roundTables.forEach((gameId, players) -> {
+            Table table = new Table(gameId, players);
+            tables.put(gameId, table);
+            if (players.size() == 1) {
+                win(table, players.get(0));
+            } else {
+                pending++;
+            }
+        });
+    }
+
+    synchronized int round() {
+        return round;
+    }
+
+    /**
+     * Graine d'une table, dérivée de celle du tournoi ; null (tirage libre) sans graine
+     */
+    Long tableSeed(int tableRound, int table) {
+        return seed != null ? seed * 31 + tableRound * 1_000L + table : null;
+    }
+
+    /**
+     * Résultat d'une table. Retourne true si c'était la dernière table du tour ;
+     * un résultat déjà connu ou un vainqueur absent de la table est ignoré.
+     */
+    synchronized boolean recordWinner(String gameId, String winnerId) {
+        Table table = tables.get(gameId);
+        if (table == null || table.winner != null) {
+            return false;
+        }
+        Entrant winner = table.players.stream()
+                .filter(entrant -> entrant.playerId().equals(winnerId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Le joueur " + winnerId + " n'est pas à la table " + gameId));
+
+        win(table, winner);
+        for (Entrant player : table.players) {
+            if (player != winner) {
+                eliminatedIn.put(player.playerId(), round);
+            }
+        }
+        return --pending == 0;
+    }
+
+    synchronized boolean hasTable(String gameId) {
+        return tables.containsKey(gameId);
+    }
+
+    synchronized TournamentDTO toDTO() {
+        List<TournamentTableDTO> tableViews = new ArrayList<>(tables.size());
+        for (Table table : tables.values()) {
+            tableViews.add(new TournamentTableDTO(table.gameId, round,
+                    table.players.stream().map(Entrant::playerId).toList(),
+                    table.winner != null ? table.winner.playerId() : null));
+        }
+
+        List<TournamentStandingDTO> standings = new ArrayList<>(entrants.size());
+        for (Entrant entrant : entrants) {
+            standings.add(new TournamentStandingDTO(entrant.playerId(), entrant.name(), entrant.seed(),
+                    wins.getOrDefault(entrant.playerId(), 0),
+                    eliminatedIn.getOrDefault(entrant.playerId(), 0),
+                    champion == entrant));
+        }
+        standings.sort(Comparator.comparing(TournamentStandingDTO::isChampion).reversed()
+                .thenComparing(standing -> standing.getEliminatedInRound() == 0 ? Integer.MAX_VALUE : standing.getEliminatedInRound(),
+                        Comparator.reverseOrder())
+                .thenComparing(TournamentStandingDTO::getWins, Comparator.reverseOrder())
+                .thenComparingInt(TournamentStandingDTO::getSeed));
+
+        return new TournamentDTO(id, name, tableSize, round, champion != null,
+                champion != null ? champion.playerId() : null, tableViews, standings);
+    }
+
+    private void win(Table table, Entrant winner) {
+        table.winner = winner;
+        wins.merge(winner.playerId(), 1, Integer::sum);
+        qualified.add(winner);
+    }
+}
@@ -0,0 +1,220 @@
+package pheninux.xdev.thecardgame.tournament;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import pheninux.xdev.thecardgame.dto.ErrorResponseDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.GameTableDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.dto.TableResultDTO;
+import pheninux.xdev.thecardgame.dto.TournamentDTO;
+import pheninux.xdev.thecardgame.dto.TournamentRequestDTO;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.service.GameCommandDispatcher;
+import pheninux.xdev.thecardgame.service.GameService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tournois à élimination directe : à chaque tour, les qualifiés sont répartis en tables
+ * créées d'un seul lot (GameService.createTables), démarrées aussitôt, et le vainqueur de
+ * chaque table passe au tour suivant. Le tour suivant est lancé par la fin de la dernière
+ * table, sur le thread des tours : la file de commandes de cette table n'attend pas la
+ * création des tables suivantes.
+ * <p>
+ * L'état du tournoi est publié sur /topic/tournament/{id} à chaque début de tour et à la
+ * fin ; l'échec d'un tour lancé par une fin de partie, sur /topic/tournament/{id}/error. Les tournois sont tenus en mémoire ; en cluster, seules les tables de ce nœud
+ * annoncent leur fin : une table d'un autre nœud se tranche avec {@link #decide}.
+ */
+@Slf4j
+@Service
+public class TournamentService {
+
+    private static final String TOURNAMENT_TOPIC = "/topic/tournament/";
+
+    private final GameService gameService;
+    private final GameCommandDispatcher commandDispatcher;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, Tournament> tournaments = new ConcurrentHashMap<>();
+    // Table -> tournoi, pour retrouver le tournoi à la fin d'une partie
+    private final Map<String, Tournament> tables = new ConcurrentHashMap<>();
+    // Tournois dont les tables ne sont pas démarrées automatiquement
+    private final Set<String> manualStart = ConcurrentHashMap.newKeySet();
+    private final ExecutorService rounds = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tournament-rounds");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TournamentService(GameService gameService,
+                             GameCommandDispatcher commandDispatcher,
+                             SimpMessagingTemplate messagingTemplate) {
+        this.gameService = gameService;
+        this.commandDispatcher = commandDispatcher;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Inscrit les joueurs et lance le premier tour
+     */
+    public TournamentDTO create(TournamentRequestDTO request) {
+        List<PlayerDTO> players = request.getPlayers();
+        if (players == null || players.size() < 2) {
+            throw new IllegalArgumentException("Il faut au moins 2 joueurs pour un tournoi");
+        }
+        if (request.getTableSize() < 2 || request.getTableSize() > GameService.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Une table de tournoi compte de 2 à " + GameService.MAX_PLAYERS + " joueurs");
+        }
+        Set<String> ids = new HashSet<>();
+        List<Tournament.Entrant> entrants = new ArrayList<>(players.size());
+        for (PlayerDTO player : players) {
+            if (player.getId() == null || !ids.add(player.getId())) {
+                throw new IllegalArgumentException("Chaque joueur doit avoir un identifiant unique");
+            }
+            entrants.add(new Tournament.Entrant(player.getId(), player.getName(), entrants.size() + 1));
+        }
+
+        String id = UUID.randomUUID().toString().substring(0, 8);
+        Tournament tournament = new Tournament(id, request.getName(), request.getTableSize(), request.getSeed(), entrants);
+        tournaments.put(id, tournament);
+        if (!request.isAutoStart()) {
+            manualStart.add(id);
+        }
+        log.info("Tournoi {} : {} joueurs, tables de {}", id, entrants.size(), request.getTableSize());
+
+        startNextRound(tournament);
+        return tournament.toDTO();
+    }
+
+    public Optional<TournamentDTO> find(String tournamentId) {
+        return Optional.ofNullable(tournaments.get(tournamentId)).map(Tournament::toDTO);
+    }
+
+    /**
+     * Décision d'arbitrage : désigne le vainqueur d'une table (table bloquée, ou tenue
+     * par un autre nœud du cluster)
+     */
+    public TournamentDTO decide(String tournamentId, String gameId, String winnerId) {
+        Tournament tournament = tournaments.get(tournamentId);
+        if (tournament == null || !tournament.hasTable(gameId)) {
+            throw new NoSuchElementException("Table de tournoi non trouvée: " + gameId);
+        }
+        if (tournament.recordWinner(gameId, winnerId)) {
+            startNextRound(tournament);
+        }
+        tables.remove(gameId);
+        return tournament.toDTO();
+    }
+
+    @EventListener
+    public void onGameUpdated(GameUpdatedEvent event) {
+        Game game = event.game();
+        if (game.getTournamentId() == null || !game.isGameFinished() || game.getWinnerId() == null) {
+            return;
+        }
+        Tournament tournament = tables.remove(game.getId());
+        if (tournament != null && tournament.recordWinner(game.getId(), game.getWinnerId())) {
+            rounds.execute(() -> startNextRoundOrReport(tournament));
+        }
+    }
+
+    /**
+     * Nombre de tournois en mémoire
+     */
+    public int size() {
+        return tournaments.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rounds.shutdownNow();
+    }
+
+    /**
+     * Tour lancé par une fin de partie : l'échec est journalisé et publié, sans remonter
+     */
+    private void startNextRoundOrReport(Tournament tournament) {
+        try {
+            startNextRound(tournament);
+        } catch (RuntimeException e) {
+            log.error("Tournoi {} : échec du lancement du tour {}", tournament.id(), tournament.round(), e);
+            ErrorResponseDTO error = new ErrorResponseDTO();
+            error.setError(true);
+            error.setMessage(e.getMessage());
+            messagingTemplate.convertAndSend(TOURNAMENT_TOPIC + tournament.id() + "/error", error);
+        }
+    }
+
+    /**
+     * Crée les tables du tour suivant ; une seule table par joueur, d'un seul lot
+     */
+    private void startNextRound(Tournament tournament) {
+        List<List<Tournament.Entrant>> seating = tournament.nextRound();
+        if (seating.isEmpty()) {
+            TournamentDTO result = tournament.toDTO();
+            log.info("Tournoi {} terminé : vainqueur {}", tournament.id(), result.getChampionId());
+            publish(result);
+            return;
+        }
+
+        int round = tournament.round();
+        Map<String, List<Tournament.Entrant>> roundTables = new LinkedHashMap<>();
+        List<GameTableDTO> specs = new ArrayList<>(seating.size());
+        for (int i = 0; i < seating.size(); i++) {
+            List<Tournament.Entrant> players = seating.get(i);
+            String gameId = tournament.id() + "-r" + round + "-t" + (i + 1);
+            roundTables.put(gameId, players);
+            if (players.size() > 1) {
+                specs.add(new GameTableDTO(gameId, players.stream().map(TournamentService::toPlayer).toList(),
+                        tournament.tableSeed(round, i)));
+            }
+        }
+
+        // Indexées avant la création : aucune fin de partie ne peut être manquée
+        tournament.startRound(roundTables);
+        for (GameTableDTO spec : specs) {
+            tables.put(spec.getId(), tournament);
+        }
+        for (TableResultDTO result : gameService.createTables(specs, tournament.id())) {
+            if (result.getStatus() == TableResultDTO.Status.REJECTED) {
+                throw new IllegalStateException("Table de tournoi refusée: " + result.getGameId() + " (" + result.getMessage() + ")");
+            }
+        }
+        if (!manualStart.contains(tournament.id())) {
+            for (GameTableDTO spec : specs) {
+                commandDispatcher.dispatch(new GameCommandDTO(spec.getId(), GameCommandType.START,
+                        spec.getPlayers().get(0).getId(), null, 0, null));
+            }
+        }
+        log.debug("Tournoi {} : tour {}, {} tables", tournament.id(), round, specs.size());
+        publish(tournament.toDTO());
+    }
+
+    private void publish(TournamentDTO tournament) {
+        messagingTemplate.convertAndSend(TOURNAMENT_TOPIC + tournament.getId(), tournament);
+    }
+
+    private static PlayerDTO toPlayer(Tournament.Entrant entrant) {
+        PlayerDTO player = new PlayerDTO();
+        player.setId(entrant.playerId());
+        player.setName(entrant.name());
+        return player;
+    }
+}
@@ -0,0 +1,160 @@
+package pheninux.xdev.thecardgame.wire;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import pheninux.xdev.thecardgame.engine.CardCodec;
+import pheninux.xdev.thecardgame.model.Card;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Encodage binaire des messages de jeu : même structure que le JSON, en CBOR, avec
+ * chaque carte {color, symbol} remplacée par son index de face (couleur * 8 + symbole).
+ * Les noms de couleur et les symboles Unicode répétés dans chaque main et au centre
+ * disparaissent ainsi des trames.
+ */
+public final class CompactCborCodec {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+    private static final ObjectMapper CBOR = CBORMapper.builder(CBOR_FACTORY)
+            .addModule(new SimpleModule().addSerializer(Card.class, new CardFaceSerializer()))
+            .build();
+
+    private CompactCborCodec() {
+    }
+
+    /**
+     * Encode directement un DTO
+     */
+    public static byte[] encode(Object payload) {
+        try {
+            return CBOR.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Convertit un message déjà sérialisé en JSON (tel que publié dans le broker),
+     * en flux, sans construire d'arbre
+     */
+    public static byte[] transcode(byte[] json) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(json.length / 2);
+        try (JsonParser parser = JSON_FACTORY.createParser(json);
+             JsonGenerator generator = CBOR_FACTORY.createGenerator(output)) {
+            parser.nextToken();
+            copyValue(parser, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    public static JsonNode decode(byte[] cbor) {
+        try {
+            return CBOR.readTree(cbor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void copyValue(JsonParser parser, JsonGenerator generator) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT -> copyObject(parser, generator);
+            case START_ARRAY -> {
+                generator.writeStartArray();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    copyValue(parser, generator);
+                }
+                generator.writeEndArray();
+            }
+            default -> generator.copyCurrentEvent(parser);
+        }
+    }
+
+    /**
+     * Une carte est exactement {"color": ..., "symbol": ...} dans cet ordre (ordre des
+     * champs de Card) ; tout autre objet est recopié tel quel
+     */
+    private static void copyObject(JsonParser parser, JsonGenerator generator) throws IOException {
+        String color = null;
+        String symbol = null;
+        if (nextStringField(parser, "color")) {
+            color = parser.getText();
+            if (nextStringField(parser, "symbol")) {
+                symbol = parser.getText();
+                int face = face(color, symbol);
+                if (parser.nextToken() == JsonToken.END_OBJECT && face >= 0) {
+                    generator.writeNumber(face);
+                    return;
+                }
+            }
+        }
+
+        generator.writeStartObject();
+        if (color != null) {
+            generator.writeStringField("color", color);
+        }
+        if (symbol != null) {
+            generator.writeStringField("symbol", symbol);
+        }
+        // Le parseur est sur un nom de champ, sur la valeur d'un champ déjà lu ou en fin d'objet
+        JsonToken token = parser.currentToken();
+        while (token != JsonToken.END_OBJECT) {
+            generator.writeFieldName(parser.currentName());
+            if (token == JsonToken.FIELD_NAME) {
+                parser.nextToken();
+            }
+            copyValue(parser, generator);
+            token = parser.nextToken();
+        }
+        generator.writeEndObject();
+    }
+
+    private static boolean nextStringField(JsonParser parser, String name) throws IOException {
+        return parser.nextToken() == JsonToken.FIELD_NAME && name.equals(parser.currentName())
+                && parser.nextToken() == JsonToken.VALUE_STRING;
+    }
+
+    /**
+     * Index de face d'une carte connue, -1 sinon
+     */
+    private static int face(String color, String symbol) {
+        int colorIndex = CardCodec.colorIndex(color);
+        int symbolIndex = indexOf(CardCodec.SYMBOLS, symbol);
+        return colorIndex == CardCodec.NO_COLOR || symbolIndex < 0 ? -1 : (colorIndex << 3) | symbolIndex;
+    }
+
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class CardFaceSerializer extends StdSerializer<Card> {
+
+        CardFaceSerializer() {
+            super(Card.class);
+        }
+
+        @Override
+        public void serialize(Card card, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(CardCodec.faceOf(card));
+        }
+    }
+}
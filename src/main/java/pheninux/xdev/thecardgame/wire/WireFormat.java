@@ -0,0 +1,17 @@
+package pheninux.xdev.thecardgame.wire;
+
+/**
+ * Encodage des trames envoyées à une session STOMP, choisi par le client à la
+ * connexion avec l'en-tête "wire-format" (JSON par défaut)
+ */
+public enum WireFormat {
+    JSON,
+    // CBOR, cartes réduites à leur index de face (0..31, voir CardCodec)
+    CBOR;
+
+    public static final String HEADER = "wire-format";
+
+    public static WireFormat fromHeader(String value) {
+        return "cbor".equalsIgnoreCase(value) ? CBOR : JSON;
+    }
+}
@@ -0,0 +1,137 @@
+package pheninux.xdev.thecardgame.wire;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Négocie et applique l'encodage des trames par session.
+ * En entrée ({@link #inbound()}) : un CONNECT portant "wire-format: cbor" active CBOR pour
+ * la session, à condition qu'elle soit une WebSocket native (SockJS ne transporte que du
+ * texte). Les SEND des clients ne sont jamais modifiés.
+ * En sortie ({@link #outbound()}) : les messages JSON destinés à ces sessions sont
+ * convertis, une seule fois par message diffusé même s'il part vers de nombreux abonnés.
+ */
+@Slf4j
+@Component
+public class WireFormatInterceptor {
+
+    private static final String BINARY_TRANSPORT_ATTRIBUTE = "wireFormat.binaryTransport";
+
+    /**
+     * Marque les sessions ouvertes sur un endpoint WebSocket natif
+     */
+    public static final HandshakeInterceptor BINARY_TRANSPORT = new HandshakeInterceptor() {
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            attributes.put(BINARY_TRANSPORT_ATTRIBUTE, Boolean.TRUE);
+            return true;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    };
+
+    private final Set<String> binarySessions = ConcurrentHashMap.newKeySet();
+
+    // Le broker envoie le même tableau d'octets à chaque abonné : clé par identité
+    private final Map<byte[], byte[]> transcoded = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ChannelInterceptor inbound = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            // Lecture directe des en-têtes : pas de copie pour les messages non concernés
+            SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            if (type == SimpMessageType.CONNECT && sessionId != null) {
+                negotiate(StompHeaderAccessor.wrap(message), sessionId);
+            } else if (type == SimpMessageType.DISCONNECT && sessionId != null) {
+                binarySessions.remove(sessionId);
+            }
+            return message;
+        }
+    };
+
+    private final ChannelInterceptor outbound = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            if (type == SimpMessageType.MESSAGE && sessionId != null && binarySessions.contains(sessionId)) {
+                return toCbor(message, StompHeaderAccessor.wrap(message));
+            }
+            return message;
+        }
+    };
+
+    /**
+     * Intercepteur du canal entrant (clientInboundChannel) : négociation du format
+     */
+    public ChannelInterceptor inbound() {
+        return inbound;
+    }
+
+    /**
+     * Intercepteur du canal sortant (clientOutboundChannel) : conversion en CBOR
+     */
+    public ChannelInterceptor outbound() {
+        return outbound;
+    }
+
+    public WireFormat formatOf(String sessionId) {
+        return binarySessions.contains(sessionId) ? WireFormat.CBOR : WireFormat.JSON;
+    }
+
+    private void negotiate(StompHeaderAccessor accessor, String sessionId) {
+        if (WireFormat.fromHeader(accessor.getFirstNativeHeader(WireFormat.HEADER)) != WireFormat.CBOR) {
+            return;
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes != null && Boolean.TRUE.equals(attributes.get(BINARY_TRANSPORT_ATTRIBUTE))) {
+            binarySessions.add(sessionId);
+        } else {
+            log.debug("Session {} : CBOR demandé sur un transport texte, JSON conservé", sessionId);
+        }
+    }
+
+    private Message<?> toCbor(Message<?> message, StompHeaderAccessor accessor) {
+        if (!(message.getPayload() instanceof byte[] json) || json.length == 0
+                || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(accessor.getContentType())) {
+            return message;
+        }
+        byte[] cbor = transcoded.get(json);
+        if (cbor == null) {
+            // Conversion hors du verrou de la map : les autres diffusions ne l'attendent pas
+            byte[] fresh = CompactCborCodec.transcode(json);
+            cbor = transcoded.putIfAbsent(json, fresh);
+            if (cbor == null) {
+                cbor = fresh;
+            }
+        }
+
+        // application/octet-stream : le handler STOMP envoie alors une trame WebSocket binaire
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(WireFormat.HEADER, "cbor");
+        return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+    }
+}
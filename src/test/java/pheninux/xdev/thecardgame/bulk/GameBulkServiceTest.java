@@ -0,0 +1,174 @@
+package pheninux.xdev.thecardgame.bulk;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import pheninux.xdev.thecardgame.dto.CommandResultDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.GameTableDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.dto.TableResultDTO;
+import pheninux.xdev.thecardgame.lobby.LobbyService;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.service.GamePersistence;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class GameBulkServiceTest {
+
+    @Autowired
+    private GameBulkService bulkService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private GamePersistence gamePersistence;
+
+    @Autowired
+    private LobbyService lobbyService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void createsManyGamesWithSeatedPlayers() {
+        List<GameTableDTO> tables = IntStream.range(0, 50)
+                .mapToObj(i -> table("bulk-" + i, "bulk-" + i + "-a", "bulk-" + i + "-b"))
+                .toList();
+
+        List<TableResultDTO> created = bulkService.createGames(tables);
+
+        assertThat(created).extracting(TableResultDTO::getGameId).containsExactlyElementsOf(tables.stream().map(GameTableDTO::getId).toList());
+        assertThat(created).allMatch(result -> result.getStatus() == TableResultDTO.Status.CREATED
+                && result.getGame().getId().equals(result.getGameId()));
+        assertThat(gameStore.peek("bulk-7")).hasValueSatisfying(game -> {
+            assertThat(game.getPlayers()).extracting("id").containsExactly("bulk-7-a", "bulk-7-b");
+            assertThat(game.getPlayers().get(0).isCreator()).isTrue();
+        });
+        // Tables libres : visibles au salon
+        assertThat(lobbyService.openTables(10_000)).anyMatch(table -> table.getGameId().equals("bulk-7"));
+    }
+
+    @Test
+    void tablesWithAnExistingIdAreRejected() {
+        bulkService.createGames(List.of(table("dup-live", "dl-a", "dl-b"), table("dup-saved", "ds-a", "ds-b")));
+        bulkService.execute(List.of(command("dup-live", GameCommandType.START, "dl-a", null))).join();
+        // Partie sauvegardée puis retirée de la mémoire
+        Game saved = gameStore.peek("dup-saved").orElseThrow();
+        gamePersistence.unloading(saved);
+        gameStore.evict("dup-saved");
+
+        List<TableResultDTO> results = bulkService.createGames(List.of(
+                table("dup-live", "x-a", "x-b"),
+                table("dup-saved", "y-a", "y-b"),
+                table("dup-new", "z-a", "z-b"),
+                table("dup-new", "w-a", "w-b"),
+                table("dup-empty")));
+
+        assertThat(results).extracting(TableResultDTO::getStatus).containsExactly(
+                TableResultDTO.Status.REJECTED,
+                TableResultDTO.Status.REJECTED,
+                TableResultDTO.Status.CREATED,
+                TableResultDTO.Status.REJECTED,
+                TableResultDTO.Status.REJECTED);
+        assertThat(results.get(0).getMessage()).isEqualTo("Partie déjà existante: dup-live");
+        // La partie en cours n'est pas remplacée
+        Game live = gameStore.peek("dup-live").orElseThrow();
+        assertThat(live.isGameStarted()).isTrue();
+        assertThat(live.getPlayers()).extracting("id").containsExactly("dl-a", "dl-b");
+        assertThat(gameStore.peek("dup-saved")).isEmpty();
+        assertThat(gameStore.peek("dup-new").orElseThrow().getPlayers()).extracting("id").containsExactly("z-a", "z-b");
+    }
+
+    @Test
+    void commandsAreAppliedInOrderPerGame() {
+        bulkService.createGames(List.of(table("order-1", "o1-a", "o1-b"), table("order-2", "o2-a", "o2-b")));
+
+        List<CommandResultDTO> results = bulkService.execute(List.of(
+                command("order-1", GameCommandType.START, "o1-b", null),
+                command("order-2", GameCommandType.JOIN, "o2-c", "Carol"),
+                command("order-1", GameCommandType.START, "o1-a", null),
+                command("order-2", GameCommandType.START, "o2-a", null),
+                command("missing", GameCommandType.START, "x", null))).join();
+
+        assertThat(results).extracting(CommandResultDTO::getStatus).containsExactly(
+                CommandResultDTO.Status.REJECTED,
+                CommandResultDTO.Status.APPLIED,
+                CommandResultDTO.Status.APPLIED,
+                CommandResultDTO.Status.APPLIED,
+                CommandResultDTO.Status.REJECTED);
+        assertThat(results.get(0).getMessage()).isEqualTo("Seul le créateur peut démarrer la partie");
+
+        // Le JOIN précède le START de la même partie
+        Game second = gameStore.peek("order-2").orElseThrow();
+        assertThat(second.isGameStarted()).isTrue();
+        assertThat(second.getPlayers()).hasSize(3);
+        assertThat(second.getPlayers().get(2).getCards()).isNotEmpty();
+    }
+
+    @Test
+    void batchesAreBounded() {
+        List<GameCommandDTO> tooMany = IntStream.range(0, 10_001)
+                .mapToObj(i -> command("bounded", GameCommandType.SYNC, "p", null))
+                .toList();
+
+        assertThatThrownBy(() -> bulkService.execute(tooMany).join())
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void commandsEndpointReturnsOneResultPerCommand() throws Exception {
+        bulkService.createGames(List.of(table("rest-bulk", "rb-a", "rb-b")));
+
+        MvcResult pending = mockMvc.perform(post("/api/games/commands").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"gameId":"rest-bulk","type":"START","playerId":"rb-a"},
+                                 {"gameId":"rest-bulk","type":"DRAW_CARD","playerId":"nobody"}]
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("APPLIED"))
+                .andExpect(jsonPath("$[1].status").value("REJECTED"));
+    }
+
+    private static GameTableDTO table(String gameId, String... playerIds) {
+        List<PlayerDTO> players = Arrays.stream(playerIds).map(id -> {
+            PlayerDTO player = new PlayerDTO();
+            player.setId(id);
+            player.setName(id);
+            return player;
+        }).toList();
+        return new GameTableDTO(gameId, players, null);
+    }
+
+    private static GameCommandDTO command(String gameId, GameCommandType type, String playerId, String playerName) {
+        return new GameCommandDTO(gameId, type, playerId, playerName, 0, null);
+    }
+}
@@ -0,0 +1,100 @@
+package pheninux.xdev.thecardgame.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.GameStateDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.service.GameService;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class GameViewCacheTest {
+
+    @Autowired
+    private GameViewCache viewCache;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void viewIsCachedUntilTheNextAction() {
+        String gameId = newGame();
+        GameViewCache.View<GameDTO> first = viewCache.game(gameId);
+
+        assertThat(viewCache.game(gameId).body()).isSameAs(first.body());
+
+        join(gameId, gameId + "-p2");
+
+        assertThat(viewCache.sequence(gameId)).isEqualTo(-1);
+        GameViewCache.View<GameDTO> next = viewCache.game(gameId);
+        assertThat(next.body().getPlayerCount()).isEqualTo(2);
+        assertThat(next.sequence()).isGreaterThan(first.sequence());
+    }
+
+    @Test
+    void spectatorsShareOneViewWithoutCards() {
+        String gameId = newGame();
+        join(gameId, gameId + "-p2");
+        gameService.startGameAndGetGame(gameId, gameId + "-p1");
+
+        GameStateDTO player = viewCache.state(gameId, gameId + "-p1").body();
+        GameStateDTO spectator = viewCache.state(gameId, "watcher-a").body();
+
+        assertThat(player.getPlayers().get(0).getCards()).isNotEmpty();
+        assertThat(spectator.getPlayers()).allSatisfy(seat -> assertThat(seat.getCards()).isNull());
+        // Seul le temps restant du tour (minuteur en cours) est recalculé
+        assertThat(viewCache.state(gameId, "watcher-b").body())
+                .usingRecursiveComparison().ignoringFields("turnTimeRemaining").isEqualTo(spectator);
+        assertThat(viewCache.state(gameId, "watcher-b").body().getTurnTimeRemaining()).isPositive();
+    }
+
+    @Test
+    void unchangedPollIsAnsweredWithNotModified() throws Exception {
+        String gameId = newGame();
+        String eTag = mockMvc.perform(get("/api/games/" + gameId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/games/" + gameId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        join(gameId, gameId + "-p2");
+
+        mockMvc.perform(get("/api/games/" + gameId).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + viewCache.sequence(gameId) + "\""));
+    }
+
+    private String newGame() {
+        GameDTO request = new GameDTO();
+        request.setId("view-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setCreatorId(request.getId() + "-p1");
+        request.setCreatorName("Alice");
+        return gameService.createGame(request).getId();
+    }
+
+    private void join(String gameId, String playerId) {
+        PlayerDTO player = new PlayerDTO();
+        player.setId(playerId);
+        player.setName("Bob");
+        gameService.addPlayerAndGetGame(gameId, player);
+    }
+}
@@ -0,0 +1,125 @@
+package pheninux.xdev.thecardgame.chat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.model.ChatMessage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+class ChatServiceTest {
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private GameProperties properties;
+
+    @Autowired
+    private AbstractSubscribableChannel brokerChannel;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Queue<Message<?>> frames = new ConcurrentLinkedQueue<>();
+    private String gameId;
+    private ChannelInterceptor capture;
+
+    @BeforeEach
+    void captureFrames() {
+        gameId = "chat-" + UUID.randomUUID().toString().substring(0, 8);
+        capture = new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (("/topic/chat/" + gameId).equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                    frames.add(message);
+                }
+                return message;
+            }
+        };
+        brokerChannel.addInterceptor(capture);
+    }
+
+    @AfterEach
+    void stopCapture() {
+        brokerChannel.removeInterceptor(capture);
+    }
+
+    @Test
+    void messagesOfOneWindowAreSentInOneFrame() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(chatService.post(gameId, "session-" + i, message("p" + i, "bonjour " + i)))
+                    .isEqualTo(ChatService.Outcome.SENT);
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> !frames.isEmpty());
+        JsonNode batch = objectMapper.readTree((byte[]) frames.peek().getPayload());
+        assertThat(frames).hasSize(1);
+        assertThat(batch.get("messages")).hasSize(3);
+        assertThat(batch.get("messages").get(2).get("sequence").asLong()).isEqualTo(3);
+    }
+
+    @Test
+    void senderIsLimitedAfterItsBurst() {
+        int burst = properties.getChat().getBurst();
+        for (int i = 0; i < burst; i++) {
+            assertThat(chatService.post(gameId, "flooder", message("p1", "spam"))).isEqualTo(ChatService.Outcome.SENT);
+        }
+
+        assertThat(chatService.post(gameId, "flooder", message("p1", "spam"))).isEqualTo(ChatService.Outcome.RATE_LIMITED);
+        // Le seau est propre à la session : les autres joueurs ne sont pas pénalisés
+        assertThat(chatService.post(gameId, "other", message("p2", "salut"))).isEqualTo(ChatService.Outcome.SENT);
+    }
+
+    @Test
+    void historyIsBoundedAndStampedByTheServer() {
+        int historySize = properties.getChat().getHistorySize();
+        for (int i = 0; i < historySize + 10; i++) {
+            ChatMessage message = message("p1", "message " + i);
+            message.setTimestamp("1970-01-01T00:00:00Z");
+            message.setSystem(true);
+            chatService.post(gameId, "session-" + i, message);
+        }
+
+        List<ChatMessage> history = chatService.history(gameId);
+        assertThat(history).hasSize(historySize);
+        assertThat(history.get(0).getContent()).isEqualTo("message 10");
+        assertThat(history.get(0).getTimestamp()).isNotEqualTo("1970-01-01T00:00:00Z");
+        assertThat(history).noneMatch(ChatMessage::isSystem);
+    }
+
+    @Test
+    void blankAndOversizedMessagesAreRejected() {
+        String tooLong = "x".repeat(properties.getChat().getMaxLength() + 1);
+
+        assertThat(chatService.post(gameId, "s", message("p1", "  "))).isEqualTo(ChatService.Outcome.INVALID);
+        assertThat(chatService.post(gameId, "s", message("p1", tooLong))).isEqualTo(ChatService.Outcome.INVALID);
+        assertThat(chatService.history(gameId)).isEmpty();
+    }
+
+    private static ChatMessage message(String senderId, String content) {
+        ChatMessage message = new ChatMessage();
+        message.setSenderId(senderId);
+        message.setSenderName(senderId);
+        message.setContent(content);
+        return message;
+    }
+}
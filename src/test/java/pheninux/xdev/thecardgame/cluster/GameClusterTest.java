@@ -0,0 +1,149 @@
+package pheninux.xdev.thecardgame.cluster;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import pheninux.xdev.thecardgame.TheCardGameApplication;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.lobby.LobbyService;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.service.GameCommandDispatcher;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Deux nœuds dans le même JVM, reliés par le broker en mémoire et une base H2 partagée
+ */
+class GameClusterTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    // Destination -> nœud d'origine des messages arrivés dans le broker du nœud A
+    private static final Map<String, String> topicsSeenOnA = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+
+        nodeA.getBean("brokerChannel", AbstractSubscribableChannel.class).addInterceptor(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+                Object origin = message.getHeaders().get(ClusterTopicRelay.ORIGIN_HEADER);
+                if (destination != null) {
+                    topicsSeenOnA.put(destination, origin != null ? origin.toString() : "node-a");
+                }
+                return message;
+            }
+        });
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void ringSpreadsGamesAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-a", "node-b"), 128);
+        long onA = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (ring.nodeFor("game-" + i).equals("node-a")) {
+                onA++;
+            }
+        }
+
+        assertThat(onA).isBetween(350L, 650L);
+    }
+
+    @Test
+    void commandsReceivedByAnotherNodeAreAppliedByTheOwner() {
+        String gameId = gameOwnedBy("node-b");
+
+        GameDTO request = new GameDTO();
+        request.setId(gameId);
+        request.setCreatorId("p1");
+        request.setCreatorName("Alice");
+        nodeA.getBean(GameService.class).createGame(request);
+
+        GameCommandDispatcher dispatcherA = nodeA.getBean(GameCommandDispatcher.class);
+        assertThat(dispatcherA.dispatch(new GameCommandDTO(gameId, GameCommandType.JOIN, "p2", "Bob", 0, null)).join())
+                .as("la commande est transférée, pas exécutée localement")
+                .isNull();
+        dispatcherA.dispatch(new GameCommandDTO(gameId, GameCommandType.START, "p1", null, 0, null));
+
+        GameStore storeB = nodeB.getBean(GameStore.class);
+        await().atMost(Duration.ofSeconds(10)).until(() -> storeB.peek(gameId).map(Game::isGameStarted).orElse(false));
+
+        Game owned = storeB.peek(gameId).orElseThrow();
+        assertThat(owned.getPlayers()).hasSize(2);
+        assertThat(nodeA.getBean(GameStore.class).peek(gameId)).isEmpty();
+
+        // L'état diffusé par le nœud B atteint le broker du nœud A
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> "node-b".equals(topicsSeenOnA.get("/topic/game/" + gameId)));
+    }
+
+    @Test
+    void gamesCreatedWithoutIdStayOnTheReceivingNode() {
+        GameRouter router = nodeA.getBean(GameRouter.class);
+        LobbyService lobbyA = nodeA.getBean(LobbyService.class);
+        for (int i = 0; i < 20; i++) {
+            GameDTO request = new GameDTO();
+            request.setCreatorId("host-" + i);
+            request.setCreatorName("Hôte " + i);
+            String gameId = nodeA.getBean(GameService.class).createGame(request).getId();
+
+            // Annoncée au salon du nœud qui la tient, comme une entrée rapide
+            assertThat(router.ownerOf(gameId)).isEqualTo("node-a");
+            assertThat(nodeA.getBean(GameStore.class).peek(gameId)).isPresent();
+            assertThat(lobbyA.openTables(10_000)).anyMatch(table -> table.getGameId().equals(gameId));
+        }
+    }
+
+    private static String gameOwnedBy(String nodeId) {
+        GameRouter router = nodeA.getBean(GameRouter.class);
+        for (int i = 0; ; i++) {
+            String gameId = "cluster-" + i;
+            if (router.ownerOf(gameId).equals(nodeId)) {
+                return gameId;
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId) {
+        // Arguments de ligne de commande : prioritaires sur application.properties
+        return new SpringApplicationBuilder(TheCardGameApplication.class).run(
+                "--server.port=0",
+                "--spring.jmx.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                "--game.cluster.enabled=true",
+                "--game.cluster.node-id=" + nodeId,
+                "--game.cluster.nodes=node-a,node-b",
+                "--game.cluster.broker=IN_MEMORY");
+    }
+}
@@ -0,0 +1,31 @@
+package pheninux.xdev.thecardgame.engine;
+
+import org.junit.jupiter.api.Test;
+import pheninux.xdev.thecardgame.model.Card;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardCodecTest {
+
+    @Test
+    void playableTableMatchesColorOrSymbolRule() {
+        for (int a = 0; a < CardCodec.FACE_COUNT; a++) {
+            for (int b = 0; b < CardCodec.FACE_COUNT; b++) {
+                Card card = CardCodec.toCard((byte) a);
+                Card center = CardCodec.toCard((byte) b);
+                boolean expected = card.getColor().equals(center.getColor())
+                        || card.getSymbol().equals(center.getSymbol());
+
+                assertThat(CardCodec.matches((byte) a, 1 << b)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void cardEncodingRoundTrips() {
+        for (int id = 0; id < CardCodec.DECK_SIZE; id++) {
+            Card card = CardCodec.toCard((byte) id);
+            assertThat(CardCodec.faceOf(card)).isEqualTo(CardCodec.faceOf((byte) id));
+        }
+    }
+}
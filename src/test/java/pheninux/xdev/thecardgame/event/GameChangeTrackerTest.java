@@ -0,0 +1,102 @@
+package pheninux.xdev.thecardgame.event;
+
+import org.junit.jupiter.api.Test;
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameChangeTrackerTest {
+
+    @Test
+    void drawTwoProducesPlayDrawAndTurnEvents() {
+        Game game = newGame();
+        Card played = game.getPlayers().get(0).getCards().get(1);
+        GameChangeTracker.Snapshot before = GameChangeTracker.capture(game);
+
+        // Ce que fait GameService pour un "+2" joué par le joueur 0
+        game.getPlayers().get(0).getCards().remove(1);
+        game.getCenterCards().add(played);
+        game.getPlayers().get(1).getCards().add(game.getDeck().remove(0));
+        game.getPlayers().get(1).getCards().add(game.getDeck().remove(0));
+        game.setCurrentPlayerIndex(1);
+        game.setTurnCounter(2);
+
+        GameChanges changes = GameChangeTracker.diff(before, game);
+
+        assertThat(changes.structural()).isFalse();
+        assertThat(changes.events()).containsExactly(
+                new GameEvent.CardPlayed(1, "p0", 1, played, 1),
+                new GameEvent.CardDrawn(2, "p1", 2, 4, 0),
+                new GameEvent.TurnAdvanced(3, 1, 2));
+        assertThat(changes.privateEvents()).singleElement()
+                .satisfies(received -> {
+                    assertThat(received.sequence()).isEqualTo(2);
+                    assertThat(received.playerId()).isEqualTo("p1");
+                    assertThat(received.cards()).hasSize(2);
+                });
+        assertThat(game.getEventSequence()).isEqualTo(3);
+    }
+
+    @Test
+    void drawFromRecycledCenterAnnouncesNewDeck() {
+        Game game = newGame();
+        game.getDeck().clear();
+        GameChangeTracker.Snapshot before = GameChangeTracker.capture(game);
+
+        // Reconstitution : 1 carte reste au centre, 1 part dans la pioche puis est piochée
+        Card last = game.getCenterCards().get(1);
+        Card recycled = game.getCenterCards().get(0);
+        game.setCenterCards(new ArrayList<>(List.of(last)));
+        game.getPlayers().get(0).getCards().add(recycled);
+
+        GameChanges changes = GameChangeTracker.diff(before, game);
+
+        assertThat(changes.events()).containsExactly(
+                new GameEvent.DeckRecycled(1, 1, last),
+                new GameEvent.CardDrawn(2, "p0", 1, 3, 0));
+    }
+
+    @Test
+    void newPlayerIsStructural() {
+        Game game = newGame();
+        GameChangeTracker.Snapshot before = GameChangeTracker.capture(game);
+
+        Player newcomer = new Player();
+        newcomer.setId("p2");
+        game.getPlayers().add(newcomer);
+
+        GameChanges changes = GameChangeTracker.diff(before, game);
+
+        assertThat(changes.structural()).isTrue();
+        assertThat(changes.sequence()).isEqualTo(1);
+    }
+
+    private static Game newGame() {
+        Game game = new Game();
+        game.setId("g");
+        game.setGameStarted(true);
+        game.setTurnCounter(1);
+        game.setGameDirection(1);
+        for (int p = 0; p < 2; p++) {
+            Player player = new Player();
+            player.setId("p" + p);
+            player.setCards(new ArrayList<>(List.of(card("cardRed", "△"), card("cardBlue", "★"))));
+            game.getPlayers().add(player);
+        }
+        game.setCenterCards(new ArrayList<>(List.of(card("cardBlue", "○"), card("cardGreen", "○"))));
+        game.setDeck(new ArrayList<>(List.of(card("cardYellow", "◇"), card("cardYellow", "▢"))));
+        return game;
+    }
+
+    private static Card card(String color, String symbol) {
+        Card card = new Card();
+        card.setColor(color);
+        card.setSymbol(symbol);
+        return card;
+    }
+}
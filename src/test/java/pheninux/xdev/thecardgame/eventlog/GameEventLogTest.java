@@ -0,0 +1,69 @@
+package pheninux.xdev.thecardgame.eventlog;
+
+import org.junit.jupiter.api.Test;
+import pheninux.xdev.thecardgame.config.GameProperties;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameEventLogTest {
+
+    @Test
+    void unsampledGameKeepsOnlyWarnings() {
+        GameEventLog eventLog = eventLog(0, 16);
+
+        eventLog.record("g1", GameEventLog.Level.INFO, "PLAY_CARD", "player", "p1");
+        eventLog.record("g1", GameEventLog.Level.WARN, "REJECTED", "reason", "Ce n'est pas votre tour");
+
+        assertThat(eventLog.entries("g1")).extracting(GameLogEntry::type).containsExactly("REJECTED");
+    }
+
+    @Test
+    void debugToggleRecordsEverythingForOneGame() {
+        GameEventLog eventLog = eventLog(0, 16);
+        eventLog.setDebug("g1", true);
+
+        eventLog.record("g1", GameEventLog.Level.INFO, "DRAW_CARD", "player", "p1", "deck", 30);
+        eventLog.record("g1", GameEventLog.Level.DEBUG, "CHANGES", "events", 2);
+        eventLog.record("g2", GameEventLog.Level.INFO, "DRAW_CARD", "player", "p9");
+
+        assertThat(eventLog.entries("g1")).extracting(GameLogEntry::type).containsExactly("DRAW_CARD", "CHANGES");
+        assertThat(eventLog.entries("g1").get(0).format()).isEqualTo("game=g1 type=DRAW_CARD level=INFO player=p1 deck=30");
+        assertThat(eventLog.entries("g2")).isEmpty();
+    }
+
+    @Test
+    void ringKeepsTheMostRecentEntries() {
+        GameEventLog eventLog = eventLog(1, 8);
+
+        for (int turn = 0; turn < 20; turn++) {
+            eventLog.record("g1", GameEventLog.Level.INFO, "TURN", "turn", turn);
+        }
+
+        assertThat(eventLog.entries("g1")).hasSize(8)
+                .extracting(entry -> entry.fields().get("turn"))
+                .containsExactly(12, 13, 14, 15, 16, 17, 18, 19);
+    }
+
+    @Test
+    void samplingIsDecidedPerGame() {
+        GameEventLog eventLog = eventLog(0.25, 16);
+
+        long sampled = IntStream.range(0, 10_000)
+                .filter(i -> eventLog.isRecorded("game-" + i, GameEventLog.Level.INFO))
+                .count();
+
+        assertThat(sampled).isBetween(2_000L, 3_000L);
+        assertThat(eventLog.isRecorded("game-1", GameEventLog.Level.INFO))
+                .isEqualTo(eventLog.isRecorded("game-1", GameEventLog.Level.INFO));
+    }
+
+    private static GameEventLog eventLog(double sampleRate, int capacity) {
+        GameProperties properties = new GameProperties();
+        properties.getEventLog().setSampleRate(sampleRate);
+        properties.getEventLog().setCapacity(capacity);
+        properties.getEventLog().setOutput(false);
+        return new GameEventLog(properties);
+    }
+}
@@ -0,0 +1,238 @@
+package pheninux.xdev.thecardgame.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.GameRecording;
+import pheninux.xdev.thecardgame.dto.GameTableDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.engine.CardCodec;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.service.GamePersistence;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "game.persistence.engine=JOURNAL",
+        "game.persistence.journal.segment-size=64KB",
+        "game.persistence.journal.snapshot-every=16"
+})
+class GameJournalTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("game.persistence.journal.directory", () -> journalDirectory.toString());
+    }
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private GamePersistence gamePersistence;
+
+    @Autowired
+    private GameProperties properties;
+
+    @Test
+    void journalEngineIsSelected() {
+        assertThat(gamePersistence).isInstanceOf(GameJournal.class);
+    }
+
+    @Test
+    void gameIsRecoveredFromSnapshotAndReplayedCommands() {
+        String gameId = "journal-" + UUID.randomUUID().toString().substring(0, 8);
+        playGame(gameId, 300);
+        Game live = gameStore.peek(gameId).orElseThrow();
+
+        // Nouveau journal sur les mêmes segments : reconstruction depuis le disque
+        GameJournal reopened = new GameJournal(properties.getPersistence().getJournal(), gameService::replay);
+        Game recovered = reopened.load(gameId).orElseThrow();
+
+        synchronized (live) {
+            assertThat(GameSnapshotCodec.encode(recovered)).isEqualTo(GameSnapshotCodec.encode(live));
+        }
+    }
+
+    @Test
+    void fullHistoryRebuildsTheGame() {
+        String gameId = "journal-" + UUID.randomUUID().toString().substring(0, 8);
+        playGame(gameId, 120);
+        Game live = gameStore.peek(gameId).orElseThrow();
+
+        GameRecording recording = gamePersistence.recording(gameId).orElseThrow();
+        assertThat(recording.seed()).isEqualTo(live.getSeed());
+        assertThat(recording.players()).extracting(PlayerDTO::getId).containsExactly(gameId + "-p0");
+
+        assertThat(GameSnapshotCodec.encode(gameService.rebuild(recording, Integer.MAX_VALUE)))
+                .isEqualTo(GameSnapshotCodec.encode(live));
+        assertThat(gameService.rebuild(recording, 3).getTurnCounter()).isEqualTo(3);
+    }
+
+    @Test
+    void evictedGameIsReloadedFromJournal() {
+        String gameId = "journal-" + UUID.randomUUID().toString().substring(0, 8);
+        playGame(gameId, 25);
+        byte[] expected = GameSnapshotCodec.encode(gameStore.peek(gameId).orElseThrow());
+
+        gameStore.evict(gameId);
+
+        assertThat(GameSnapshotCodec.encode(gameService.getLiveGame(gameId))).isEqualTo(expected);
+    }
+
+    @Test
+    void tournamentTableKeepsItsTournamentAfterReload() {
+        String gameId = "journal-" + UUID.randomUUID().toString().substring(0, 8);
+        gameService.createTables(List.of(new GameTableDTO(gameId, List.of(player(gameId + "-a"), player(gameId + "-b")), 7L)),
+                "journal-cup");
+
+        gameStore.evict(gameId);
+
+        assertThat(gameService.getLiveGame(gameId).getTournamentId()).isEqualTo("journal-cup");
+    }
+
+    @Test
+    void tablesCreatedWithSeatedPlayersAreRebuilt() {
+        String gameId = "journal-" + UUID.randomUUID().toString().substring(0, 8);
+        gameService.createTables(List.of(new GameTableDTO(gameId,
+                List.of(player(gameId + "-p0"), player(gameId + "-p1"), player(gameId + "-p2")), 11L)), "journal-cup");
+        gameService.startGameAndGetGame(gameId, gameId + "-p0");
+        playTurns(gameId, 60);
+        Game live = gameStore.peek(gameId).orElseThrow();
+
+        GameRecording recording = gamePersistence.recording(gameId).orElseThrow();
+        assertThat(recording.players()).extracting(PlayerDTO::getId)
+                .containsExactly(gameId + "-p0", gameId + "-p1", gameId + "-p2");
+
+        Game rebuilt = gameService.rebuild(recording, Integer.MAX_VALUE);
+        synchronized (live) {
+            assertThat(rebuilt.isGameStarted()).isTrue();
+            assertThat(rebuilt.getEventSequence()).isEqualTo(live.getEventSequence());
+            assertThat(rebuilt.getPlayers()).extracting("cards").isEqualTo(live.getPlayers().stream().map(Player::getCards).toList());
+            assertThat(rebuilt.getCenterCards()).isEqualTo(live.getCenterCards());
+        }
+    }
+
+    @Test
+    void compactionKeepsLiveGamesAndDropsRemovedOnes() {
+        String gameId = "journal-" + UUID.randomUUID().toString().substring(0, 8);
+        String removedId = "journal-" + UUID.randomUUID().toString().substring(0, 8);
+        playGame(gameId, 200);
+        playGame(removedId, 200);
+        gamePersistence.remove(removedId);
+        Game live = gameStore.peek(gameId).orElseThrow();
+        GameRecording history = gamePersistence.recording(gameId).orElseThrow();
+
+        GameJournal journal = (GameJournal) gamePersistence;
+        journal.compact();
+        // La partie continue après le compactage
+        playTurns(gameId, 20);
+
+        GameJournal reopened = new GameJournal(properties.getPersistence().getJournal(), gameService::replay);
+        assertThat(reopened.exists(removedId)).isFalse();
+        synchronized (live) {
+            assertThat(GameSnapshotCodec.encode(reopened.load(gameId).orElseThrow())).isEqualTo(GameSnapshotCodec.encode(live));
+        }
+        assertThat(reopened.recording(gameId).orElseThrow().commands())
+                .startsWith(history.commands().toArray(GameCommandDTO[]::new));
+        assertThat(GameSnapshotCodec.encode(journal.load(gameId).orElseThrow()))
+                .isEqualTo(GameSnapshotCodec.encode(reopened.load(gameId).orElseThrow()));
+    }
+
+    @Test
+    void version2SnapshotsAreStillRead() {
+        String gameId = "journal-" + UUID.randomUUID().toString().substring(0, 8);
+        playGame(gameId, 10);
+        Game live = gameStore.peek(gameId).orElseThrow();
+        byte[] current;
+        synchronized (live) {
+            current = GameSnapshotCodec.encode(live);
+        }
+
+        // Version 2 : même disposition, sans le tournoi (chaîne nulle : 2 octets) après le vainqueur
+        int tournamentAt = 33 + GameSnapshotCodec.stringSize(live.getWinnerId());
+        ByteBuffer version2 = ByteBuffer.allocate(current.length - 2);
+        version2.put((byte) 2).put(current, 1, tournamentAt - 1).put(current, tournamentAt + 2, current.length - tournamentAt - 2);
+
+        Game decoded = GameSnapshotCodec.decode(gameId, version2.flip());
+        assertThat(decoded.getTournamentId()).isNull();
+        assertThat(GameSnapshotCodec.encode(decoded)).isEqualTo(current);
+    }
+
+    private static PlayerDTO player(String id) {
+        PlayerDTO player = new PlayerDTO();
+        player.setId(id);
+        player.setName(id);
+        return player;
+    }
+
+    /**
+     * Joue jusqu'à "actions" commandes valides : choix de couleur, première carte jouable, sinon pioche
+     */
+    private void playGame(String gameId, int actions) {
+        GameDTO request = new GameDTO();
+        request.setId(gameId);
+        request.setCreatorId(gameId + "-p0");
+        request.setCreatorName("Joueur 0");
+        gameService.createGame(request);
+        for (int i = 1; i < 3; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setId(gameId + "-p" + i);
+            player.setName("Joueur " + i);
+            gameService.addPlayerAndGetGame(gameId, player);
+        }
+        gameService.startGameAndGetGame(gameId, gameId + "-p0");
+        playTurns(gameId, actions);
+    }
+
+    private void playTurns(String gameId, int actions) {
+        Game game = gameStore.peek(gameId).orElseThrow();
+        for (int action = 0; action < actions && !game.isGameFinished(); action++) {
+            String playerId = game.getCurrentPlayer().getId();
+            String color = CardCodec.COLORS[action % CardCodec.COLOR_COUNT];
+            if (!tryPlay(gameId, playerId, game.getCurrentPlayer().getCards().size())
+                    && !tryRun(() -> gameService.drawCardAndGetGame(gameId, playerId))
+                    && !tryRun(() -> gameService.chooseColorAndGetGame(gameId, playerId, color))) {
+                break;
+            }
+        }
+    }
+
+    private boolean tryPlay(String gameId, String playerId, int handSize) {
+        for (int index = 0; index < handSize; index++) {
+            int cardIndex = index;
+            if (tryRun(() -> gameService.playCardAndGetGame(gameId, playerId, cardIndex))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean tryRun(Runnable command) {
+        try {
+            command.run();
+            return true;
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package pheninux.xdev.thecardgame.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentedLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void entriesSurviveReopeningAcrossSegments() {
+        SegmentedLog log = new SegmentedLog(directory, 128);
+        log.scan(entry -> {
+        });
+
+        List<Long> positions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            positions.add(log.append((byte) (i % 2 + 1), "game-" + (i % 3), new byte[]{(byte) i, 1, 2, 3}));
+        }
+        assertThat(log.segmentCount()).isGreaterThan(1);
+
+        SegmentedLog reopened = new SegmentedLog(directory, 128);
+        List<SegmentedLog.Entry> entries = new ArrayList<>();
+        reopened.scan(entries::add);
+
+        assertThat(entries).extracting(SegmentedLog.Entry::position).containsExactlyElementsOf(positions);
+        assertThat(entries.get(7).key()).isEqualTo("game-1");
+        assertThat(entries.get(7).payload().get(0)).isEqualTo((byte) 7);
+        assertThat(reopened.read(positions.get(13)).payload().get(0)).isEqualTo((byte) 13);
+    }
+
+    @Test
+    void droppedSegmentsAreDeletedAndTheOthersKeepTheirPositions() {
+        SegmentedLog log = new SegmentedLog(directory, 128);
+        log.scan(entry -> {
+        });
+        for (int i = 0; i < 10; i++) {
+            log.append(GameJournal.COMMAND, "old", new byte[]{(byte) i, 1, 2, 3});
+        }
+
+        int boundary = log.roll();
+        long kept = log.append(GameJournal.COMMAND, "new", new byte[]{42});
+        log.dropBefore(boundary);
+
+        assertThat(log.segmentCount()).isEqualTo(1);
+        assertThat(directory.resolve("segment-00000000.log")).doesNotExist();
+        assertThat(SegmentedLog.segmentOf(kept)).isEqualTo(boundary);
+
+        SegmentedLog reopened = new SegmentedLog(directory, 128);
+        List<SegmentedLog.Entry> entries = new ArrayList<>();
+        reopened.scan(entries::add);
+        assertThat(entries).extracting(SegmentedLog.Entry::position).containsExactly(kept);
+        assertThat(reopened.read(kept).payload().get(0)).isEqualTo((byte) 42);
+        assertThat(SegmentedLog.segmentOf(reopened.append(GameJournal.COMMAND, "new", new byte[]{43}))).isEqualTo(boundary);
+    }
+
+    @Test
+    void forceCoversSegmentsFilledSinceTheLastCall() {
+        SegmentedLog log = new SegmentedLog(directory, 128);
+        log.scan(entry -> {
+        });
+        log.force();
+
+        // Plusieurs bascules de segment entre deux force()
+        for (int i = 0; i < 20; i++) {
+            log.append(GameJournal.COMMAND, "game", new byte[]{(byte) i, 1, 2, 3});
+        }
+        assertThat(log.unforcedSegmentCount()).isEqualTo(log.segmentCount()).isGreaterThan(2);
+
+        log.force();
+        assertThat(log.unforcedSegmentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tornRecordIsIgnoredAndOverwritten() throws Exception {
+        SegmentedLog log = new SegmentedLog(directory, 1024);
+        log.scan(entry -> {
+        });
+        log.append(GameJournal.COMMAND, "game", new byte[]{1});
+        long second = log.append(GameJournal.COMMAND, "game", new byte[]{2});
+
+        // Arrêt brutal : longueur écrite mais contenu incomplet (CRC faux)
+        try (FileChannel channel = FileChannel.open(directory.resolve("segment-00000000.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{9, 9}), (int) second + 12);
+        }
+
+        SegmentedLog reopened = new SegmentedLog(directory, 1024);
+        List<SegmentedLog.Entry> entries = new ArrayList<>();
+        reopened.scan(entries::add);
+        assertThat(entries).hasSize(1);
+
+        assertThat(reopened.append(GameJournal.COMMAND, "game", new byte[]{3})).isEqualTo(second);
+        assertThat(reopened.read(second).payload().get(0)).isEqualTo((byte) 3);
+    }
+}
@@ -0,0 +1,172 @@
+package pheninux.xdev.thecardgame.lifecycle;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.GameStateDTO;
+import pheninux.xdev.thecardgame.lobby.LobbyService;
+import pheninux.xdev.thecardgame.model.ArchivedGame;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.service.GameCommandDispatcher;
+import pheninux.xdev.thecardgame.service.GameCommandExecutor;
+import pheninux.xdev.thecardgame.service.GamePersistence;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Base H2 dédiée : les balayages "dans le futur" retirent toutes les parties du contexte
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:lifecycle;DB_CLOSE_DELAY=-1")
+class GameLifecycleManagerTest {
+
+    @Autowired
+    private GameLifecycleManager lifecycleManager;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameCommandDispatcher commandDispatcher;
+
+    @Autowired
+    private GameCommandExecutor commandExecutor;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private GamePersistence gamePersistence;
+
+    @Autowired
+    private LobbyService lobbyService;
+
+    @Test
+    void finishedGamesAreArchivedAfterTheirTtl() {
+        String gameId = startedGame();
+        commandExecutor.submit(gameId, () -> {
+            Game game = gameStore.peek(gameId).orElseThrow();
+            game.setGameFinished(true);
+            game.setWinnerId(gameId + "-p1");
+            return null;
+        }).join();
+
+        long archivedBefore = lifecycleManager.archivedCount();
+        lifecycleManager.sweep(System.currentTimeMillis() + Duration.ofSeconds(30).toMillis()).join();
+        assertThat(gameStore.peek(gameId)).as("encore consultable avant finished-ttl").isPresent();
+
+        lifecycleManager.sweep(System.currentTimeMillis() + Duration.ofMinutes(6).toMillis()).join();
+
+        assertThat(gameStore.peek(gameId)).isEmpty();
+        assertThat(gamePersistence.load(gameId)).isEmpty();
+        ArchivedGame archived = lifecycleManager.findArchived(gameId).orElseThrow();
+        assertThat(archived.getOutcome()).isEqualTo(ArchivedGame.Outcome.FINISHED);
+        assertThat(archived.getWinnerId()).isEqualTo(gameId + "-p1");
+        assertThat(archived.getPlayerIds()).isEqualTo(gameId + "-p1," + gameId + "-p2");
+        assertThat(archived.getSnapshot()).isNotEmpty();
+        assertThat(lifecycleManager.archivedCount()).isGreaterThan(archivedBefore);
+    }
+
+    @Test
+    void archivedGamesCanStillBeReplayed() {
+        String gameId = startedGame();
+        for (int draw = 0; draw < 3; draw++) {
+            String current = gameStore.peek(gameId).orElseThrow().getCurrentPlayer().getId();
+            commandDispatcher.dispatch(new GameCommandDTO(gameId, GameCommandType.DRAW_CARD, current, null, 0, null)).join();
+        }
+        commandExecutor.submit(gameId, () -> {
+            gameStore.peek(gameId).orElseThrow().setGameFinished(true);
+            return null;
+        }).join();
+        GameStateDTO beforeRetire = gameService.replayGame(gameId, Integer.MAX_VALUE, gameId + "-p1");
+
+        lifecycleManager.sweep(System.currentTimeMillis() + Duration.ofMinutes(6).toMillis()).join();
+
+        assertThat(gamePersistence.recording(gameId)).isEmpty();
+        assertThat(lifecycleManager.findArchived(gameId).orElseThrow().getRecording()).isNotEmpty();
+        GameStateDTO afterRetire = gameService.replayGame(gameId, Integer.MAX_VALUE, gameId + "-p1");
+        assertThat(afterRetire).usingRecursiveComparison().isEqualTo(beforeRetire);
+        assertThat(afterRetire.getPlayers()).hasSize(2);
+    }
+
+    @Test
+    void idleTablesThatNeverStartedAreDiscarded() {
+        String gameId = createGame();
+        assertThat(lobbyService.openTables(1000)).anyMatch(table -> table.getGameId().equals(gameId));
+
+        lifecycleManager.sweep(System.currentTimeMillis() + Duration.ofMinutes(16).toMillis()).join();
+
+        assertThat(gameStore.peek(gameId)).isEmpty();
+        assertThat(gamePersistence.load(gameId)).isEmpty();
+        assertThat(lifecycleManager.findArchived(gameId)).isEmpty();
+        assertThat(lobbyService.openTables(1000)).noneMatch(table -> table.getGameId().equals(gameId));
+    }
+
+    @Test
+    void idleGamesAreUnloadedThenArchivedAsAbandoned() {
+        String gameId = startedGame();
+        int turn = gameStore.peek(gameId).orElseThrow().getTurnCounter();
+
+        lifecycleManager.sweep(System.currentTimeMillis() + Duration.ofMinutes(16).toMillis()).join();
+
+        assertThat(gameStore.peek(gameId)).isEmpty();
+        assertThat(lifecycleManager.stats().getUnloaded()).isGreaterThanOrEqualTo(1);
+        // Rechargée telle quelle à la commande suivante
+        Game reloaded = gameStore.find(gameId).orElseThrow();
+        assertThat(reloaded.getPlayers()).hasSize(2);
+        assertThat(reloaded.getTurnCounter()).isEqualTo(turn);
+        gameStore.evict(gameId);
+
+        lifecycleManager.sweep(System.currentTimeMillis() + Duration.ofHours(25).toMillis()).join();
+
+        assertThat(gamePersistence.load(gameId)).isEmpty();
+        assertThat(lifecycleManager.findArchived(gameId).orElseThrow().getOutcome())
+                .isEqualTo(ArchivedGame.Outcome.ABANDONED);
+    }
+
+    @Test
+    void activityBeforeTheRemovalRunsCancelsIt() {
+        String gameId = createGame();
+
+        // Une arrivée est en file (derrière une commande lente) quand le balayage planifie le retrait
+        commandExecutor.submit(gameId, () -> {
+            sleep(100);
+            return null;
+        });
+        var join = commandDispatcher.dispatch(new GameCommandDTO(gameId, GameCommandType.JOIN, gameId + "-p3", "Carol", 0, null));
+        lifecycleManager.sweep(System.currentTimeMillis() + Duration.ofMinutes(16).toMillis()).join();
+        join.join();
+
+        assertThat(gameStore.peek(gameId)).isPresent();
+    }
+
+    private String createGame() {
+        GameDTO request = new GameDTO();
+        request.setId("life-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setCreatorId(request.getId() + "-p1");
+        request.setCreatorName("Alice");
+        return gameService.createGame(request).getId();
+    }
+
+    private String startedGame() {
+        String gameId = createGame();
+        commandDispatcher.dispatch(new GameCommandDTO(gameId, GameCommandType.JOIN, gameId + "-p2", "Bob", 0, null)).join();
+        commandDispatcher.dispatch(new GameCommandDTO(gameId, GameCommandType.START, gameId + "-p1", null, 0, null)).join();
+        return gameId;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package pheninux.xdev.thecardgame.lobby;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.dto.QuickJoinDTO;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+class LobbyServiceTest {
+
+    @Autowired
+    private LobbyService lobbyService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Test
+    void concurrentQuickJoinsFillTablesAndStartThem() {
+        List<CompletableFuture<QuickJoinDTO>> joins = IntStream.range(0, 12)
+                .parallel()
+                .mapToObj(i -> lobbyService.quickJoin(player("quick-" + i)))
+                .toList();
+        List<QuickJoinDTO> results = joins.stream().map(CompletableFuture::join).toList();
+
+        // D'autres tests du même contexte peuvent avoir laissé des tables ouvertes : elles sont remplies d'abord
+        Map<String, Long> playersByGame = results.stream()
+                .collect(Collectors.groupingBy(QuickJoinDTO::getGameId, Collectors.counting()));
+        assertThat(results).filteredOn(QuickJoinDTO::isCreated).hasSizeLessThanOrEqualTo(3);
+        assertThat(lobbyService.openTables(100)).filteredOn(table -> playersByGame.containsKey(table.getGameId()))
+                .hasSizeLessThanOrEqualTo(1);
+
+        // Les tables complètes démarrent seules
+        List<String> fullTables = playersByGame.keySet().stream()
+                .filter(gameId -> gameStore.peek(gameId).map(game -> game.getPlayers().size() == 4).orElse(false))
+                .toList();
+        assertThat(fullTables).hasSizeGreaterThanOrEqualTo(2);
+        await().atMost(Duration.ofSeconds(5)).until(() -> fullTables.stream()
+                .allMatch(gameId -> gameStore.peek(gameId).map(Game::isGameStarted).orElse(false)));
+    }
+
+    private static PlayerDTO player(String id) {
+        PlayerDTO player = new PlayerDTO();
+        player.setId(id);
+        player.setName(id);
+        return player;
+    }
+}
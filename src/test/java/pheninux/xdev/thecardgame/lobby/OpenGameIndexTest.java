@@ -0,0 +1,65 @@
+package pheninux.xdev.thecardgame.lobby;
+
+import org.junit.jupiter.api.Test;
+import pheninux.xdev.thecardgame.dto.LobbyTableDTO;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenGameIndexTest {
+
+    private final OpenGameIndex index = new OpenGameIndex(4);
+
+    @Test
+    void reservesTheFullestOpenTable() {
+        index.open("a", 1);
+        index.open("b", 3);
+        index.open("c", 2);
+
+        assertThat(index.reserve("p1", () -> "new").gameId()).isEqualTo("b");
+        // "b" est complète avec la réservation : la suivante va dans "c"
+        assertThat(index.reserve("p2", () -> "new").gameId()).isEqualTo("c");
+        assertThat(index.openTables(10)).extracting(LobbyTableDTO::getGameId).containsExactly("c", "a");
+    }
+
+    @Test
+    void oldestTableWinsBetweenEquallyFilledTables() {
+        index.open("old", 2);
+        index.open("recent", 2);
+
+        assertThat(index.reserve("p1", () -> "new").gameId()).isEqualTo("old");
+    }
+
+    @Test
+    void opensANewTableWhenNoneIsOpen() {
+        OpenGameIndex.Seat seat = index.reserve("p1", () -> "new");
+
+        assertThat(seat.created()).isTrue();
+        assertThat(seat.ready()).isNotDone();
+        assertThat(index.reserve("p2", () -> "other").gameId()).isEqualTo("new");
+    }
+
+    @Test
+    void arrivalAndReleaseUpdateTheSeats() {
+        index.open("a", 2);
+        index.reserve("p3", () -> "new");
+        index.reserve("p4", () -> "new");
+        assertThat(index.openCount()).isZero();
+
+        index.release("a", "p4");
+        index.update("a", List.of("p1", "p2", "p3"));
+
+        assertThat(index.openTables(10)).containsExactly(new LobbyTableDTO("a", 3, true));
+    }
+
+    @Test
+    void changesAreCoalescedUntilDrained() {
+        index.open("a", 1);
+        index.update("a", List.of("p1", "p2"));
+        index.close("a");
+
+        assertThat(index.drainChanges()).containsExactly(new LobbyTableDTO("a", 2, false));
+        assertThat(index.drainChanges()).isEmpty();
+    }
+}
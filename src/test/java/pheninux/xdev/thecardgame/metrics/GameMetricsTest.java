@@ -0,0 +1,98 @@
+package pheninux.xdev.thecardgame.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.service.GameCommandDispatcher;
+import pheninux.xdev.thecardgame.service.GameService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@SpringBootTest
+class GameMetricsTest {
+
+    @Autowired
+    private GameCommandDispatcher dispatcher;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private StompMetricsInterceptor stompMetrics;
+
+    @Test
+    void commandPhasesAreTimed() {
+        GameDTO request = new GameDTO();
+        request.setId("metrics-phases");
+        request.setCreatorId("p1");
+        request.setCreatorName("Alice");
+        gameService.createGame(request);
+
+        dispatcher.dispatch(new GameCommandDTO("metrics-phases", GameCommandType.JOIN, "p2", "Bob", 0, null)).join();
+
+        for (String phase : new String[]{"queue", "load", "rules", "persist", "broadcast"}) {
+            assertThat(registry.get("game.command.duration").tag("command", "join").tag("phase", phase).timer().count())
+                    .as(phase)
+                    .isPositive();
+        }
+        assertThat(registry.get("game.games.live").gauge().value()).isPositive();
+    }
+
+    @Test
+    void rejectedCommandsAreCountedByReason() {
+        Throwable error = catchThrowable(() -> dispatcher.dispatch(
+                new GameCommandDTO("metrics-missing", GameCommandType.DRAW_CARD, "p1", null, 0, null)).join());
+
+        assertThat(error).hasCauseInstanceOf(NoSuchElementException.class);
+        assertThat(registry.get("game.command.rejected")
+                .tag("command", "draw-card")
+                .tag("reason", "Partie non trouvée")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyOutboundFramesAreMeasured() {
+        DistributionSummary jsonFrames = registry.get("game.broadcast.frame.size").tag("format", "json").summary();
+        long before = jsonFrames.count();
+
+        // Commande d'un client (SEND) sur le canal entrant : session suivie, trame non mesurée
+        stompMetrics.inbound().preSend(frame(StompCommand.CONNECT, "metrics-session"), null);
+        stompMetrics.inbound().preSend(frame(StompCommand.SEND, "metrics-session"), null);
+        assertThat(jsonFrames.count()).isEqualTo(before);
+        assertThat(stompMetrics.sessionCount()).isPositive();
+
+        stompMetrics.outbound().preSend(frame(StompCommand.MESSAGE, "metrics-session"), null);
+        assertThat(jsonFrames.count()).isEqualTo(before + 1);
+
+        stompMetrics.inbound().preSend(frame(StompCommand.DISCONNECT, "metrics-session"), null);
+    }
+
+    @Test
+    void reasonDropsVariablePart() {
+        assertThat(GameMetrics.reasonOf(new IllegalStateException("Ce n'est pas votre tour"))).isEqualTo("Ce n'est pas votre tour");
+        assertThat(GameMetrics.reasonOf(new NoSuchElementException("Partie non trouvée: abc"))).isEqualTo("Partie non trouvée");
+        assertThat(GameMetrics.reasonOf(new NullPointerException())).isEqualTo("NullPointerException");
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String sessionId) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(command);
+        headers.setSessionId(sessionId);
+        return MessageBuilder.createMessage("{}".getBytes(StandardCharsets.UTF_8), headers.getMessageHeaders());
+    }
+}
@@ -0,0 +1,60 @@
+package pheninux.xdev.thecardgame.presence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.service.GameCommandDispatcher;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class GameResumeServiceTest {
+
+    @Autowired
+    private GameResumeService resumeService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameCommandDispatcher commandDispatcher;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Test
+    void shortDisconnectionIsResumedWithEventsOnly() {
+        String gameId = startedGame();
+        Game game = gameStore.peek(gameId).orElseThrow();
+        long seenBeforeDisconnect = game.getEventSequence();
+
+        // Pendant la coupure, les joueurs piochent à tour de rôle
+        for (int i = 0; i < 3; i++) {
+            String current = game.getCurrentPlayer().getId();
+            commandDispatcher.dispatch(new GameCommandDTO(gameId, GameCommandType.DRAW_CARD, current, null, 0, null)).join();
+        }
+
+        assertThat(resumeService.resume(gameId, gameId + "-p1", seenBeforeDisconnect).join()).isTrue();
+        // Avant le démarrage : l'arrivée et le démarrage demandent un état complet
+        assertThat(resumeService.resume(gameId, gameId + "-p1", 0).join()).isFalse();
+    }
+
+    private String startedGame() {
+        GameDTO request = new GameDTO();
+        request.setId("resume-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setCreatorId(request.getId() + "-p1");
+        request.setCreatorName("Alice");
+        String gameId = gameService.createGame(request).getId();
+        commandDispatcher.dispatch(new GameCommandDTO(gameId, GameCommandType.JOIN, gameId + "-p2", "Bob", 0, null)).join();
+        commandDispatcher.dispatch(new GameCommandDTO(gameId, GameCommandType.START, gameId + "-p1", null, 0, null)).join();
+        return gameId;
+    }
+}
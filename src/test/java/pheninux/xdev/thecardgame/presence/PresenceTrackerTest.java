@@ -0,0 +1,162 @@
+package pheninux.xdev.thecardgame.presence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import pheninux.xdev.thecardgame.cluster.GameOwnership;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.service.GamePersistence;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PresenceTrackerTest {
+
+    private final List<String> published = new CopyOnWriteArrayList<>();
+    private final GameStore gameStore = new GameStore(new GamePersistence() {
+        @Override
+        public void gameCreated(Game game) {
+        }
+
+        @Override
+        public void gameChanged(Game game, GameCommandDTO command, GameChanges changes) {
+        }
+
+        @Override
+        public void persistNow(Game game) {
+        }
+
+        @Override
+        public Optional<Game> load(String gameId) {
+            return Optional.empty();
+        }
+    }, GameOwnership.SINGLE_NODE);
+    private final PresenceTracker tracker = new PresenceTracker(new SimpMessagingTemplate(new MessageChannel() {
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            published.add(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+            return true;
+        }
+    }), gameStore);
+
+    PresenceTrackerTest() {
+        gameStore.put(game("g1", "alice", "bob"));
+        gameStore.put(game("g2", "alice"));
+    }
+
+    @Test
+    void sessionsAreBoundToTheirPlayerOnPersonalSubscriptions() {
+        subscribe("s1", "/topic/game/g1/player/alice");
+        subscribe("s1", "/topic/game/g1/player/alice/hand");
+        subscribe("s1", "/topic/game/g1");
+        subscribe("s2", "/topic/game/g1/player/bob/events");
+
+        assertThat(tracker.presence("g1").getPlayerIds()).containsExactlyInAnyOrder("alice", "bob");
+        assertThat(tracker.seatedCount()).isEqualTo(2);
+        // Une diffusion par arrivée, pas par abonnement
+        assertThat(published).containsExactly("/topic/game/g1/presence", "/topic/game/g1/presence");
+    }
+
+    @Test
+    void playerStaysOnlineUntilTheirLastSessionDisconnects() {
+        subscribe("s1", "/topic/game/g1/player/alice");
+        subscribe("s2", "/topic/game/g1/player/alice");
+
+        disconnect("s1");
+        assertThat(tracker.isOnline("g1", "alice")).isTrue();
+
+        disconnect("s2");
+        assertThat(tracker.isOnline("g1", "alice")).isFalse();
+        assertThat(tracker.presence("g1").getOnline()).isZero();
+        assertThat(published).hasSize(2);
+    }
+
+    @Test
+    void subscribingToAnotherGameMovesThePlayer() {
+        subscribe("s1", "/topic/game/g1/player/alice");
+        subscribe("s1", "/topic/game/g2/player/alice");
+
+        assertThat(tracker.isOnline("g1", "alice")).isFalse();
+        assertThat(tracker.isOnline("g2", "alice")).isTrue();
+    }
+
+    @Test
+    void onlyPlayersOfTheGameAreSeated() {
+        subscribe("s1", "/topic/game/g1/player/mallory");
+
+        assertThat(tracker.isSeated("s1", "g1")).isFalse();
+        assertThat(tracker.presence("g1").getOnline()).isZero();
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void joiningPlayerIsSeatedOnceTheirJoinIsApplied() {
+        subscribe("s1", "/topic/game/g2/player/bob");
+        assertThat(tracker.isOnline("g2", "bob")).isFalse();
+
+        Game game = gameStore.find("g2").orElseThrow();
+        game.getPlayers().add(player("g2", "bob"));
+        tracker.onGameUpdated(new GameUpdatedEvent(game, null));
+
+        assertThat(tracker.isOnline("g2", "bob")).isTrue();
+        assertThat(tracker.isSeated("s1", "g2")).isTrue();
+
+        disconnect("s1");
+        assertThat(tracker.isSeated("s1", "g2")).isFalse();
+    }
+
+    @Test
+    void otherDestinationsAreIgnored() {
+        assertThat(PresenceTracker.seatOf("/topic/lobby")).isNull();
+        assertThat(PresenceTracker.seatOf("/topic/game/g1/events")).isNull();
+        assertThat(PresenceTracker.seatOf("/topic/game/g1/player/")).isNull();
+        assertThat(PresenceTracker.seatOf("/topic/game/g1/player/alice/error"))
+                .isEqualTo(new PresenceTracker.Seat("g1", "alice"));
+    }
+
+    private static Game game(String gameId, String... playerIds) {
+        Game game = new Game();
+        game.setId(gameId);
+        for (String playerId : playerIds) {
+            game.getPlayers().add(player(gameId, playerId));
+        }
+        return game;
+    }
+
+    private static Player player(String gameId, String playerId) {
+        Player player = new Player();
+        player.setId(playerId);
+        player.setGameId(gameId);
+        return player;
+    }
+
+    private void subscribe(String sessionId, String destination) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        headers.setSessionId(sessionId);
+        headers.setDestination(destination);
+        tracker.onSubscribe(new SessionSubscribeEvent(this,
+                MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders())));
+    }
+
+    private void disconnect(String sessionId) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+        headers.setSessionId(sessionId);
+        tracker.onDisconnect(new SessionDisconnectEvent(this,
+                MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders()), sessionId, CloseStatus.NORMAL));
+    }
+}
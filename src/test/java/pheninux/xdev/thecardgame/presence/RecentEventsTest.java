@@ -0,0 +1,58 @@
+package pheninux.xdev.thecardgame.presence;
+
+import org.junit.jupiter.api.Test;
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.event.GameEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentEventsTest {
+
+    @Test
+    void missedEventsAreReturnedWhileStillBuffered() {
+        RecentEvents recent = new RecentEvents(4, structural(10));
+        recent.record(turns(11, 12));
+        recent.record(turns(13));
+
+        assertThat(recent.since(10)).extracting(GameEvent::sequence).containsExactly(11L, 12L, 13L);
+        assertThat(recent.since(12)).extracting(GameEvent::sequence).containsExactly(13L);
+        assertThat(recent.since(13)).isEmpty();
+        // Le changement structurel lui-même n'est pas rattrapable par événements
+        assertThat(recent.since(9)).isNull();
+    }
+
+    @Test
+    void overwrittenEventsRequireAFullState() {
+        RecentEvents recent = new RecentEvents(3, turns(1, 2, 3));
+        recent.record(turns(4, 5));
+
+        assertThat(recent.since(1)).isNull();
+        assertThat(recent.since(2)).extracting(GameEvent::sequence).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void structuralChangeResetsTheBuffer() {
+        RecentEvents recent = new RecentEvents(8, turns(1, 2));
+        recent.record(structural(3));
+
+        assertThat(recent.since(2)).isNull();
+        assertThat(recent.since(3)).isEmpty();
+        // Séquence inconnue (client en avance, redémarrage du serveur)
+        assertThat(recent.since(4)).isNull();
+    }
+
+    private static GameChanges structural(long sequence) {
+        return new GameChanges(List.of(), List.of(), true, sequence);
+    }
+
+    private static GameChanges turns(long... sequences) {
+        List<GameEvent> events = new ArrayList<>();
+        for (long sequence : sequences) {
+            events.add(new GameEvent.TurnAdvanced(sequence, 0, (int) sequence));
+        }
+        return new GameChanges(events, List.of(), false, sequences[sequences.length - 1]);
+    }
+}
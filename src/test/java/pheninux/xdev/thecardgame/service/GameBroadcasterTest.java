@@ -0,0 +1,126 @@
+package pheninux.xdev.thecardgame.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import pheninux.xdev.thecardgame.cluster.GameOwnership;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.eventlog.GameEventLog;
+import pheninux.xdev.thecardgame.metrics.GameMetrics;
+import pheninux.xdev.thecardgame.model.Game;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameBroadcasterTest {
+
+    private final List<String> destinations = new CopyOnWriteArrayList<>();
+    private GameService gameService;
+    private GameBroadcaster broadcaster;
+
+    @Test
+    void burstOfActionsIsSentAsOneFramePerDestination() {
+        setUp(Duration.ofSeconds(10));
+
+        Game game = startGame(gameService, "burst");
+        drawThreeTimes(gameService, game);
+        broadcaster.flushPending();
+
+        // Arrivée + démarrage dans la fenêtre : un seul état partagé, les événements sont inclus
+        assertThat(destinations).containsExactlyInAnyOrder(
+                "/topic/game/burst",
+                "/topic/game/burst/player/p1/hand",
+                "/topic/game/burst/player/p2/hand");
+
+        destinations.clear();
+        drawThreeTimes(gameService, game);
+        broadcaster.flushPending();
+
+        // Trois pioches : une trame d'événements publics, une trame de cartes par joueur concerné
+        assertThat(destinations).contains("/topic/game/burst/events").doesNotHaveDuplicates()
+                .allMatch(destination -> destination.endsWith("/events"));
+    }
+
+    @Test
+    void zeroWindowSendsEachUpdateImmediately() {
+        setUp(Duration.ZERO);
+
+        Game game = startGame(gameService, "direct");
+        destinations.clear();
+        drawThreeTimes(gameService, game);
+
+        assertThat(destinations).filteredOn(destination -> destination.equals("/topic/game/direct/events")).hasSize(3);
+    }
+
+    private static Game startGame(GameService gameService, String gameId) {
+        GameDTO request = new GameDTO();
+        request.setId(gameId);
+        request.setCreatorId("p1");
+        request.setCreatorName("Alice");
+        gameService.createGame(request, 7L);
+
+        PlayerDTO guest = new PlayerDTO();
+        guest.setId("p2");
+        guest.setName("Bob");
+        gameService.addPlayerAndGetGame(gameId, guest);
+        return gameService.startGameAndGetGame(gameId, "p1");
+    }
+
+    private static void drawThreeTimes(GameService gameService, Game game) {
+        for (int i = 0; i < 3; i++) {
+            gameService.drawCardAndGetGame(game.getId(), game.getCurrentPlayer().getId());
+        }
+    }
+
+    private void setUp(Duration window) {
+        MessageChannel channel = new MessageChannel() {
+            @Override
+            public boolean send(Message<?> message, long timeout) {
+                destinations.add(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+                return true;
+            }
+        };
+        GameProperties properties = new GameProperties();
+        properties.getBroadcast().setCoalesceWindow(window);
+
+        GamePersistence noPersistence = new GamePersistence() {
+            @Override
+            public void gameCreated(Game game) {
+            }
+
+            @Override
+            public void gameChanged(Game game, GameCommandDTO command, GameChanges changes) {
+            }
+
+            @Override
+            public void persistNow(Game game) {
+            }
+
+            @Override
+            public Optional<Game> load(String gameId) {
+                return Optional.empty();
+            }
+        };
+        gameService = new GameService(new GameStore(noPersistence, GameOwnership.SINGLE_NODE), noPersistence,
+                event -> {
+                    if (event instanceof GameUpdatedEvent updated) {
+                        broadcaster.onGameUpdated(updated);
+                    }
+                }, GameMetrics.disabled(),
+                GameEventLog.disabled(), GameArchive.none());
+        broadcaster = new GameBroadcaster(gameService, new SimpMessagingTemplate(channel), new ObjectMapper(), properties,
+                GameMetrics.disabled());
+    }
+}
@@ -0,0 +1,186 @@
+package pheninux.xdev.thecardgame.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import pheninux.xdev.thecardgame.config.GameProperties;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class GameCommandExecutorTest {
+
+    private static final int DECK_SIZE = 64;
+    private static final String[] COLORS = {"cardRed", "cardBlue", "cardGreen", "cardYellow"};
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameCommandExecutor commandExecutor;
+
+    @Test
+    void commandsForOneGameNeverOverlap() throws Exception {
+        GameCommandExecutor executor = new GameCommandExecutor(new GameProperties());
+        int games = 4;
+        int commandsPerGame = 5_000;
+        int[] counters = new int[games];
+        AtomicInteger[] inFlight = new AtomicInteger[games];
+        AtomicInteger overlaps = new AtomicInteger();
+        for (int g = 0; g < games; g++) {
+            inFlight[g] = new AtomicInteger();
+        }
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < commandsPerGame; i++) {
+            for (int g = 0; g < games; g++) {
+                int game = g;
+                results.add(executor.submit("game-" + g, () -> {
+                    if (inFlight[game].incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    int value = ++counters[game];
+                    inFlight[game].decrementAndGet();
+                    return value;
+                }));
+            }
+        }
+
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(overlaps).hasValue(0);
+        for (int counter : counters) {
+            assertThat(counter).isEqualTo(commandsPerGame);
+        }
+    }
+
+    @Test
+    void conflictingCommandsKeepGameInvariants() throws Exception {
+        String gameId = startFourPlayerGame();
+        List<String> playerIds = List.of("p0-" + gameId, "p1-" + gameId, "p2-" + gameId, "p3-" + gameId);
+
+        Queue<String> violations = new ConcurrentLinkedQueue<>();
+        AtomicInteger lastTurn = new AtomicInteger(1);
+        AtomicInteger accepted = new AtomicInteger();
+        Queue<CompletableFuture<Game>> results = new ConcurrentLinkedQueue<>();
+
+        int threads = 8;
+        int commandsPerThread = 300;
+        ExecutorService clients = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            clients.execute(() -> {
+                awaitQuietly(start);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < commandsPerThread; i++) {
+                    String playerId = playerIds.get(random.nextInt(playerIds.size()));
+                    int action = random.nextInt(3);
+                    int cardIndex = random.nextInt(6);
+                    String color = COLORS[random.nextInt(COLORS.length)];
+
+                    results.add(commandExecutor.submit(gameId, () -> {
+                        Game game = switch (action) {
+                            case 0 -> gameService.playCardAndGetGame(gameId, playerId, cardIndex);
+                            case 1 -> gameService.drawCardAndGetGame(gameId, playerId);
+                            default -> gameService.chooseColorAndGetGame(gameId, playerId, color);
+                        };
+                        accepted.incrementAndGet();
+                        checkInvariants(game, lastTurn, violations);
+                        return game;
+                    }));
+                }
+            });
+        }
+
+        start.countDown();
+        clients.shutdown();
+        assertThat(clients.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .exceptionally(e -> null)
+                .get(30, TimeUnit.SECONDS);
+
+        assertThat(results).hasSize(threads * commandsPerThread);
+        assertThat(accepted.get()).isPositive();
+        assertThat(violations).isEmpty();
+    }
+
+    private void checkInvariants(Game game, AtomicInteger lastTurn, Queue<String> violations) {
+        int total = game.getDeck().size() + game.getCenterCards().size() + game.getDiscardCount();
+        Map<String, Integer> copies = new HashMap<>();
+        List<Card> inPlay = new ArrayList<>(game.getDeck());
+        inPlay.addAll(game.getCenterCards());
+        for (Player player : game.getPlayers()) {
+            total += player.getCards().size();
+            inPlay.addAll(player.getCards());
+        }
+        for (Card card : inPlay) {
+            copies.merge(card.getColor() + card.getSymbol(), 1, Integer::sum);
+        }
+
+        if (total != DECK_SIZE) {
+            violations.add("Nombre de cartes non conservé: " + total);
+        }
+        copies.forEach((card, count) -> {
+            if (count > 2) {
+                violations.add("Carte dupliquée: " + card + " x" + count);
+            }
+        });
+        if (game.getCurrentPlayerIndex() < 0 || game.getCurrentPlayerIndex() >= game.getPlayers().size()) {
+            violations.add("Index de joueur invalide: " + game.getCurrentPlayerIndex());
+        }
+        int previousTurn = lastTurn.getAndSet(game.getTurnCounter());
+        if (game.getTurnCounter() - previousTurn < 0 || game.getTurnCounter() - previousTurn > 1) {
+            violations.add("Tour invalide: " + previousTurn + " -> " + game.getTurnCounter());
+        }
+    }
+
+    private String startFourPlayerGame() {
+        String gameId = UUID.randomUUID().toString().substring(0, 8);
+
+        GameDTO request = new GameDTO();
+        request.setId(gameId);
+        request.setCreatorId("p0-" + gameId);
+        request.setCreatorName("Joueur 0");
+        gameService.createGame(request);
+
+        for (int i = 1; i < 4; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setId("p" + i + "-" + gameId);
+            player.setName("Joueur " + i);
+            gameService.addPlayerAndGetGame(gameId, player);
+        }
+
+        gameService.startGameAndGetGame(gameId, "p0-" + gameId);
+        return gameId;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package pheninux.xdev.thecardgame.service;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import lombok.Data;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.GameTableDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.dto.TableResultDTO;
+import pheninux.xdev.thecardgame.engine.CardCodec;
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.repository.GameRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Nombre de requêtes SQL d'une partie complète sauvegardée à chaque action (WRITE_THROUGH) :
+ * avec les piles compactées, quelques requêtes par action et un chargement en une seule.
+ * L'ancien modèle (piles en @ElementCollection) est reproduit par LegacyGame pour mesurer
+ * la même partie avant compactage.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlcount;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "game.persistence.mode=WRITE_THROUGH",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "pheninux.xdev.thecardgame.service.GamePersistenceSqlTest$LockWatcher"
+})
+class GamePersistenceSqlTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void fullGameCostsAtMostFourStatementsPerAction() {
+        int actions = playFullGame("sql-game", 4, game -> {
+        });
+
+        long statements = statistics.getPrepareStatementCount();
+        // Par action : lecture de la fusion, mise à jour de la partie et des mains modifiées,
+        // ligne d'historique (game_command)
+        assertThat(statements).isLessThanOrEqualTo(4L * actions + 10);
+    }
+
+    @Test
+    void packedPilesNeedAFractionOfTheElementCollectionStatements() {
+        // Même partie (même graine), chaque état sauvegardé aussi selon l'ancien modèle
+        List<LegacyGame> states = new ArrayList<>();
+        int actions = playFullGame("sql-legacy", 4, game -> states.add(LegacyGame.of(game)));
+        long packed = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        for (LegacyGame state : states) {
+            transactionTemplate.executeWithoutResult(status -> entityManager.merge(state));
+        }
+        long legacy = statistics.getPrepareStatementCount();
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> entityManager.find(LegacyGame.class, "sql-legacy"));
+        long legacyLoad = statistics.getPrepareStatementCount();
+
+        assertThat(states).hasSize(actions);
+        // Piles réécrites en entier à chaque fusion (mesuré : 310 contre 75 pour 17 actions,
+        // lignes d'historique comprises dans les 75) ; chargement en 7 requêtes contre 1
+        assertThat(legacy).isGreaterThan(3 * packed);
+        assertThat(legacyLoad).isGreaterThan(1);
+    }
+
+    @Test
+    void writeThroughRunsItsSqlOutsideTheGameLock() {
+        playFullGame("sql-unlocked", 2, LockWatcher::watch);
+
+        assertThat(LockWatcher.statements).isPositive();
+        assertThat(LockWatcher.underLock).isZero();
+        LockWatcher.watch(null);
+    }
+
+    @Test
+    void loadingAGameIsASingleQuery() {
+        playFullGame("sql-load", 3, game -> {
+        });
+        statistics.clear();
+
+        Game loaded = gameRepository.findById("sql-load").orElseThrow();
+
+        assertThat(loaded.getPlayers()).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tablesLookUpSuppliedIdsInOneQuery() {
+        GameDTO request = new GameDTO();
+        request.setId("sql-table-0");
+        request.setCreatorId("sql-table-0-p0");
+        request.setCreatorName("Alice");
+        gameService.createGame(request);
+        gameStore.evict("sql-table-0");
+        statistics.clear();
+
+        List<GameTableDTO> tables = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            // Trois IDs imposés (dont un déjà sauvegardé), trois tirés par le service
+            tables.add(new GameTableDTO(i % 2 == 0 ? "sql-table-" + i : null,
+                    List.of(seat("sql-table-" + i + "-a"), seat("sql-table-" + i + "-b")), 5L));
+        }
+        List<TableResultDTO> results = gameService.createTables(tables, null);
+
+        assertThat(results).extracting(TableResultDTO::getStatus).containsExactly(
+                TableResultDTO.Status.REJECTED, TableResultDTO.Status.CREATED, TableResultDTO.Status.CREATED,
+                TableResultDTO.Status.CREATED, TableResultDTO.Status.CREATED, TableResultDTO.Status.CREATED);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void staleCopyCannotOverwriteANewerState() {
+        GameDTO request = new GameDTO();
+        request.setId("sql-stale");
+        request.setCreatorId("sql-stale-p0");
+        request.setCreatorName("Alice");
+        gameService.createGame(request);
+        Game stale = gameRepository.findById("sql-stale").orElseThrow();
+
+        PlayerDTO second = new PlayerDTO();
+        second.setId("sql-stale-p1");
+        second.setName("Bob");
+        gameService.addPlayerAndGetGame("sql-stale", second);
+
+        assertThatThrownBy(() -> gameRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    private static PlayerDTO seat(String playerId) {
+        PlayerDTO player = new PlayerDTO();
+        player.setId(playerId);
+        player.setName(playerId);
+        return player;
+    }
+
+    /**
+     * Partie jouée par des bots simples (première carte jouable, sinon pioche) ; "saved" reçoit
+     * la partie après chaque action. Retourne le nombre d'actions
+     */
+    private int playFullGame(String gameId, int playerCount, Consumer<Game> saved) {
+        GameDTO request = new GameDTO();
+        request.setId(gameId);
+        request.setCreatorId(gameId + "-p0");
+        request.setCreatorName("Bot 0");
+        gameService.createGame(request, 42);
+        saved.accept(gameStore.find(gameId).orElseThrow());
+        for (int seat = 1; seat < playerCount; seat++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setId(gameId + "-p" + seat);
+            player.setName("Bot " + seat);
+            saved.accept(gameService.addPlayerAndGetGame(gameId, player));
+        }
+        Game game = gameService.startGameAndGetGame(gameId, gameId + "-p0");
+        saved.accept(game);
+        int actions = playerCount + 1;
+
+        while (!game.isGameFinished() && actions < 1_000) {
+            int seat = game.getCurrentPlayerIndex();
+            Player player = game.getPlayers().get(seat);
+            int choice = -1;
+            for (int index = 0; index < player.getCards().size() && choice < 0; index++) {
+                if (gameService.isPlayable(game, player.getCards().get(index))) {
+                    choice = index;
+                }
+            }
+
+            actions++;
+            if (choice >= 0) {
+                Card card = player.getCards().get(choice);
+                saved.accept(gameService.playCardAndGetGame(gameId, player.getId(), choice));
+                if (!game.isGameFinished() && game.getCurrentPlayerIndex() == seat
+                        && CardCodec.symbolIndex(card.getSymbol()) == CardCodec.COLOR_PICKER) {
+                    actions++;
+                    saved.accept(gameService.chooseColorAndGetGame(gameId, player.getId(), CardCodec.COLORS[0]));
+                }
+            } else if (game.getDeck().isEmpty()) {
+                actions--;
+                break;
+            } else {
+                saved.accept(gameService.drawCardAndGetGame(gameId, player.getId()));
+            }
+        }
+        gameStore.evict(gameId);
+        return actions;
+    }
+
+    /**
+     * Compte les requêtes préparées par un thread qui détient le verrou de la partie suivie
+     */
+    public static class LockWatcher implements StatementInspector {
+
+        private static volatile Game watched;
+        static volatile int statements;
+        static volatile int underLock;
+
+        static void watch(Game game) {
+            if (watched != game) {
+                watched = game;
+                statements = 0;
+                underLock = 0;
+            }
+        }
+
+        @Override
+        public String inspect(String sql) {
+            Game game = watched;
+            if (game != null) {
+                statements++;
+                if (Thread.holdsLock(game)) {
+                    underLock++;
+                }
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Ancien modèle de sauvegarde : chaque pile est une @ElementCollection, une ligne par carte
+     */
+    @Entity
+    @Table(name = "legacy_game")
+    @Data
+    static class LegacyGame {
+        @Id
+        private String id;
+
+        @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+        @JoinTable(name = "legacy_game_players")
+        private List<LegacyPlayer> players = new ArrayList<>();
+
+        @ElementCollection(fetch = FetchType.EAGER)
+        @CollectionTable(name = "legacy_game_deck", joinColumns = @JoinColumn(name = "game_id"))
+        private List<LegacyCard> deck = new ArrayList<>();
+
+        @ElementCollection(fetch = FetchType.EAGER)
+        @CollectionTable(name = "legacy_game_center_cards", joinColumns = @JoinColumn(name = "game_id"))
+        private List<LegacyCard> centerCards = new ArrayList<>();
+
+        private int currentPlayerIndex;
+        private int turnCounter;
+        private int gameDirection;
+        private String selectedColor;
+        private boolean gameStarted;
+        private boolean gameFinished;
+        private long eventSequence;
+
+        static LegacyGame of(Game game) {
+            LegacyGame legacy = new LegacyGame();
+            legacy.setId(game.getId());
+            for (Player player : game.getPlayers()) {
+                LegacyPlayer copy = new LegacyPlayer();
+                copy.setId(player.getId());
+                copy.setName(player.getName());
+                copy.setCreator(player.isCreator());
+                copy.setCards(LegacyCard.of(player.getCards()));
+                legacy.getPlayers().add(copy);
+            }
+            legacy.setDeck(LegacyCard.of(game.getDeck()));
+            legacy.setCenterCards(LegacyCard.of(game.getCenterCards()));
+            legacy.setCurrentPlayerIndex(game.getCurrentPlayerIndex());
+            legacy.setTurnCounter(game.getTurnCounter());
+            legacy.setGameDirection(game.getGameDirection());
+            legacy.setSelectedColor(game.getSelectedColor());
+            legacy.setGameStarted(game.isGameStarted());
+            legacy.setGameFinished(game.isGameFinished());
+            legacy.setEventSequence(game.getEventSequence());
+            return legacy;
+        }
+    }
+
+    @Entity
+    @Table(name = "legacy_player")
+    @Data
+    static class LegacyPlayer {
+        @Id
+        private String id;
+
+        private String name;
+        private boolean creator;
+
+        @ElementCollection(fetch = FetchType.EAGER)
+        @CollectionTable(name = "legacy_player_cards", joinColumns = @JoinColumn(name = "player_id"))
+        private List<LegacyCard> cards = new ArrayList<>();
+    }
+
+    @Embeddable
+    @Data
+    static class LegacyCard {
+        private String color;
+        private String symbol;
+
+        static List<LegacyCard> of(List<Card> cards) {
+            List<LegacyCard> copies = new ArrayList<>(cards.size());
+            for (Card card : cards) {
+                LegacyCard copy = new LegacyCard();
+                copy.setColor(card.getColor());
+                copy.setSymbol(card.getSymbol());
+                copies.add(copy);
+            }
+            return copies;
+        }
+    }
+}
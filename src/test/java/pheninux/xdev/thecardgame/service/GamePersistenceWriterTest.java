@@ -0,0 +1,125 @@
+package pheninux.xdev.thecardgame.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.repository.GameRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "game.persistence.mode=WRITE_BEHIND",
+        "game.persistence.flush-interval=1h",
+        "game.persistence.flush-every-turns=1000"
+})
+class GamePersistenceWriterTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private GamePersistenceWriter persistenceWriter;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void finishedGameIsPersistedWithoutExplicitFlush() {
+        String gameId = startTwoPlayerGame();
+        Game live = gameStore.peek(gameId).orElseThrow();
+
+        // Donner au créateur une seule carte jouable pour terminer la partie
+        synchronized (live) {
+            Card center = live.getCenterCards().get(0);
+            Card winning = new Card();
+            winning.setColor(center.getColor());
+            winning.setSymbol(center.getSymbol());
+            live.getPlayers().get(0).setCards(new ArrayList<>(List.of(winning)));
+            live.setSelectedColor(null);
+        }
+
+        Game finished = gameService.playCardAndGetGame(gameId, "p1-" + gameId, 0);
+        assertThat(finished.isGameFinished()).isTrue();
+
+        // La fin de partie déclenche la sauvegarde, sans attendre le minuteur
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> gameRepository.findById(gameId).map(Game::isGameFinished).orElse(false));
+
+        assertPersistedStateMatches(live);
+    }
+
+    @Test
+    void flushAllWritesPendingActions() {
+        String gameId = startTwoPlayerGame();
+        Game live = gameStore.peek(gameId).orElseThrow();
+
+        gameService.drawCardAndGetGame(gameId, "p1-" + gameId);
+        assertThat(persistenceWriter.pendingCount()).isPositive();
+
+        persistenceWriter.flushAll();
+
+        assertThat(persistenceWriter.pendingCount()).isZero();
+        assertPersistedStateMatches(live);
+    }
+
+    private String startTwoPlayerGame() {
+        String gameId = UUID.randomUUID().toString().substring(0, 8);
+
+        GameDTO request = new GameDTO();
+        request.setId(gameId);
+        request.setCreatorId("p1-" + gameId);
+        request.setCreatorName("Alice");
+        gameService.createGame(request);
+
+        PlayerDTO second = new PlayerDTO();
+        second.setId("p2-" + gameId);
+        second.setName("Bob");
+        gameService.addPlayerAndGetGame(gameId, second);
+
+        gameService.startGameAndGetGame(gameId, "p1-" + gameId);
+        return gameId;
+    }
+
+    private Game loadPersisted(String gameId) {
+        return transactionTemplate.execute(status -> gameRepository.findById(gameId).orElseThrow());
+    }
+
+    private void assertPersistedStateMatches(Game live) {
+        Game persisted = loadPersisted(live.getId());
+
+        synchronized (live) {
+            assertThat(persisted.getTurnCounter()).isEqualTo(live.getTurnCounter());
+            assertThat(persisted.getCurrentPlayerIndex()).isEqualTo(live.getCurrentPlayerIndex());
+            assertThat(persisted.isGameFinished()).isEqualTo(live.isGameFinished());
+            assertThat(persisted.getWinnerId()).isEqualTo(live.getWinnerId());
+            assertThat(persisted.getDeck()).containsExactlyElementsOf(live.getDeck());
+            assertThat(persisted.getCenterCards()).containsExactlyElementsOf(live.getCenterCards());
+
+            for (Player livePlayer : live.getPlayers()) {
+                Player persistedPlayer = persisted.getPlayers().stream()
+                        .filter(p -> p.getId().equals(livePlayer.getId()))
+                        .findFirst()
+                        .orElseThrow();
+                assertThat(persistedPlayer.getCards()).containsExactlyElementsOf(livePlayer.getCards());
+            }
+        }
+    }
+}
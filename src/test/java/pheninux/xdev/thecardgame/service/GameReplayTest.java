@@ -0,0 +1,152 @@
+package pheninux.xdev.thecardgame.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.GameRecording;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.journal.GameSnapshotCodec;
+import pheninux.xdev.thecardgame.model.Card;
+import pheninux.xdev.thecardgame.model.Game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class GameReplayTest {
+
+    private static final long SEED = 42L;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private GamePersistence gamePersistence;
+
+    @Test
+    void sameSeedDealsSameCards() {
+        Game first = startGame(SEED, new ArrayList<>());
+        Game second = startGame(SEED, new ArrayList<>());
+        Game other = startGame(SEED + 1, new ArrayList<>());
+
+        assertThat(faces(first.getDeck())).isEqualTo(faces(second.getDeck()));
+        assertThat(faces(first.getPlayers().get(1).getCards())).isEqualTo(faces(second.getPlayers().get(1).getCards()));
+        assertThat(faces(first.getDeck())).isNotEqualTo(faces(other.getDeck()));
+    }
+
+    @Test
+    void gameIsRebuiltFromSeedAndCommandsAtAnyTurn() {
+        List<GameCommandDTO> commands = new ArrayList<>();
+        Game live = startGame(SEED, commands);
+
+        byte[] atTurnFive = null;
+        for (int action = 0; action < 400 && !live.isGameFinished(); action++) {
+            if (live.getTurnCounter() == 5 && atTurnFive == null) {
+                atTurnFive = GameSnapshotCodec.encode(live);
+            }
+            if (!playOrDraw(live, commands)) {
+                break;
+            }
+        }
+
+        PlayerDTO creator = new PlayerDTO();
+        creator.setId(live.getPlayers().get(0).getId());
+        creator.setName(live.getPlayers().get(0).getName());
+        GameRecording recording = new GameRecording(live.getId(), SEED, List.of(creator), commands);
+
+        assertThat(GameSnapshotCodec.encode(gameService.rebuild(recording, Integer.MAX_VALUE)))
+                .isEqualTo(GameSnapshotCodec.encode(live));
+        assertThat(atTurnFive).isNotNull();
+        assertThat(GameSnapshotCodec.encode(gameService.rebuild(recording, 5))).isEqualTo(atTurnFive);
+    }
+
+    @Test
+    void jpaEngineKeepsTheHistoryAcrossReloads() {
+        assertThat(gamePersistence).isInstanceOf(GamePersistenceWriter.class);
+        List<GameCommandDTO> commands = new ArrayList<>();
+        Game live = startGame(SEED, commands);
+        String gameId = live.getId();
+        for (int action = 0; action < 40 && !live.isGameFinished(); action++) {
+            playOrDraw(live, commands);
+        }
+
+        // Déchargée puis rechargée en cours de partie : l'historique se poursuit
+        gamePersistence.unloading(live);
+        gameStore.evict(gameId);
+        live = gameService.getLiveGame(gameId);
+        for (int action = 0; action < 40 && !live.isGameFinished(); action++) {
+            playOrDraw(live, commands);
+        }
+
+        GameRecording recording = gamePersistence.recording(gameId).orElseThrow();
+        assertThat(recording.seed()).isEqualTo(SEED);
+        assertThat(recording.players()).extracting(PlayerDTO::getId).containsExactly("p0");
+        assertThat(recording.commands()).isEqualTo(commands);
+        synchronized (live) {
+            assertThat(GameSnapshotCodec.encode(gameService.rebuild(recording, Integer.MAX_VALUE)))
+                    .isEqualTo(GameSnapshotCodec.encode(live));
+        }
+    }
+
+    private Game startGame(long seed, List<GameCommandDTO> commands) {
+        String gameId = "replay-" + UUID.randomUUID().toString().substring(0, 8);
+        GameDTO request = new GameDTO();
+        request.setId(gameId);
+        request.setCreatorId("p0");
+        request.setCreatorName("Joueur 0");
+        gameService.createGame(request, seed);
+
+        run(new GameCommandDTO(gameId, GameCommandType.JOIN, "p1", "Joueur 1", 0, null), commands);
+        run(new GameCommandDTO(gameId, GameCommandType.START, "p0", null, 0, null), commands);
+        return gameStore.peek(gameId).orElseThrow();
+    }
+
+    /**
+     * Joue la première carte acceptée, sinon choisit une couleur, sinon pioche
+     */
+    private boolean playOrDraw(Game game, List<GameCommandDTO> commands) {
+        String playerId = game.getCurrentPlayer().getId();
+        for (int index = 0; index < game.getCurrentPlayer().getCards().size(); index++) {
+            if (run(new GameCommandDTO(game.getId(), GameCommandType.PLAY_CARD, playerId, null, index, null), commands)) {
+                return true;
+            }
+        }
+        return run(new GameCommandDTO(game.getId(), GameCommandType.CHOOSE_COLOR, playerId, null, 0, "cardRed"), commands)
+                || run(new GameCommandDTO(game.getId(), GameCommandType.DRAW_CARD, playerId, null, 0, null), commands);
+    }
+
+    private boolean run(GameCommandDTO command, List<GameCommandDTO> commands) {
+        try {
+            switch (command.getType()) {
+                case JOIN -> {
+                    PlayerDTO player = new PlayerDTO();
+                    player.setId(command.getPlayerId());
+                    player.setName(command.getPlayerName());
+                    gameService.addPlayerAndGetGame(command.getGameId(), player);
+                }
+                case START -> gameService.startGameAndGetGame(command.getGameId(), command.getPlayerId());
+                case PLAY_CARD -> gameService.playCardAndGetGame(command.getGameId(), command.getPlayerId(), command.getCardIndex());
+                case CHOOSE_COLOR -> gameService.chooseColorAndGetGame(command.getGameId(), command.getPlayerId(), command.getColor());
+                case DRAW_CARD -> gameService.drawCardAndGetGame(command.getGameId(), command.getPlayerId());
+                default -> throw new IllegalArgumentException(command.getType().name());
+            }
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return false;
+        }
+        commands.add(command);
+        return true;
+    }
+
+    private static List<String> faces(List<Card> cards) {
+        return cards.stream().map(card -> card.getColor() + card.getSymbol()).toList();
+    }
+}
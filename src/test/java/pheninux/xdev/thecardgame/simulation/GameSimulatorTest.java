@@ -0,0 +1,34 @@
+package pheninux.xdev.thecardgame.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameSimulatorTest {
+
+    private final GameSimulator simulator = new GameSimulator(
+            List.of(BotStrategies.AGGRESSIVE, BotStrategies.RANDOM, BotStrategies.HOARDER), 2_000);
+
+    @Test
+    void everyGameEndsWithAnOutcome() {
+        SimulationStats stats = simulator.run(1_000, 7, 2);
+
+        assertThat(stats.getGames()).isEqualTo(1_000);
+        assertThat(stats.getFinished() + stats.getDeckEmpty() + stats.getUnfinished()).isEqualTo(1_000);
+        assertThat(Arrays.stream(stats.getWinsBySeat()).sum()).isEqualTo(stats.getFinished());
+        assertThat(stats.averageTurns()).isGreaterThan(1);
+    }
+
+    @Test
+    void resultsDependOnlyOnTheSeed() {
+        SimulationStats sequential = simulator.run(600, 11, 1);
+        SimulationStats parallel = simulator.run(600, 11, 4);
+
+        assertThat(parallel.getWinsBySeat()).isEqualTo(sequential.getWinsBySeat());
+        assertThat(parallel.getTurns()).isEqualTo(sequential.getTurns());
+        assertThat(parallel.getDeckEmpty()).isEqualTo(sequential.getDeckEmpty());
+    }
+}
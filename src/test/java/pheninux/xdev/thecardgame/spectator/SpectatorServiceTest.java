@@ -0,0 +1,224 @@
+package pheninux.xdev.thecardgame.spectator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import pheninux.xdev.thecardgame.cache.GameViewCache;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.GameStateDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.model.Player;
+import pheninux.xdev.thecardgame.service.GameService;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "game.spectator.frame-interval=20ms",
+        "game.spectator.delay=300ms"
+})
+class SpectatorServiceTest {
+
+    private static final int SPECTATORS = 1_000;
+
+    @Autowired
+    private SpectatorService spectatorService;
+
+    @Autowired
+    private SpectatorTopicGuard spectatorTopicGuard;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameViewCache gameViewCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AbstractSubscribableChannel brokerChannel;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Trames spectateurs envoyées au broker et heure d'envoi
+    private final Queue<Frame> frames = new ConcurrentLinkedQueue<>();
+    private ChannelInterceptor capture;
+    private String gameId;
+
+    private record Frame(long sentAt, byte[] payload) {
+    }
+
+    @BeforeEach
+    void captureFrames() {
+        gameId = "spectate-" + UUID.randomUUID().toString().substring(0, 8);
+        capture = new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (("/topic/game/" + gameId + "/spectate").equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                    frames.add(new Frame(System.nanoTime(), (byte[]) message.getPayload()));
+                }
+                return message;
+            }
+        };
+        brokerChannel.addInterceptor(capture);
+    }
+
+    @AfterEach
+    void stopCapture() {
+        brokerChannel.removeInterceptor(capture);
+    }
+
+    @Test
+    void destinationsAreParsed() {
+        assertThat(SpectatorService.gameOf("/topic/game/g1/spectate")).isEqualTo("g1");
+        assertThat(SpectatorService.gameOf("/topic/game/g1/player/alice")).isNull();
+        assertThat(SpectatorService.gameOf("/topic/game//spectate")).isNull();
+        assertThat(SpectatorService.gameOf("/topic/chat/g1")).isNull();
+    }
+
+    @Test
+    void liveTopicsAreReservedToSeatedSessions() {
+        String watcher = gameId + "-watcher";
+        String player = gameId + "-player";
+        String impostor = gameId + "-impostor";
+        startedGame();
+
+        assertThat(spectatorTopicGuard.preSend(subscription(watcher, "/topic/game/" + gameId), brokerChannel)).isNull();
+        assertThat(spectatorTopicGuard.preSend(subscription(watcher, "/topic/game/" + gameId + "/events"), brokerChannel)).isNull();
+        assertThat(spectatorTopicGuard.preSend(subscription(watcher, "/topic/game/" + gameId + "/spectate"), brokerChannel)).isNotNull();
+
+        // Assise par son topic personnel, la session suit la partie en direct
+        subscribe(player, "/topic/game/" + gameId + "/player/" + gameId + "-p1");
+        assertThat(spectatorTopicGuard.preSend(subscription(player, "/topic/game/" + gameId), brokerChannel)).isNotNull();
+        assertThat(spectatorTopicGuard.preSend(subscription(player, "/topic/game/other/events"), brokerChannel)).isNull();
+
+        // Un topic personnel d'un joueur absent de la table n'ouvre pas le direct
+        subscribe(impostor, "/topic/game/" + gameId + "/player/" + gameId + "-p9");
+        assertThat(spectatorTopicGuard.preSend(subscription(impostor, "/topic/game/" + gameId), brokerChannel)).isNull();
+
+        assertThat(SpectatorTopicGuard.liveGameOf("/topic/game/g1/events")).isEqualTo("g1");
+        assertThat(SpectatorTopicGuard.liveGameOf("/topic/game/g1/presence")).isNull();
+        assertThat(SpectatorTopicGuard.liveGameOf("/topic/lobby")).isNull();
+    }
+
+    @Test
+    void thousandsOfSpectatorsShareOneDelayedFrame() throws Exception {
+        Game game = startedGame();
+        for (int i = 0; i < SPECTATORS; i++) {
+            subscribe(gameId + "-watcher-" + i);
+        }
+        assertThat(spectatorService.spectatorCount(gameId)).isEqualTo(SPECTATORS);
+
+        // Premier spectateur : une trame, publiée après le délai
+        await().atMost(Duration.ofSeconds(5)).until(() -> frames.size() == 1);
+        long beforeDraw = System.nanoTime();
+        gameService.drawCardAndGetGame(gameId, game.getCurrentPlayer().getId());
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> frames.size() == 2);
+        Frame frame = frames.stream().skip(1).findFirst().orElseThrow();
+        assertThat(Duration.ofNanos(frame.sentAt() - beforeDraw)).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+
+        JsonNode state = objectMapper.readTree(frame.payload());
+        assertThat(state.get("sequence").asLong()).isEqualTo(game.getEventSequence());
+        for (JsonNode player : state.get("players")) {
+            assertThat(player.hasNonNull("cards")).isFalse();
+            assertThat(player.get("cardCount").asInt()).isPositive();
+        }
+        assertThat(spectatorService.currentFrame(gameId).getSequence()).isEqualTo(game.getEventSequence());
+    }
+
+    @Test
+    void restViewOfNonPlayersLagsLikeTheSpectatorFeed() {
+        Game game = startedGame();
+        await().atMost(Duration.ofSeconds(5)).until(() -> spectatorService.currentFrame(gameId) != null);
+        long published = spectatorService.currentFrame(gameId).getSequence();
+
+        gameService.drawCardAndGetGame(gameId, game.getCurrentPlayer().getId());
+
+        // Le joueur voit la pioche tout de suite, un non-joueur après le délai
+        assertThat(gameViewCache.state(gameId, gameId + "-p1").sequence()).isEqualTo(game.getEventSequence());
+        GameStateDTO delayed = gameViewCache.state(gameId, "someone-else").body();
+        assertThat(delayed.getSequence()).isEqualTo(published).isLessThan(game.getEventSequence());
+        assertThat(delayed.getPlayers()).allSatisfy(player -> assertThat(player.getCards()).isNull());
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> gameViewCache.state(gameId, "someone-else").sequence() == game.getEventSequence());
+    }
+
+    @Test
+    void unwatchedGamesProduceNoFrames() throws Exception {
+        Game game = startedGame();
+        subscribe(gameId + "-watcher");
+        await().atMost(Duration.ofSeconds(5)).until(() -> frames.size() == 1);
+
+        eventPublisher.publishEvent(new SessionDisconnectEvent(this, disconnect(gameId + "-watcher"),
+                gameId + "-watcher", CloseStatus.NORMAL));
+        gameService.drawCardAndGetGame(gameId, game.getCurrentPlayer().getId());
+
+        Thread.sleep(500);
+        assertThat(frames).hasSize(1);
+        assertThat(spectatorService.spectatorCount(gameId)).isZero();
+    }
+
+    private Game startedGame() {
+        GameDTO request = new GameDTO();
+        request.setId(gameId);
+        request.setCreatorId(gameId + "-p1");
+        request.setCreatorName("Alice");
+        gameService.createGame(request);
+        PlayerDTO second = new PlayerDTO();
+        second.setId(gameId + "-p2");
+        second.setName("Bob");
+        gameService.addPlayerAndGetGame(gameId, second);
+        Game game = gameService.startGameAndGetGame(gameId, gameId + "-p1");
+        for (Player player : game.getPlayers()) {
+            assertThat(player.getCards()).isNotEmpty();
+        }
+        return game;
+    }
+
+    private void subscribe(String sessionId) {
+        subscribe(sessionId, "/topic/game/" + gameId + "/spectate");
+    }
+
+    private void subscribe(String sessionId, String destination) {
+        eventPublisher.publishEvent(new SessionSubscribeEvent(this, subscription(sessionId, destination)));
+    }
+
+    private static Message<byte[]> subscription(String sessionId, String destination) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        headers.setSessionId(sessionId);
+        headers.setSubscriptionId("sub-0");
+        headers.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+
+    private static Message<byte[]> disconnect(String sessionId) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+        headers.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+}
@@ -0,0 +1,77 @@
+package pheninux.xdev.thecardgame.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private final TimingWheel wheel = new TimingWheel("test-wheel", Duration.ofMillis(10), 8);
+
+    @AfterEach
+    void close() {
+        wheel.close();
+    }
+
+    @Test
+    void firesNoEarlierThanTheDelay() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(fired::countDown, Duration.ofMillis(50));
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    void delaysLongerThanOneRotationWaitForTheirRound() throws InterruptedException {
+        // 8 cases de 10 ms : 250 ms représentent trois tours de roue
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(fired::countDown, Duration.ofMillis(250));
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(250).toNanos());
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFire() throws InterruptedException {
+        AtomicInteger fired = new AtomicInteger();
+        TimingWheel.Timeout timeout = wheel.schedule(fired::incrementAndGet, Duration.ofMillis(30));
+
+        assertThat(timeout.cancel()).isTrue();
+        Thread.sleep(100);
+
+        assertThat(fired).hasValue(0);
+        assertThat(timeout.isCancelled()).isTrue();
+        assertThat(wheel.pendingCount()).isZero();
+    }
+
+    @Test
+    void manyTimeoutsAllFireOnTime() throws InterruptedException {
+        int count = 10_000;
+        CountDownLatch fired = new CountDownLatch(count);
+        AtomicInteger early = new AtomicInteger();
+        for (int i = 0; i < count; i++) {
+            long delay = ThreadLocalRandom.current().nextLong(1, 200);
+            long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+            wheel.schedule(() -> {
+                if (System.nanoTime() < due) {
+                    early.incrementAndGet();
+                }
+                fired.countDown();
+            }, Duration.ofMillis(delay));
+        }
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(early).hasValue(0);
+        assertThat(wheel.pendingCount()).isZero();
+    }
+}
@@ -0,0 +1,87 @@
+package pheninux.xdev.thecardgame.timer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import pheninux.xdev.thecardgame.dto.GameCommandDTO;
+import pheninux.xdev.thecardgame.dto.GameCommandType;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.service.GameCommandDispatcher;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:turns;DB_CLOSE_DELAY=-1",
+        "game.turn.timeout=200ms",
+        "game.turn.tick=10ms"
+})
+class TurnTimerServiceTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameCommandDispatcher commandDispatcher;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Test
+    void expiredTurnDrawsACardAndPassesToTheNextPlayer() {
+        String gameId = startedGame();
+        Game game = gameStore.peek(gameId).orElseThrow();
+        String firstPlayer = game.getPlayers().get(0).getId();
+        int handSize = game.getPlayers().get(0).getCards().size();
+        assertThat(gameService.getGameStateForPlayer(gameId, firstPlayer).getTurnTimeRemaining())
+                .isBetween(0L, 200L);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> game.getTurnCounter() >= 2);
+
+        synchronized (game) {
+            assertThat(game.getPlayers().get(0).getCards()).hasSize(handSize + 1);
+        }
+    }
+
+    @Test
+    void timerStopsOnceEveryPlayerTimedOutInARow() throws InterruptedException {
+        String gameId = startedGame();
+        Game game = gameStore.peek(gameId).orElseThrow();
+
+        // Deux joueurs : deux expirations consécutives, puis plus de minuteur
+        await().atMost(Duration.ofSeconds(2)).until(() -> game.getTurnCounter() == 3 && game.getTurnDeadline() == 0);
+        Thread.sleep(400);
+
+        assertThat(game.getTurnCounter()).isEqualTo(3);
+        assertThat(gameService.getGameStateForPlayer(gameId, gameId + "-p1").getTurnTimeRemaining()).isEqualTo(-1);
+    }
+
+    @Test
+    void clientsCannotSendTimeouts() {
+        String gameId = startedGame();
+
+        assertThatThrownBy(() -> commandDispatcher.dispatch(
+                new GameCommandDTO(gameId, GameCommandType.TIMEOUT, gameId + "-p1", null, 0, null)).join())
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("réservée au serveur");
+    }
+
+    private String startedGame() {
+        GameDTO request = new GameDTO();
+        request.setId("turn-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setCreatorId(request.getId() + "-p1");
+        request.setCreatorName("Alice");
+        String gameId = gameService.createGame(request).getId();
+        commandDispatcher.dispatch(new GameCommandDTO(gameId, GameCommandType.JOIN, gameId + "-p2", "Bob", 0, null)).join();
+        commandDispatcher.dispatch(new GameCommandDTO(gameId, GameCommandType.START, gameId + "-p1", null, 0, null)).join();
+        return gameId;
+    }
+}
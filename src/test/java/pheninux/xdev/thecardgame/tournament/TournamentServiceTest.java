@@ -0,0 +1,182 @@
+package pheninux.xdev.thecardgame.tournament;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import pheninux.xdev.thecardgame.dto.GameDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.dto.TournamentDTO;
+import pheninux.xdev.thecardgame.dto.TournamentRequestDTO;
+import pheninux.xdev.thecardgame.dto.TournamentStandingDTO;
+import pheninux.xdev.thecardgame.dto.TournamentTableDTO;
+import pheninux.xdev.thecardgame.event.GameChanges;
+import pheninux.xdev.thecardgame.event.GameUpdatedEvent;
+import pheninux.xdev.thecardgame.lobby.LobbyService;
+import pheninux.xdev.thecardgame.model.Game;
+import pheninux.xdev.thecardgame.service.GameService;
+import pheninux.xdev.thecardgame.service.GameStore;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+class TournamentServiceTest {
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private LobbyService lobbyService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private AbstractSubscribableChannel brokerChannel;
+
+    @Test
+    void roundsAdvanceUntilAChampionRemains() {
+        TournamentDTO tournament = tournamentService.create(request("bracket", 10, 4));
+
+        // 10 joueurs en tables de 4 : 3 tables, têtes de série séparées, le joueur restant chez la plus faible
+        assertThat(tournament.getRound()).isEqualTo(1);
+        assertThat(tournament.getTables()).extracting(table -> table.getPlayerIds().size()).containsExactly(3, 3, 4);
+        assertThat(tournament.getTables()).extracting(table -> table.getPlayerIds().get(0))
+                .containsExactly("bracket-1", "bracket-2", "bracket-3");
+
+        // Tables créées et démarrées, absentes du salon
+        List<String> gameIds = tournament.getTables().stream().map(TournamentTableDTO::getGameId).toList();
+        await().atMost(Duration.ofSeconds(5)).until(() -> gameIds.stream()
+                .allMatch(gameId -> gameStore.peek(gameId).map(Game::isGameStarted).orElse(false)));
+        assertThat(lobbyService.openTables(1000)).noneMatch(table -> gameIds.contains(table.getGameId()));
+
+        // Le dernier joueur de chaque table gagne
+        for (TournamentTableDTO table : tournament.getTables()) {
+            tournament = tournamentService.decide(tournament.getId(), table.getGameId(), table.getPlayerIds().get(table.getPlayerIds().size() - 1));
+        }
+        assertThat(tournament.getRound()).isEqualTo(2);
+        assertThat(tournament.getTables()).singleElement()
+                .satisfies(table -> assertThat(table.getPlayerIds()).containsExactly("bracket-7", "bracket-8", "bracket-10"));
+
+        tournament = tournamentService.decide(tournament.getId(), tournament.getTables().get(0).getGameId(), "bracket-8");
+        assertThat(tournament.isFinished()).isTrue();
+        assertThat(tournament.getChampionId()).isEqualTo("bracket-8");
+        assertThat(tournament.getStandings().get(0))
+                .returns("bracket-8", TournamentStandingDTO::getPlayerId)
+                .returns(2, TournamentStandingDTO::getWins)
+                .returns(0, TournamentStandingDTO::getEliminatedInRound);
+        assertThat(tournament.getStandings().subList(1, 3)).extracting(TournamentStandingDTO::getEliminatedInRound)
+                .containsOnly(2);
+        assertThat(tournament.getStandings()).filteredOn(standing -> standing.getEliminatedInRound() == 1).hasSize(7);
+    }
+
+    @Test
+    void byesQualifyWithoutPlaying() {
+        TournamentDTO tournament = tournamentService.create(request("bye", 3, 2));
+
+        // 3 joueurs en tables de 2 : la tête de série 1 est exemptée
+        assertThat(tournament.getTables()).hasSize(2);
+        TournamentTableDTO bye = tournament.getTables().get(0);
+        assertThat(bye.getPlayerIds()).containsExactly("bye-1");
+        assertThat(bye.getWinnerId()).isEqualTo("bye-1");
+        assertThat(gameStore.peek(bye.getGameId())).isEmpty();
+
+        TournamentTableDTO played = tournament.getTables().get(1);
+        tournament = tournamentService.decide(tournament.getId(), played.getGameId(), "bye-2");
+        assertThat(tournament.getRound()).isEqualTo(2);
+        assertThat(tournament.getTables().get(0).getPlayerIds()).containsExactly("bye-1", "bye-2");
+    }
+
+    @Test
+    void finishedTablesReportTheirWinner() {
+        TournamentDTO tournament = tournamentService.create(request("finish", 2, 2));
+        TournamentTableDTO table = tournament.getTables().get(0);
+
+        finish(tournament.getId(), table.getGameId(), "finish-2");
+
+        // Tour suivant (ici la fin du tournoi) traité hors de la file de la table
+        await().atMost(Duration.ofSeconds(5)).until(() -> tournamentService.find(tournament.getId())
+                .map(TournamentDTO::isFinished).orElse(false));
+        assertThat(tournamentService.find(tournament.getId()).orElseThrow().getChampionId()).isEqualTo("finish-2");
+    }
+
+    @Test
+    void failedRoundIsPublishedInsteadOfThrown() {
+        List<String> errors = new CopyOnWriteArrayList<>();
+        ChannelInterceptor capture = new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+                if (destination != null && destination.endsWith("/error")) {
+                    errors.add(destination);
+                }
+                return message;
+            }
+        };
+        brokerChannel.addInterceptor(capture);
+        try {
+            TournamentDTO tournament = tournamentService.create(request("clash", 4, 2));
+            // ID de la table du tour 2 déjà pris : la création du tour échoue
+            GameDTO squatter = new GameDTO();
+            squatter.setId(tournament.getId() + "-r2-t1");
+            squatter.setCreatorId("squatter");
+            squatter.setCreatorName("Squatter");
+            gameService.createGame(squatter);
+
+            for (TournamentTableDTO table : tournament.getTables()) {
+                finish(tournament.getId(), table.getGameId(), table.getPlayerIds().get(0));
+            }
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> !errors.isEmpty());
+            assertThat(errors).containsExactly("/topic/tournament/" + tournament.getId() + "/error");
+        } finally {
+            brokerChannel.removeInterceptor(capture);
+        }
+    }
+
+    @Test
+    void winnerMustSitAtTheTable() {
+        TournamentDTO tournament = tournamentService.create(request("referee", 4, 2));
+        String gameId = tournament.getTables().get(0).getGameId();
+
+        assertThatThrownBy(() -> tournamentService.decide(tournament.getId(), gameId, "referee-2"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void finish(String tournamentId, String gameId, String winnerId) {
+        Game finished = new Game();
+        finished.setId(gameId);
+        finished.setTournamentId(tournamentId);
+        finished.setGameFinished(true);
+        finished.setWinnerId(winnerId);
+        tournamentService.onGameUpdated(new GameUpdatedEvent(finished, new GameChanges(List.of(), List.of(), false, 0)));
+    }
+
+    private static TournamentRequestDTO request(String prefix, int players, int tableSize) {
+        TournamentRequestDTO request = new TournamentRequestDTO();
+        request.setName(prefix);
+        request.setTableSize(tableSize);
+        request.setSeed(42L);
+        request.setPlayers(IntStream.rangeClosed(1, players).mapToObj(i -> {
+            PlayerDTO player = new PlayerDTO();
+            player.setId(prefix + "-" + i);
+            player.setName(prefix + " " + i);
+            return player;
+        }).toList());
+        return request;
+    }
+}
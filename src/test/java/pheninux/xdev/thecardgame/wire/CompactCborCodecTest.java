@@ -0,0 +1,84 @@
+package pheninux.xdev.thecardgame.wire;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import pheninux.xdev.thecardgame.dto.GameStateDTO;
+import pheninux.xdev.thecardgame.dto.PlayerDTO;
+import pheninux.xdev.thecardgame.engine.CardCodec;
+import pheninux.xdev.thecardgame.model.Card;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactCborCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void cardsBecomeFaceIndexes() {
+        JsonNode decoded = CompactCborCodec.decode(CompactCborCodec.encode(state()));
+
+        assertThat(decoded.get("gameId").asText()).isEqualTo("wire");
+        assertThat(decoded.get("centerCards").get(0).asInt())
+                .isEqualTo(CardCodec.faceOf(card("cardYellow", "⬠")));
+        assertThat(decoded.get("players").get(0).get("cards")).hasSize(7);
+    }
+
+    @Test
+    void transcodedJsonMatchesDirectEncoding() throws Exception {
+        GameStateDTO state = state();
+        byte[] json = objectMapper.writeValueAsBytes(state);
+        byte[] cbor = CompactCborCodec.transcode(json);
+
+        assertThat(CompactCborCodec.decode(cbor)).isEqualTo(CompactCborCodec.decode(CompactCborCodec.encode(state)));
+        assertThat(cbor.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    void objectsThatAreNotCardsAreKept() throws Exception {
+        String json = "{\"unknown\":{\"color\":\"cardPurple\",\"symbol\":\"★\"},"
+                + "\"event\":{\"color\":\"cardRed\",\"sequence\":3},"
+                + "\"nested\":{\"color\":{\"symbol\":\"★\"},\"list\":[1,null,true]}}";
+        JsonNode expected = objectMapper.readTree(json);
+
+        assertThat(CompactCborCodec.decode(CompactCborCodec.transcode(json.getBytes(StandardCharsets.UTF_8))))
+                .isEqualTo(expected);
+    }
+
+    private static GameStateDTO state() {
+        List<Card> hand = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            hand.add(card(CardCodec.COLORS[i % CardCodec.COLOR_COUNT], CardCodec.SYMBOLS[i]));
+        }
+        PlayerDTO self = new PlayerDTO();
+        self.setId("p1");
+        self.setName("Alice");
+        self.setCardCount(hand.size());
+        self.setCards(hand);
+        PlayerDTO other = new PlayerDTO();
+        other.setId("p2");
+        other.setName("Bob");
+        other.setCardCount(5);
+
+        GameStateDTO state = new GameStateDTO();
+        state.setGameId("wire");
+        state.setGameStarted(true);
+        state.setTurnCounter(12);
+        state.setPlayers(List.of(self, other));
+        state.setCenterCards(List.of(card("cardYellow", "⬠"), card("cardRed", "★"), card("cardBlue", "○")));
+        state.setDeckSize(30);
+        state.setSequence(40);
+        return state;
+    }
+
+    private static Card card(String color, String symbol) {
+        Card card = new Card();
+        card.setColor(color);
+        card.setSymbol(symbol);
+        return card;
+    }
+}
@@ -0,0 +1,101 @@
+package pheninux.xdev.thecardgame.wire;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireFormatInterceptorTest {
+
+    private static final byte[] STATE = "{\"gameId\":\"g\",\"centerCards\":[{\"color\":\"cardRed\",\"symbol\":\"★\"}]}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final WireFormatInterceptor interceptor = new WireFormatInterceptor();
+    private final ChannelInterceptor inbound = interceptor.inbound();
+    private final ChannelInterceptor outbound = interceptor.outbound();
+
+    @Test
+    void nativeWebSocketSessionReceivesCbor() throws Exception {
+        inbound.preSend(connect("s1", true, "cbor"), null);
+        Message<?> sent = outbound.preSend(message("s1"), null);
+
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(sent);
+        assertThat(headers.getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        assertThat(CompactCborCodec.decode((byte[]) sent.getPayload()).get("centerCards").get(0).asInt()).isZero();
+
+        // Même message diffusé à un second abonné : pas de nouvelle conversion
+        assertThat(outbound.preSend(message("s1"), null).getPayload()).isSameAs(sent.getPayload());
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        inbound.preSend(connect("s2", true, null), null);
+        inbound.preSend(connect("s3", false, "cbor"), null);
+
+        assertThat(outbound.preSend(message("s2"), null).getPayload()).isSameAs(STATE);
+        assertThat(interceptor.formatOf("s3")).as("SockJS ne transporte que du texte").isEqualTo(WireFormat.JSON);
+    }
+
+    @Test
+    void disconnectForgetsTheSession() throws Exception {
+        inbound.preSend(connect("s4", true, "cbor"), null);
+        StompHeaderAccessor disconnect = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        disconnect.setSessionId("s4");
+        inbound.preSend(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()), null);
+
+        assertThat(interceptor.formatOf("s4")).isEqualTo(WireFormat.JSON);
+    }
+
+    @Test
+    void commandsSentByCborSessionsAreLeftAsJson() throws Exception {
+        inbound.preSend(connect("s5", true, "cbor"), null);
+
+        // Client STOMP Spring : SEND en application/json, même pour une session CBOR
+        StompHeaderAccessor send = StompHeaderAccessor.create(StompCommand.SEND);
+        send.setSessionId("s5");
+        send.setDestination("/app/game/g/draw-card");
+        send.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        byte[] command = "{\"playerId\":\"p1\"}".getBytes(StandardCharsets.UTF_8);
+        Message<byte[]> frame = MessageBuilder.createMessage(command, send.getMessageHeaders());
+        assertThat(send.getMessageType()).isEqualTo(SimpMessageType.MESSAGE);
+
+        Message<?> received = inbound.preSend(frame, null);
+
+        assertThat(received).isSameAs(frame);
+        assertThat(StompHeaderAccessor.wrap(received).getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+        assertThat(interceptor.formatOf("s5")).isEqualTo(WireFormat.CBOR);
+    }
+
+    private static Message<byte[]> connect(String sessionId, boolean nativeWebSocket, String format) throws Exception {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.CONNECT);
+        headers.setSessionId(sessionId);
+        Map<String, Object> attributes = new HashMap<>();
+        if (nativeWebSocket) {
+            WireFormatInterceptor.BINARY_TRANSPORT.beforeHandshake(null, null, null, attributes);
+        }
+        headers.setSessionAttributes(attributes);
+        if (format != null) {
+            headers.setNativeHeader(WireFormat.HEADER, format);
+        }
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+
+    private static Message<byte[]> message(String sessionId) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setDestination("/topic/game/g");
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        assertThat(headers.getMessageType()).isEqualTo(SimpMessageType.MESSAGE);
+        return MessageBuilder.createMessage(STATE, headers.getMessageHeaders());
+    }
+}